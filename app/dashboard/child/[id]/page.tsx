@@ -282,8 +282,13 @@ export default function ChildDetailPage({
           {/* Sections */}
           <div className="flex flex-col gap-8">
             <GoalOverview goal={child.goal} />
-            <SavingsChart contributions={child.contributions} currentAmount={child.goal.currentAmount} />
-            <ContributionHistory contributions={child.contributions} />
+            <SavingsChart childId={child.id} contributions={child.contributions} currentAmount={child.goal.currentAmount} />
+            <ContributionHistory
+              childId={child.id}
+              contributions={child.contributions}
+              totalCount={child.contributionCount}
+              nextCursor={child.contributionsNextCursor}
+            />
           </div>
         </main>
       </div>
@@ -0,0 +1,34 @@
+#!/usr/bin/env bash
+# Compares two JMH JSON result files (as written by `mvn -Pbenchmark verify` to target/jmh-result.json)
+# and exits non-zero if any benchmark got slower than the threshold. Time-per-op modes regress when the
+# score rises, throughput when it falls. Benchmarks present in only one file are listed but not judged.
+#
+# Requires: jq.
+# Usage: benchmarks/compare.sh <baseline.json> [current.json=target/jmh-result.json] [threshold-percent=10]
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+BASELINE=${1:?usage: benchmarks/compare.sh <baseline.json> [current.json] [threshold-percent]}
+CURRENT=${2:-target/jmh-result.json}
+THRESHOLD=${3:-10}
+
+# One line per benchmark and parameter set: key, mode, score, error, unit
+flatten() {
+  jq -r '.[] | [ (.benchmark | sub("^com\\.amanah\\.benchmark\\."; ""))
+                 + ((.params // {}) | to_entries | map("[" + .key + "=" + .value + "]") | join("")),
+                 .mode, .primaryMetric.score, .primaryMetric.scoreError, .primaryMetric.scoreUnit ] | @tsv' "$1"
+}
+
+join -t $'\t' -a 1 -a 2 -e '-' -o '0,1.2,1.3,2.3,2.4,2.5' \
+    <(flatten "$BASELINE" | sort) <(flatten "$CURRENT" | sort) \
+  | awk -F'\t' -v threshold="$THRESHOLD" '
+      BEGIN { printf "%-70s %14s %14s %9s\n", "benchmark", "baseline", "current", "change"; failed = 0 }
+      {
+        if ($3 == "-" || $4 == "-") { printf "%-70s %14s %14s %9s\n", $1, $3, $4, "n/a"; next }
+        change = ($4 - $3) / $3 * 100
+        worse = ($2 == "thrpt") ? -change : change
+        flag = worse > threshold ? "  REGRESSION" : ""
+        if (flag != "") failed = 1
+        printf "%-70s %14.3f %14.3f %+8.1f%% %s%s\n", $1, $3, $4, change, $6, flag
+      }
+      END { exit failed }'
@@ -0,0 +1,110 @@
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stand-in for api.js on hosts without k6: the same constant-VU profile (half dashboard, half transaction
+ * history, no think time) on one virtual thread per client, with k6's default 60s request timeout. Writes
+ * the metrics compare.sh reads in the shape of k6's --summary-export and prints responses by status.
+ *
+ * Usage: BASE_URL=... TOKEN=... CHILD_ID=... VUS=1000 DURATION=60s java loadtest/LoadDriver.java summary.json
+ */
+public class LoadDriver {
+
+    public static void main(String[] args) throws Exception {
+        String base = env("BASE_URL", "http://localhost:8742");
+        String token = env("TOKEN", null);
+        String childId = env("CHILD_ID", null);
+        int vus = Integer.parseInt(env("VUS", "1000"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(env("DURATION", "60s").replaceAll("s$", "")));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(60))
+                .build();
+        HttpRequest[] requests = {
+                get(base + "/api/dashboard", token),
+                get(base + "/api/children/" + childId + "/transactions?limit=20", token)
+        };
+
+        ConcurrentLinkedQueue<long[]> latencies = new ConcurrentLinkedQueue<>();
+        Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < vus; i++) {
+                clients.submit(() -> {
+                    SplittableRandom random = new SplittableRandom();
+                    long[] mine = new long[256];
+                    int n = 0;
+                    while (System.nanoTime() < end) {
+                        long sent = System.nanoTime();
+                        String status;
+                        try {
+                            status = String.valueOf(client.send(requests[random.nextInt(2)],
+                                    HttpResponse.BodyHandlers.discarding()).statusCode());
+                        } catch (IOException e) {
+                            status = e.getClass().getSimpleName();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        if (n == mine.length) mine = Arrays.copyOf(mine, n * 2);
+                        mine[n++] = System.nanoTime() - sent;
+                        statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+                    }
+                    latencies.add(Arrays.copyOf(mine, n));
+                });
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        long ok = statuses.getOrDefault("200", new LongAdder()).sum();
+        double failed = all.length == 0 ? 0 : 1 - (double) ok / all.length;
+        String summary = """
+                {"metrics": {
+                  "http_reqs": {"count": %d, "rate": %.3f},
+                  "http_req_duration": {"p(50)": %.3f, "p(95)": %.3f, "p(99)": %.3f, "max": %.3f},
+                  "http_req_failed": {"value": %.5f}
+                }}
+                """.formatted(all.length, all.length / seconds,
+                percentile(all, 0.50), percentile(all, 0.95), percentile(all, 0.99), percentile(all, 1.0), failed);
+        Files.writeString(Path.of(args[0]), summary);
+        System.out.println("responses by status: " + new TreeMap<>(Map.copyOf(statuses)));
+    }
+
+    private static HttpRequest get(String url, String token) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .build();
+    }
+
+    /** Milliseconds at the given quantile of sorted nanosecond latencies. */
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) return 0;
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * quantile))] / 1e6;
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        if (value != null && !value.isBlank()) return value;
+        if (fallback == null) throw new IllegalArgumentException(name + " must be set");
+        return fallback;
+    }
+}
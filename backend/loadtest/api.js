@@ -0,0 +1,26 @@
+// k6 load profile for comparing platform-thread and virtual-thread mode.
+// Usage: k6 run -e BASE_URL=http://localhost:8742 -e TOKEN=<jwt> -e CHILD_ID=<uuid> loadtest/api.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8742';
+const headers = { Authorization: `Bearer ${__ENV.TOKEN}` };
+
+export const options = {
+  scenarios: {
+    clients: {
+      executor: 'constant-vus',
+      vus: Number(__ENV.VUS || 1000),
+      duration: __ENV.DURATION || '60s',
+    },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export default function () {
+  // Mix of the two hottest parent reads: the dashboard and a child's transaction history
+  const res = Math.random() < 0.5
+    ? http.get(`${BASE_URL}/api/dashboard`, { headers, tags: { name: 'dashboard' } })
+    : http.get(`${BASE_URL}/api/children/${__ENV.CHILD_ID}/transactions?limit=20`, { headers, tags: { name: 'transactions' } });
+  check(res, { 'status is 200': (r) => r.status === 200 });
+}
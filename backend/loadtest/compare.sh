@@ -0,0 +1,59 @@
+#!/usr/bin/env bash
+# Runs the k6 profile against the backend twice, with the same heap, in platform-thread and in
+# virtual-thread mode, and prints throughput and latency side by side. Each run starts with a 20s,
+# 100-client warm-up whose results are discarded. Without k6 on the PATH, loadtest/LoadDriver.java
+# replays the same profile and writes the same summary.
+#
+# Requires: java 21, jq, optionally k6, and the backend env (SUPABASE_DB_PASSWORD, JWT_SECRET, STRIPE_*).
+# Usage: TOKEN=<parent jwt> CHILD_ID=<uuid> loadtest/compare.sh [heap=512m] [vus=1000] [duration=60s]
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+HEAP=${1:-512m}
+VUS=${2:-1000}
+DURATION=${3:-60s}
+PORT=8742
+MANAGEMENT_PORT=${MANAGEMENT_PORT:-8743}
+: "${TOKEN:?TOKEN must hold a parent JWT}"
+: "${CHILD_ID:?CHILD_ID must hold a child id owned by that parent}"
+export TOKEN CHILD_ID
+
+mvn -q -DskipTests package
+JAR=target/amanah-backend-0.0.1-SNAPSHOT.jar
+mkdir -p target/loadtest
+
+run() {
+  local mode=$1 profile=$2
+  java -Xms"$HEAP" -Xmx"$HEAP" -Djdk.tracePinnedThreads=short -jar "$JAR" \
+      --spring.profiles.active="$profile" > "target/loadtest/$mode.log" 2>&1 &
+  local pid=$!
+  trap 'kill $pid 2>/dev/null || true; wait $pid 2>/dev/null || true' RETURN
+  until curl -sf "http://localhost:$MANAGEMENT_PORT/actuator/health" > /dev/null; do sleep 1; done
+
+  VUS=100 DURATION=20s load "target/loadtest/$mode-warmup.json" > /dev/null
+  VUS=$VUS DURATION=$DURATION load "target/loadtest/$mode.json"
+}
+
+load() {
+  if command -v k6 > /dev/null; then
+    k6 run -q -e BASE_URL="http://localhost:$PORT" -e TOKEN="$TOKEN" -e CHILD_ID="$CHILD_ID" \
+        -e VUS="$VUS" -e DURATION="$DURATION" --summary-export "$1" loadtest/api.js
+  else
+    BASE_URL="http://localhost:$PORT" java -Xmx1g loadtest/LoadDriver.java "$1"
+  fi
+}
+
+run platform default
+run virtual virtual
+
+printf '\n%-10s %12s %10s %10s %10s %8s\n' mode req/s p50_ms p95_ms p99_ms failed
+for mode in platform virtual; do
+  jq -r --arg mode "$mode" '[ $mode,
+      (.metrics.http_reqs.rate | floor),
+      (.metrics.http_req_duration["p(50)"] | floor),
+      (.metrics.http_req_duration["p(95)"] | floor),
+      (.metrics.http_req_duration["p(99)"] | floor),
+      ((.metrics.http_req_failed.value // 0) * 1000 | round / 10 | tostring + "%") ] | @tsv' "target/loadtest/$mode.json" \
+    | awk -F'\t' '{ printf "%-10s %12s %10s %10s %10s %8s\n", $1, $2, $3, $4, $5, $6 }'
+done
+echo "Pinned-thread frames holding monitors (virtual mode): $(grep -c 'monitors:' target/loadtest/virtual.log || true)"
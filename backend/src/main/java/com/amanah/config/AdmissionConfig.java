@@ -0,0 +1,47 @@
+package com.amanah.config;
+
+import com.amanah.filter.AdmissionFilter;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Request admission for modes without a worker-thread cap. In platform-thread mode Tomcat's worker pool
+ * bounds how many requests run at once; on virtual threads every accepted connection runs, so a semaphore
+ * bulkhead (meters tagged {@code name=requests}) takes that role. A request waits up to
+ * {@code amanah.admission.max-wait} for a permit and is otherwise refused by {@link AdmissionFilter}
+ * with 503 and {@code Retry-After}, before it has taken a pooled connection.
+ */
+@Configuration
+@ConditionalOnProperty("amanah.admission.max-concurrent")
+public class AdmissionConfig {
+
+    public static final String REQUESTS = "requests";
+
+    @Bean
+    public Bulkhead requestBulkhead(MeterRegistry meterRegistry,
+                                    @Value("${amanah.admission.max-concurrent}") int maxConcurrent,
+                                    @Value("${amanah.admission.max-wait:5s}") Duration maxWait) {
+        BulkheadRegistry registry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrent)
+                .maxWaitDuration(maxWait)
+                .fairCallHandlingStrategyEnabled(true)
+                .build());
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry.bulkhead(REQUESTS);
+    }
+
+    @Bean
+    public AdmissionFilter admissionFilter(Bulkhead requestBulkhead,
+                                           @Value("${amanah.admission.retry-after:1s}") Duration retryAfter) {
+        return new AdmissionFilter(requestBulkhead, retryAfter);
+    }
+}
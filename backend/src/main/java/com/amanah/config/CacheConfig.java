@@ -0,0 +1,47 @@
+package com.amanah.config;
+
+import com.amanah.dto.Forecast;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * In-process Caffeine caches. Each cache is registered up front with its own bounds so that
+ * actuator publishes hit/miss/eviction metrics for it ({@code cache.gets}, {@code cache.evictions}).
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String DASHBOARD = "dashboard";
+    public static final String FORECASTS = "forecasts";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${amanah.cache.dashboard.max-size:10000}") long dashboardMaxSize,
+                                     @Value("${amanah.cache.dashboard.ttl:10m}") Duration dashboardTtl,
+                                     @Value("${amanah.cache.forecasts.max-weight:200000}") long forecastsMaxWeight,
+                                     @Value("${amanah.cache.forecasts.ttl:1d}") Duration forecastsTtl) {
+        CaffeineCacheManager manager = new CaffeineCacheManager();
+        manager.setAllowNullValues(false);
+        manager.registerCustomCache(DASHBOARD, Caffeine.newBuilder()
+                .maximumSize(dashboardMaxSize)
+                .expireAfterWrite(dashboardTtl)
+                .recordStats()
+                .build());
+        // Keys are the full forecast input, so entries never go stale; the TTL only drops yesterday's start dates.
+        // A summary weighs one unit and a full forecast one per point, a unit being roughly 300 bytes of heap.
+        manager.registerCustomCache(FORECASTS, Caffeine.newBuilder()
+                .maximumWeight(forecastsMaxWeight)
+                .weigher((Object key, Object value) -> value instanceof Forecast forecast ? 1 + forecast.series().size() : 1)
+                .expireAfterAccess(forecastsTtl)
+                .recordStats()
+                .build());
+        return manager;
+    }
+}
@@ -0,0 +1,58 @@
+package com.amanah.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Limits for streamed transaction exports. Each export holds a pooled connection and a read transaction
+ * until its last row is written, so a semaphore bulkhead caps how many run at once (meters tagged
+ * {@code name=exports}); further requests are refused rather than queued. Exports also get their own
+ * async timeout, which {@link #TIMEOUT_ATTRIBUTE} applies to the request that sets it, while every other
+ * async request keeps the default.
+ */
+@Configuration
+public class ExportConfig implements WebMvcConfigurer {
+
+    public static final String EXPORTS = "exports";
+    public static final String TIMEOUT_ATTRIBUTE = ExportConfig.class.getName() + ".timeout";
+
+    @Bean
+    public Bulkhead exportBulkhead(MeterRegistry meterRegistry,
+                                   @Value("${amanah.exports.max-concurrent:3}") int maxConcurrent) {
+        BulkheadRegistry registry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrent)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry.bulkhead(EXPORTS);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                // Runs before the async context starts, so the timeout set here is the one it starts with
+                if (request.getAttribute(TIMEOUT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Duration timeout
+                        && request instanceof AsyncWebRequest asyncRequest) {
+                    asyncRequest.setTimeout(timeout.toMillis());
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,20 @@
+package com.amanah.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Responses are records in {@code com.amanah.dto}, never entities. Blackbird replaces Jackson's
+ * reflective accessor and constructor calls with generated lambdas; Spring Boot registers every
+ * {@link Module} bean on the application's {@code ObjectMapper}.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,34 @@
+package com.amanah.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Limit for Monte Carlo outcome simulations. Each one fills every core of the simulation pool and holds a
+ * checkpoints-by-paths matrix of totals, so a semaphore bulkhead caps how many run at once (meters tagged
+ * {@code name=outcomes}); further requests are refused rather than queued.
+ */
+@Configuration
+public class OutcomeConfig {
+
+    public static final String OUTCOMES = "outcomes";
+
+    @Bean
+    public Bulkhead outcomeBulkhead(MeterRegistry meterRegistry,
+                                    @Value("${amanah.outcomes.max-concurrent:2}") int maxConcurrent) {
+        BulkheadRegistry registry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrent)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry.bulkhead(OUTCOMES);
+    }
+}
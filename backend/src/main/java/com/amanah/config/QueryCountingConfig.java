@@ -0,0 +1,52 @@
+package com.amanah.config;
+
+import com.amanah.filter.QueryBudgetInterceptor;
+import com.amanah.filter.QueryCounter;
+import lombok.RequiredArgsConstructor;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's {@link DataSource} in a datasource-proxy that feeds {@link QueryCounter}, and
+ * checks every API request against its {@link com.amanah.filter.QueryBudget}. The proxy unwraps to the
+ * Hikari pool, so pool metrics and health are unaffected.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class QueryCountingConfig implements WebMvcConfigurer {
+
+    private final QueryBudgetInterceptor queryBudgetInterceptor;
+
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourceProxy() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return countingProxy(dataSource, beanName);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /** Also used by tests that build their own {@link DataSource}. */
+    public static DataSource countingProxy(DataSource dataSource, String name) {
+        return ProxyDataSourceBuilder.create(dataSource)
+                .name(name)
+                .listener(QueryCounter.listener())
+                .build();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(queryBudgetInterceptor).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,62 @@
+package com.amanah.config;
+
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.exception.ApiException;
+import com.stripe.exception.RateLimitException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Isolation for outbound Stripe calls: a semaphore bulkhead caps how many request threads may wait on
+ * Stripe at once, and a circuit breaker fails fast while Stripe is erroring. Only outages count towards
+ * the breaker (connection errors and timeouts, 5xx, rate limiting), not declined cards or bad requests.
+ * Both publish {@code resilience4j.*} meters tagged {@code name=stripe}.
+ */
+@Configuration
+public class StripeResilienceConfig {
+
+    public static final String STRIPE = "stripe";
+
+    @Bean
+    public CircuitBreaker stripeCircuitBreaker(MeterRegistry meterRegistry,
+                                               @Value("${amanah.stripe.breaker.failure-rate-threshold:50}") float failureRateThreshold,
+                                               @Value("${amanah.stripe.breaker.window-size:20}") int windowSize,
+                                               @Value("${amanah.stripe.breaker.open-duration:30s}") Duration openDuration) {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slidingWindowSize(windowSize)
+                .minimumNumberOfCalls(Math.min(windowSize, 10))
+                .waitDurationInOpenState(openDuration)
+                .permittedNumberOfCallsInHalfOpenState(3)
+                .recordException(e -> e instanceof ApiConnectionException
+                        || e instanceof ApiException
+                        || e instanceof RateLimitException)
+                .build());
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry.circuitBreaker(STRIPE);
+    }
+
+    @Bean
+    public Bulkhead stripeBulkhead(MeterRegistry meterRegistry,
+                                   @Value("${amanah.stripe.bulkhead.max-concurrent-calls:20}") int maxConcurrentCalls,
+                                   @Value("${amanah.stripe.bulkhead.max-wait:100ms}") Duration maxWait) {
+        BulkheadRegistry registry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(maxWait)
+                .build());
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry.bulkhead(STRIPE);
+    }
+}
@@ -0,0 +1,21 @@
+package com.amanah.config;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Thread factories for the executors the app creates itself, so they follow
+ * {@code spring.threads.virtual.enabled} like Tomcat, {@code @Async} and {@code @Scheduled} do. The pool
+ * sizes stay as configured: they bound how many connections a background job holds, not how many
+ * threads the JVM can afford.
+ */
+public final class Threads {
+
+    private Threads() {
+    }
+
+    public static ThreadFactory factory(String namePrefix, boolean virtual) {
+        return virtual ? Thread.ofVirtual().name(namePrefix, 0).factory() : new CustomizableThreadFactory(namePrefix);
+    }
+}
@@ -2,16 +2,21 @@ package com.amanah.controller;
 
 import com.amanah.dto.*;
 import com.amanah.entity.*;
+import com.amanah.event.DashboardInvalidationEvent;
+import com.amanah.filter.QueryBudget;
 import com.amanah.repository.*;
 import com.amanah.service.*;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 
@@ -23,32 +28,41 @@ public class ChildController {
     private final ChildService childService;
     private final GoalService goalService;
     private final ContributionService contributionService;
+    private final BalanceService balanceService;
+    private final TransactionHistoryService historyService;
+    private final MonthlySummaryService monthlySummaryService;
+    private final BalanceHistoryService balanceHistoryService;
     private final FundDirectiveService directiveService;
-    private final TransactionRepository transactionRepository;
+    private final ForecastService forecastService;
+    private final OutcomeSimulationService outcomeService;
     private final InvestmentPortfolioRepository portfolioRepository;
     private final StripeService stripeService;
+    private final ApplicationEventPublisher eventPublisher;
 
     // --- Children CRUD ---
 
     @GetMapping
-    public ResponseEntity<List<Child>> list(@AuthenticationPrincipal UUID parentId) {
-        return ResponseEntity.ok(childService.getChildren(parentId));
+    public ResponseEntity<List<ChildResponse>> list(@AuthenticationPrincipal UUID parentId) {
+        return ResponseEntity.ok(childService.getChildren(parentId).stream().map(ChildResponse::of).toList());
     }
 
     @PostMapping
-    public ResponseEntity<Child> create(@AuthenticationPrincipal UUID parentId,
-                                        @Valid @RequestBody ChildRequest req) {
-        return ResponseEntity.status(201).body(childService.addChild(parentId, req.name(), req.dateOfBirth(), req.photoUrl()));
+    public ResponseEntity<ChildResponse> create(@AuthenticationPrincipal UUID parentId,
+                                                @Valid @RequestBody ChildRequest req) {
+        return ResponseEntity.status(201).body(ChildResponse.of(
+                childService.addChild(parentId, req.name(), req.dateOfBirth(), req.photoUrl())));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Child> update(@AuthenticationPrincipal UUID parentId,
-                                        @PathVariable UUID id,
-                                        @Valid @RequestBody ChildRequest req) {
-        return ResponseEntity.ok(childService.updateChild(id, parentId, req.name(), req.dateOfBirth(), req.photoUrl()));
+    public ResponseEntity<ChildResponse> update(@AuthenticationPrincipal UUID parentId,
+                                                @PathVariable UUID id,
+                                                @Valid @RequestBody ChildRequest req) {
+        return ResponseEntity.ok(ChildResponse.of(
+                childService.updateChild(id, parentId, req.name(), req.dateOfBirth(), req.photoUrl())));
     }
 
     @DeleteMapping("/{id}")
+    @QueryBudget(1)
     public ResponseEntity<Void> delete(@AuthenticationPrincipal UUID parentId,
                                        @PathVariable UUID id) {
         childService.deleteChild(id, parentId);
@@ -58,43 +72,106 @@ public class ChildController {
     // --- Child Detail ---
 
     @GetMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> detail(@AuthenticationPrincipal UUID parentId,
-                                                      @PathVariable UUID id) {
+    @QueryBudget(7)
+    public ResponseEntity<ChildDetail> detail(@AuthenticationPrincipal UUID parentId,
+                                              @PathVariable UUID id) {
         Child child = childService.getChild(id, parentId);
-        List<Transaction> transactions = transactionRepository.findAllByChildIdOrderByDateDesc(id);
-        BigDecimal savings = transactionRepository.sumByChildId(id);
-        Optional<Goal> goal = goalService.findByChild(id);
-        Optional<InvestmentPortfolio> portfolio = portfolioRepository.findByChildId(id);
-
-        Map<String, Object> response = new LinkedHashMap<>();
-        response.put("child", child);
-        response.put("transactions", transactions);
-        response.put("savingsBalance", savings);
-        goal.ifPresent(g -> {
-            long months = ChronoUnit.MONTHS.between(LocalDate.now(), g.getTargetDate());
-            response.put("goal", g);
-            response.put("monthsRemaining", Math.max(0, months));
-            LocalDate projected = savings.compareTo(BigDecimal.ZERO) > 0
-                    && g.getMonthlyContribution() != null
-                    && g.getMonthlyContribution().compareTo(BigDecimal.ZERO) > 0
-                    ? LocalDate.now().plusMonths(
-                            g.getTargetAmount().subtract(savings)
-                             .divide(g.getMonthlyContribution(), 0, java.math.RoundingMode.CEILING).longValue())
-                    : null;
-            response.put("projectedCompletion", projected);
-        });
-        portfolio.ifPresent(p -> response.put("investment", p));
-        directiveService.findByChild(id).ifPresent(d -> response.put("fundDirective", d));
-
-        return ResponseEntity.ok(response);
+        TransactionPage transactions = historyService.firstPage(id);
+        Money savings = balanceService.getBalance(id);
+        Goal goal = goalService.findByChild(id).orElse(null);
+        InvestmentPortfolio portfolio = portfolioRepository.findByChildId(id).orElse(null);
+        FundDirective directive = directiveService.findByChild(id).orElse(null);
+
+        Long monthsRemaining = null;
+        Forecast.Summary forecast = null;
+        if (goal != null) {
+            LocalDate today = LocalDate.now();
+            monthsRemaining = Math.max(0, ChronoUnit.MONTHS.between(today, goal.getTargetDate()));
+            forecast = forecastService.summarize(ForecastService.ForecastInput.of(goal, savings, portfolio, today));
+        }
+
+        return ResponseEntity.ok(new ChildDetail(
+                ChildResponse.of(child),
+                transactions.items(),
+                monthlySummaryService.transactionCount(id),
+                transactions.nextCursor(),
+                savings,
+                goal != null ? GoalResponse.of(goal) : null,
+                monthsRemaining,
+                forecast != null ? forecast.projectedCompletion() : null,
+                forecast != null ? forecast.onTrack() : null,
+                portfolio != null ? PortfolioResponse.of(portfolio) : null,
+                directive != null ? FundDirectiveResponse.of(directive) : null));
+    }
+
+    // --- Forecast ---
+
+    @GetMapping("/{id}/forecast")
+    public ResponseEntity<Forecast> forecast(@AuthenticationPrincipal UUID parentId,
+                                             @PathVariable UUID id) {
+        childService.getChild(id, parentId); // ownership check
+        Goal goal = goalService.findByChild(id).orElseThrow(() -> new RuntimeException("Goal not found"));
+        return ResponseEntity.ok(forecastService.forecast(ForecastService.ForecastInput.of(
+                goal, balanceService.getBalance(id), portfolioRepository.findByChildId(id).orElse(null), LocalDate.now())));
+    }
+
+    @GetMapping("/{id}/forecast/outcomes")
+    public ResponseEntity<OutcomeSimulation> outcomes(@AuthenticationPrincipal UUID parentId,
+                                                      @PathVariable UUID id,
+                                                      @RequestParam(required = false) Integer paths,
+                                                      @RequestParam(required = false) Long seed) {
+        childService.getChild(id, parentId); // ownership check
+        Goal goal = goalService.findByChild(id).orElseThrow(() -> new RuntimeException("Goal not found"));
+        return ResponseEntity.ok(outcomeService.simulate(ForecastService.ForecastInput.of(
+                goal, balanceService.getBalance(id), portfolioRepository.findByChildId(id).orElse(null), LocalDate.now()),
+                paths, seed));
+    }
+
+    // --- Transaction History ---
+
+    @GetMapping("/{id}/transactions")
+    public ResponseEntity<TransactionPage> transactions(@AuthenticationPrincipal UUID parentId,
+                                                        @PathVariable UUID id,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer limit,
+                                                        @RequestParam(required = false) Transaction.TransactionType type,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                        @RequestParam(required = false) BigDecimal minAmount,
+                                                        @RequestParam(required = false) BigDecimal maxAmount,
+                                                        @RequestParam(defaultValue = "false") boolean totals) {
+        childService.getChild(id, parentId); // ownership check
+        TransactionFilter filter = new TransactionFilter(type, from, to, minAmount, maxAmount);
+        return ResponseEntity.ok(historyService.page(id, filter, cursor, limit, totals));
+    }
+
+    @GetMapping("/{id}/transactions/monthly")
+    @QueryBudget(2)
+    public ResponseEntity<SavingsByMonth> monthly(@AuthenticationPrincipal UUID parentId,
+                                                  @PathVariable UUID id,
+                                                  @RequestParam(required = false) YearMonth from,
+                                                  @RequestParam(required = false) YearMonth to) {
+        childService.getChild(id, parentId); // ownership check
+        return ResponseEntity.ok(monthlySummaryService.byMonth(id, from, to));
+    }
+
+    @GetMapping("/{id}/balance-history")
+    @QueryBudget(2)
+    public ResponseEntity<BalanceHistory> balanceHistory(@AuthenticationPrincipal UUID parentId,
+                                                         @PathVariable UUID id,
+                                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                         @RequestParam(required = false) Integer points) {
+        childService.getChild(id, parentId); // ownership check
+        return ResponseEntity.ok(balanceHistoryService.history(List.of(id), from, to, points));
     }
 
     // --- Goal ---
 
     @PostMapping("/{id}/goal")
-    public ResponseEntity<Goal> setGoal(@AuthenticationPrincipal UUID parentId,
-                                        @PathVariable UUID id,
-                                        @Valid @RequestBody GoalRequest req) {
+    public ResponseEntity<GoalResponse> setGoal(@AuthenticationPrincipal UUID parentId,
+                                                @PathVariable UUID id,
+                                                @Valid @RequestBody GoalRequest req) {
         childService.getChild(id, parentId); // ownership check
         // Capture previous paused state before saving
         boolean wasPaused = goalService.findByChild(id).map(Goal::isPaused).orElse(false);
@@ -108,48 +185,49 @@ public class ChildController {
                 stripeService.resumeSubscription(saved.getStripeSubscriptionId());
             }
         }
-        return ResponseEntity.ok(saved);
+        return ResponseEntity.ok(GoalResponse.of(saved));
     }
 
     // --- Contribution ---
 
     @PostMapping("/{id}/contribute")
-    public ResponseEntity<Transaction> contribute(@AuthenticationPrincipal UUID parentId,
-                                                  @PathVariable UUID id,
-                                                  @Valid @RequestBody ContributeRequest req) {
+    public ResponseEntity<TransactionResponse> contribute(@AuthenticationPrincipal UUID parentId,
+                                                          @PathVariable UUID id,
+                                                          @Valid @RequestBody ContributeRequest req) {
         childService.getChild(id, parentId); // ownership check
-        return ResponseEntity.ok(contributionService.contribute(id, req.amount(), Transaction.TransactionType.MANUAL));
+        return ResponseEntity.ok(TransactionResponse.of(
+                contributionService.contribute(id, Money.of(req.amount()), Transaction.TransactionType.MANUAL)));
     }
 
     // --- Investment Portfolio ---
 
     @PostMapping("/{id}/investment")
-    public ResponseEntity<InvestmentPortfolio> setInvestment(@AuthenticationPrincipal UUID parentId,
-                                                              @PathVariable UUID id,
-                                                              @Valid @RequestBody InvestmentRequest req) {
+    public ResponseEntity<PortfolioResponse> setInvestment(@AuthenticationPrincipal UUID parentId,
+                                                            @PathVariable UUID id,
+                                                            @Valid @RequestBody InvestmentRequest req) {
         childService.getChild(id, parentId);
-        InvestmentPortfolio portfolio = portfolioRepository.findByChildId(id).orElse(new InvestmentPortfolio());
-        portfolio.setChildId(id);
-        portfolio.setPortfolioType(req.portfolioType());
-        portfolio.setAllocationPercentage(req.allocationPercent());
-        if (portfolio.getCurrentValue() == null) portfolio.setCurrentValue(BigDecimal.ZERO);
-        return ResponseEntity.ok(portfolioRepository.save(portfolio));
+        // Only type and allocation: writing back a loaded entity would overwrite concurrent value increments
+        portfolioRepository.upsertAllocation(id, req.portfolioType().name(), req.allocationPercent());
+        InvestmentPortfolio saved = portfolioRepository.findByChildId(id).orElseThrow();
+        eventPublisher.publishEvent(DashboardInvalidationEvent.forParent(parentId));
+        return ResponseEntity.ok(PortfolioResponse.of(saved));
     }
 
     // --- Fund Directive ---
 
     @GetMapping("/{id}/directive")
-    public ResponseEntity<FundDirective> getDirective(@AuthenticationPrincipal UUID parentId,
-                                                       @PathVariable UUID id) {
+    public ResponseEntity<FundDirectiveResponse> getDirective(@AuthenticationPrincipal UUID parentId,
+                                                               @PathVariable UUID id) {
         childService.getChild(id, parentId);
-        return ResponseEntity.ok(directiveService.getByChild(id));
+        return ResponseEntity.ok(FundDirectiveResponse.of(directiveService.getByChild(id)));
     }
 
     @PostMapping("/{id}/directive")
-    public ResponseEntity<FundDirective> setDirective(@AuthenticationPrincipal UUID parentId,
-                                                       @PathVariable UUID id,
-                                                       @Valid @RequestBody FundDirectiveRequest req) {
+    public ResponseEntity<FundDirectiveResponse> setDirective(@AuthenticationPrincipal UUID parentId,
+                                                               @PathVariable UUID id,
+                                                               @Valid @RequestBody FundDirectiveRequest req) {
         childService.getChild(id, parentId);
-        return ResponseEntity.ok(directiveService.save(id, req.guardianName(), req.guardianContact(), req.instructions()));
+        return ResponseEntity.ok(FundDirectiveResponse.of(
+                directiveService.save(id, req.guardianName(), req.guardianContact(), req.instructions())));
     }
 }
@@ -2,19 +2,33 @@ package com.amanah.controller;
 
 import com.amanah.dto.ChildGoalRequest;
 import com.amanah.dto.ContributeRequest;
+import com.amanah.dto.PersonalGoalResponse;
+import com.amanah.dto.SavingsByMonth;
+import com.amanah.dto.TransactionFilter;
+import com.amanah.dto.TransactionPage;
+import com.amanah.dto.TransactionResponse;
+import com.amanah.entity.Money;
 import com.amanah.entity.PersonalGoal;
 import com.amanah.entity.Transaction;
+import com.amanah.filter.QueryBudget;
+import com.amanah.repository.AccountDeletionRepository;
 import com.amanah.repository.PersonalGoalRepository;
 import com.amanah.repository.TransactionRepository;
+import com.amanah.service.BalanceService;
+import com.amanah.service.MonthlySummaryService;
+import com.amanah.service.PersonalGoalService;
+import com.amanah.service.TransactionHistoryService;
 import jakarta.validation.Valid;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 
@@ -27,35 +41,53 @@ import java.util.*;
 public class ChildUserController {
 
     private final PersonalGoalRepository personalGoalRepository;
+    private final AccountDeletionRepository accountDeletionRepository;
     private final TransactionRepository transactionRepository;
+    private final BalanceService balanceService;
+    private final MonthlySummaryService monthlySummaryService;
+    private final TransactionHistoryService historyService;
+    private final PersonalGoalService personalGoalService;
 
     // GET /api/my-goals — list all personal goals with balance + progress
     @GetMapping
-    public ResponseEntity<List<Map<String, Object>>> listGoals(@AuthenticationPrincipal UUID userId) {
-        List<PersonalGoal> goals = personalGoalRepository.findByUserId(userId);
-        List<Map<String, Object>> result = new ArrayList<>();
-        for (PersonalGoal goal : goals) {
-            BigDecimal balance = transactionRepository.sumByChildId(goal.getId());
-            List<Transaction> txs = transactionRepository.findAllByChildIdOrderByDateDesc(goal.getId());
+    @QueryBudget(3)
+    public ResponseEntity<List<PersonalGoalResponse>> listGoals(@AuthenticationPrincipal UUID userId) {
+        return ResponseEntity.ok(personalGoalService.listGoals(userId));
+    }
 
-            long months = ChronoUnit.MONTHS.between(LocalDate.now(), goal.getTargetDate());
-            Map<String, Object> entry = new LinkedHashMap<>();
-            entry.put("id", goal.getId());
-            entry.put("name", goal.getGoalType());
-            entry.put("targetAmount", goal.getTargetAmount());
-            entry.put("targetDate", goal.getTargetDate());
-            entry.put("currentAmount", balance);
-            entry.put("monthsRemaining", Math.max(0, months));
-            entry.put("isPaused", goal.isPaused());
-            entry.put("transactions", txs);
-            result.add(entry);
-        }
-        return ResponseEntity.ok(result);
+    // GET /api/my-goals/{goalId}/transactions — cursor-paginated history for one personal goal
+    @GetMapping("/{goalId}/transactions")
+    public ResponseEntity<TransactionPage> transactions(@AuthenticationPrincipal UUID userId,
+                                                        @PathVariable UUID goalId,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer limit,
+                                                        @RequestParam(required = false) Transaction.TransactionType type,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                        @RequestParam(required = false) BigDecimal minAmount,
+                                                        @RequestParam(required = false) BigDecimal maxAmount,
+                                                        @RequestParam(defaultValue = "false") boolean totals) {
+        personalGoalRepository.findByIdAndUserId(goalId, userId)
+                .orElseThrow(() -> new RuntimeException("Goal not found"));
+        TransactionFilter filter = new TransactionFilter(type, from, to, minAmount, maxAmount);
+        return ResponseEntity.ok(historyService.page(goalId, filter, cursor, limit, totals));
+    }
+
+    // GET /api/my-goals/{goalId}/transactions/monthly — monthly totals for charts, from the rollup
+    @GetMapping("/{goalId}/transactions/monthly")
+    @QueryBudget(2)
+    public ResponseEntity<SavingsByMonth> monthly(@AuthenticationPrincipal UUID userId,
+                                                  @PathVariable UUID goalId,
+                                                  @RequestParam(required = false) YearMonth from,
+                                                  @RequestParam(required = false) YearMonth to) {
+        personalGoalRepository.findByIdAndUserId(goalId, userId)
+                .orElseThrow(() -> new RuntimeException("Goal not found"));
+        return ResponseEntity.ok(monthlySummaryService.byMonth(goalId, from, to));
     }
 
     // POST /api/my-goals — create a new personal goal
     @PostMapping
-    public ResponseEntity<Map<String, Object>> createGoal(@AuthenticationPrincipal UUID userId,
+    public ResponseEntity<PersonalGoalResponse> createGoal(@AuthenticationPrincipal UUID userId,
                                                            @Valid @RequestBody ChildGoalRequest req) {
         PersonalGoal goal = PersonalGoal.builder()
                 .userId(userId)
@@ -68,23 +100,16 @@ public class ChildUserController {
         goal = personalGoalRepository.save(goal);
 
         long months = ChronoUnit.MONTHS.between(LocalDate.now(), req.targetDate());
-        Map<String, Object> response = new LinkedHashMap<>();
-        response.put("id", goal.getId());
-        response.put("name", goal.getGoalType());
-        response.put("targetAmount", goal.getTargetAmount());
-        response.put("targetDate", goal.getTargetDate());
-        response.put("currentAmount", BigDecimal.ZERO);
-        response.put("monthsRemaining", Math.max(0, months));
-        response.put("isPaused", false);
-        response.put("transactions", List.of());
-        return ResponseEntity.status(201).body(response);
+        return ResponseEntity.status(201).body(new PersonalGoalResponse(goal.getId(), goal.getGoalType(),
+                goal.getTargetAmount(), goal.getTargetDate(), Money.ZERO, Math.max(0, months), false, List.of(), null));
     }
 
     // POST /api/my-goals/{goalId}/contribute — add money to a personal goal
+    @Transactional
     @PostMapping("/{goalId}/contribute")
-    public ResponseEntity<Transaction> contribute(@AuthenticationPrincipal UUID userId,
-                                                   @PathVariable UUID goalId,
-                                                   @Valid @RequestBody ContributeRequest req) {
+    public ResponseEntity<TransactionResponse> contribute(@AuthenticationPrincipal UUID userId,
+                                                           @PathVariable UUID goalId,
+                                                           @Valid @RequestBody ContributeRequest req) {
         personalGoalRepository.findByIdAndUserId(goalId, userId)
                 .orElseThrow(() -> new RuntimeException("Goal not found"));
 
@@ -93,19 +118,21 @@ public class ChildUserController {
                 .amount(req.amount())
                 .type(Transaction.TransactionType.MANUAL)
                 .build();
-        return ResponseEntity.ok(transactionRepository.save(tx));
+        tx = transactionRepository.save(tx);
+        balanceService.credit(goalId, Money.of(tx.getAmount()));
+        monthlySummaryService.record(goalId, Money.of(tx.getAmount()), tx.getType());
+        return ResponseEntity.ok(TransactionResponse.of(tx));
     }
 
     // DELETE /api/my-goals/{goalId} — delete a personal goal
     @Transactional
     @DeleteMapping("/{goalId}")
+    @QueryBudget(1)
     public ResponseEntity<Void> deleteGoal(@AuthenticationPrincipal UUID userId,
                                             @PathVariable UUID goalId) {
-        PersonalGoal goal = personalGoalRepository.findByIdAndUserId(goalId, userId)
-                .orElseThrow(() -> new RuntimeException("Goal not found"));
-
-        transactionRepository.deleteAllByChildId(goalId);
-        personalGoalRepository.delete(goal);
+        if (accountDeletionRepository.deletePersonalGoal(goalId, userId).accounts() == 0) {
+            throw new RuntimeException("Goal not found");
+        }
         return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,40 @@
+package com.amanah.controller;
+
+import com.amanah.dto.ImportResult;
+import com.amanah.filter.QueryBudget;
+import com.amanah.service.ContributionImportService.Format;
+import com.amanah.service.ContributionImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/contributions")
+@RequiredArgsConstructor
+public class ContributionController {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final ContributionImportService importService;
+
+    /** Streams the body straight into the importer; it is never buffered as a whole. */
+    @PostMapping(value = "/import", consumes = {NDJSON, "text/csv"})
+    @QueryBudget(QueryBudget.UNLIMITED) // a few statements per chunk
+    public ResponseEntity<ImportResult> importContributions(@AuthenticationPrincipal UUID parentId,
+                                                            @RequestHeader("Content-Type") MediaType contentType,
+                                                            HttpServletRequest request) throws IOException {
+        Format format = contentType.isCompatibleWith(MediaType.parseMediaType(NDJSON)) ? Format.NDJSON : Format.CSV;
+        Reader body = new InputStreamReader(request.getInputStream(),
+                contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8);
+        return ResponseEntity.ok(importService.importContributions(parentId, body, format));
+    }
+}
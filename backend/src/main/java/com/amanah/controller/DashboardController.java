@@ -1,14 +1,22 @@
 package com.amanah.controller;
 
+import com.amanah.dto.BalanceHistory;
+import com.amanah.dto.Dashboard;
+import com.amanah.entity.Child;
+import com.amanah.filter.QueryBudget;
+import com.amanah.service.BalanceHistoryService;
+import com.amanah.service.ChildService;
 import com.amanah.service.DashboardService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.Map;
+import java.time.LocalDate;
 import java.util.UUID;
 
 @RestController
@@ -17,9 +25,23 @@ import java.util.UUID;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final ChildService childService;
+    private final BalanceHistoryService balanceHistoryService;
 
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getDashboard(@AuthenticationPrincipal UUID parentId) {
+    @QueryBudget(4)
+    public ResponseEntity<Dashboard> getDashboard(@AuthenticationPrincipal UUID parentId) {
         return ResponseEntity.ok(dashboardService.getDashboard(parentId));
     }
+
+    /** Combined savings balance of all the parent's children over time. */
+    @GetMapping("/balance-history")
+    @QueryBudget(2)
+    public ResponseEntity<BalanceHistory> balanceHistory(@AuthenticationPrincipal UUID parentId,
+                                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                         @RequestParam(required = false) Integer points) {
+        return ResponseEntity.ok(balanceHistoryService.history(
+                childService.getChildren(parentId).stream().map(Child::getId).toList(), from, to, points));
+    }
 }
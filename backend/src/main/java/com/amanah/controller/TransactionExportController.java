@@ -0,0 +1,84 @@
+package com.amanah.controller;
+
+import com.amanah.config.ExportConfig;
+import com.amanah.service.ChildService;
+import com.amanah.service.TransactionExportService;
+import com.amanah.service.TransactionExportService.Format;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Full transaction exports ({@code format=csv|ndjson}). Ownership is checked on the request thread; the
+ * body is then written from the MVC async executor while rows are read from the database. Requests beyond
+ * the export bulkhead (see {@link ExportConfig}) get 429; its permit is held until the body is written.
+ */
+@RestController
+@RequestMapping("/api/children")
+public class TransactionExportController {
+
+    private final ChildService childService;
+    private final TransactionExportService exportService;
+    private final Bulkhead exportBulkhead;
+    private final Duration timeout;
+
+    public TransactionExportController(ChildService childService,
+                                       TransactionExportService exportService,
+                                       Bulkhead exportBulkhead,
+                                       @Value("${amanah.exports.timeout:1h}") Duration timeout) {
+        this.childService = childService;
+        this.exportService = exportService;
+        this.exportBulkhead = exportBulkhead;
+        this.timeout = timeout;
+    }
+
+    @GetMapping("/{id}/transactions/export")
+    public ResponseEntity<StreamingResponseBody> exportChild(@AuthenticationPrincipal UUID parentId,
+                                                             @PathVariable UUID id,
+                                                             @RequestParam(defaultValue = "csv") String format,
+                                                             HttpServletRequest request) {
+        childService.getChild(id, parentId); // ownership check
+        Format fmt = Format.parse(format);
+        return attachment(request, fmt, "child-" + id, out -> exportService.exportChild(id, fmt, out));
+    }
+
+    @GetMapping("/transactions/export")
+    public ResponseEntity<StreamingResponseBody> exportFamily(@AuthenticationPrincipal UUID parentId,
+                                                              @RequestParam(defaultValue = "csv") String format,
+                                                              HttpServletRequest request) {
+        Format fmt = Format.parse(format);
+        return attachment(request, fmt, "family", out -> exportService.exportFamily(parentId, fmt, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> attachment(HttpServletRequest request, Format format, String scope,
+                                                             StreamingResponseBody body) {
+        if (!exportBulkhead.tryAcquirePermission()) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many exports in progress, try again shortly");
+        }
+        request.setAttribute(ExportConfig.TIMEOUT_ATTRIBUTE, timeout);
+        String filename = "amanah-transactions-" + scope + "-" + LocalDate.now() + "." + format.extension();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.contentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(out -> {
+                    try {
+                        body.writeTo(out);
+                    } finally {
+                        exportBulkhead.onComplete();
+                    }
+                });
+    }
+}
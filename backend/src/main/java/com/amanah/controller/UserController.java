@@ -1,7 +1,8 @@
 package com.amanah.controller;
 
 import com.amanah.dto.UserProfileRequest;
-import com.amanah.entity.User;
+import com.amanah.dto.UserResponse;
+import com.amanah.filter.QueryBudget;
 import com.amanah.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -19,13 +20,20 @@ public class UserController {
     private final UserService userService;
 
     @GetMapping
-    public ResponseEntity<User> getProfile(@AuthenticationPrincipal UUID userId) {
-        return ResponseEntity.ok(userService.getById(userId));
+    public ResponseEntity<UserResponse> getProfile(@AuthenticationPrincipal UUID userId) {
+        return ResponseEntity.ok(UserResponse.of(userService.getById(userId)));
     }
 
     @PutMapping
-    public ResponseEntity<User> updateProfile(@AuthenticationPrincipal UUID userId,
+    public ResponseEntity<UserResponse> updateProfile(@AuthenticationPrincipal UUID userId,
                                               @Valid @RequestBody UserProfileRequest req) {
-        return ResponseEntity.ok(userService.updateProfile(userId, req.fullName(), req.phone()));
+        return ResponseEntity.ok(UserResponse.of(userService.updateProfile(userId, req.fullName(), req.phone())));
+    }
+
+    @DeleteMapping
+    @QueryBudget(1)
+    public ResponseEntity<Void> deleteAccount(@AuthenticationPrincipal UUID userId) {
+        userService.deleteAccount(userId);
+        return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,16 @@
+package com.amanah.dto;
+
+import com.amanah.entity.Money;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A balance-over-time line: end-of-day balances from {@code from} to {@code to}, downsampled to at most
+ * the requested number of points. {@code days} is the number of points before downsampling.
+ */
+public record BalanceHistory(LocalDate from, LocalDate to, int days, List<Point> points) {
+
+    public record Point(LocalDate date, Money balance) {
+    }
+}
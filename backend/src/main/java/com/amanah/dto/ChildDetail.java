@@ -0,0 +1,24 @@
+package com.amanah.dto;
+
+import com.amanah.entity.Money;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A child with savings, the first page of transactions and, when set up, their goal (with months
+ * remaining and forecast), investment portfolio and fund directive. Absent parts are left out of the JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ChildDetail(ChildResponse child,
+                          List<TransactionResponse> transactions,
+                          long transactionCount,
+                          String transactionsNextCursor,
+                          Money savingsBalance,
+                          GoalResponse goal,
+                          Long monthsRemaining,
+                          LocalDate projectedCompletion,
+                          Boolean onTrack,
+                          PortfolioResponse investment,
+                          FundDirectiveResponse fundDirective) {}
@@ -0,0 +1,16 @@
+package com.amanah.dto;
+
+import com.amanah.entity.Child;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ChildResponse(UUID id, UUID parentId, String name, LocalDate dateOfBirth, String photoUrl) {
+
+    public static ChildResponse of(Child child) {
+        return new ChildResponse(child.getId(), child.getParentId(), child.getName(), child.getDateOfBirth(),
+                child.getPhotoUrl());
+    }
+}
@@ -0,0 +1,29 @@
+package com.amanah.dto;
+
+import com.amanah.entity.Money;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/** Family-wide savings summary; goal fields of a child summary are left out when the child has no goal. */
+public record Dashboard(List<ChildSummary> children, Money totalFamilySavings) {
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record ChildSummary(UUID childId,
+                               String name,
+                               Money savingsBalance,
+                               Money investmentBalance,
+                               Money totalValue,
+                               String goalType,
+                               BigDecimal targetAmount,
+                               BigDecimal progressPercent,
+                               Long monthsRemaining,
+                               @JsonProperty("isPaused") Boolean isPaused,
+                               LocalDate projectedCompletion,
+                               Money projectedAtTargetDate,
+                               Boolean onTrack) {}
+}
@@ -0,0 +1,27 @@
+package com.amanah.dto;
+
+import com.amanah.entity.Money;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Projected growth of a child's savings and investment towards their goal. {@code projectedCompletion}
+ * is null when the target is never reached at the current contribution (e.g. a paused goal without
+ * investments); {@code series} holds one point per month from today through the later of the target
+ * date and the projected completion, capped at the forecast horizon.
+ */
+public record Forecast(LocalDate projectedCompletion, Integer monthsToTarget, Money projectedAtTargetDate,
+                       boolean onTrack, List<Point> series) {
+
+    public record Point(LocalDate month, Money savings, Money investment, Money total) {}
+
+    /** The forecast without its series, for the dashboard and child detail. */
+    public record Summary(LocalDate projectedCompletion, Integer monthsToTarget, Money projectedAtTargetDate,
+                          boolean onTrack) {}
+
+    public static Forecast of(Summary summary, List<Point> series) {
+        return new Forecast(summary.projectedCompletion(), summary.monthsToTarget(), summary.projectedAtTargetDate(),
+                summary.onTrack(), series);
+    }
+}
@@ -0,0 +1,17 @@
+package com.amanah.dto;
+
+import com.amanah.entity.FundDirective;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record FundDirectiveResponse(UUID id, UUID childId, String guardianName, String guardianContact,
+                                    String instructions, OffsetDateTime lastUpdated) {
+
+    public static FundDirectiveResponse of(FundDirective directive) {
+        return new FundDirectiveResponse(directive.getId(), directive.getChildId(), directive.getGuardianName(),
+                directive.getGuardianContact(), directive.getInstructions(), directive.getLastUpdated());
+    }
+}
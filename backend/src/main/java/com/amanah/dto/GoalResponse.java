@@ -0,0 +1,21 @@
+package com.amanah.dto;
+
+import com.amanah.entity.Goal;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record GoalResponse(UUID id, String goalType, BigDecimal targetAmount, LocalDate targetDate,
+                           BigDecimal monthlyContribution, boolean paused, UUID childId,
+                           String stripeSubscriptionId, OffsetDateTime createdAt) {
+
+    public static GoalResponse of(Goal goal) {
+        return new GoalResponse(goal.getId(), goal.getGoalType(), goal.getTargetAmount(), goal.getTargetDate(),
+                goal.getMonthlyContribution(), goal.isPaused(), goal.getChildId(), goal.getStripeSubscriptionId(),
+                goal.getCreatedAt());
+    }
+}
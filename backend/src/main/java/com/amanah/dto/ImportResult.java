@@ -0,0 +1,14 @@
+package com.amanah.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk contribution import. {@code duplicates} are rows whose {@code externalRef} was
+ * already recorded for the child and were skipped; {@code errors} lists the rejected rows by 1-based
+ * line number and is capped, with {@code errorsTruncated} set when more rows failed than are listed.
+ */
+public record ImportResult(int rows, int imported, int duplicates, int failed,
+                           List<RowError> errors, boolean errorsTruncated) {
+
+    public record RowError(long line, String message) {}
+}
@@ -0,0 +1,18 @@
+package com.amanah.dto;
+
+import com.amanah.entity.Money;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Distribution of a goal's total (savings + investment) over simulated market paths.
+ * {@code probabilityOfReachingTarget} is the share of paths whose total reached the target on or before
+ * the target date; {@code bands} give the 10th to 90th percentile of the total at each year-end and at
+ * the target date. Re-running with the returned {@code seed} reproduces the result exactly.
+ */
+public record OutcomeSimulation(int paths, long seed, double annualVolatility, double probabilityOfReachingTarget,
+                                Money target, LocalDate targetDate, List<Band> bands) {
+
+    public record Band(LocalDate month, Money p10, Money p25, Money p50, Money p75, Money p90) {}
+}
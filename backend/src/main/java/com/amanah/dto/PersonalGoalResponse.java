@@ -0,0 +1,22 @@
+package com.amanah.dto;
+
+import com.amanah.entity.Money;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/** A child user's own goal with its balance and newest transactions. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PersonalGoalResponse(UUID id,
+                                   String name,
+                                   BigDecimal targetAmount,
+                                   LocalDate targetDate,
+                                   Money currentAmount,
+                                   long monthsRemaining,
+                                   @JsonProperty("isPaused") boolean isPaused,
+                                   List<TransactionResponse> transactions,
+                                   String transactionsNextCursor) {}
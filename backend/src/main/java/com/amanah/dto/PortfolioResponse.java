@@ -0,0 +1,19 @@
+package com.amanah.dto;
+
+import com.amanah.entity.InvestmentPortfolio;
+import com.amanah.entity.InvestmentPortfolio.PortfolioType;
+import com.amanah.entity.Money;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PortfolioResponse(UUID id, UUID childId, PortfolioType portfolioType, int allocationPercentage,
+                                Money currentValue, OffsetDateTime lastUpdated) {
+
+    public static PortfolioResponse of(InvestmentPortfolio portfolio) {
+        return new PortfolioResponse(portfolio.getId(), portfolio.getChildId(), portfolio.getPortfolioType(),
+                portfolio.getAllocationPercentage(), portfolio.getCurrentValue(), portfolio.getLastUpdated());
+    }
+}
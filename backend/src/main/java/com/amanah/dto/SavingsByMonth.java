@@ -0,0 +1,13 @@
+package com.amanah.dto;
+
+import com.amanah.entity.Money;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/** Monthly savings totals for a chart, one entry per month of the range including months without activity. */
+public record SavingsByMonth(YearMonth from, YearMonth to, List<Month> months) {
+
+    public record Month(YearMonth month, Money manual, Money auto, Money total, int transactions) {
+    }
+}
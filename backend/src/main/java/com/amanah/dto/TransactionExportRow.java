@@ -0,0 +1,12 @@
+package com.amanah.dto;
+
+import com.amanah.entity.Transaction.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/** One exported ledger row; a projection, so streamed rows never enter the persistence context. */
+public record TransactionExportRow(UUID id, UUID childId, String childName, BigDecimal amount,
+                                   TransactionType type, OffsetDateTime date) {
+}
@@ -0,0 +1,17 @@
+package com.amanah.dto;
+
+import com.amanah.entity.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/** Optional filters for transaction history; {@code from} and {@code to} are inclusive UTC dates. */
+public record TransactionFilter(
+        Transaction.TransactionType type,
+        LocalDate from,
+        LocalDate to,
+        BigDecimal minAmount,
+        BigDecimal maxAmount
+) {
+    public static final TransactionFilter NONE = new TransactionFilter(null, null, null, null, null);
+}
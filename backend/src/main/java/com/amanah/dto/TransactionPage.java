@@ -0,0 +1,14 @@
+package com.amanah.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * One page of transaction history, newest first; {@code nextCursor} is null on the last page.
+ * {@code count} and {@code sum} cover every row matching the filter, not just this page; they are only
+ * computed for a first page requested with {@code totals=true} and are otherwise left out of the JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TransactionPage(List<TransactionResponse> items, String nextCursor, Long count, BigDecimal sum) {}
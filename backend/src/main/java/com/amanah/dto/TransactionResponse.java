@@ -0,0 +1,23 @@
+package com.amanah.dto;
+
+import com.amanah.entity.Transaction;
+import com.amanah.entity.Transaction.TransactionType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TransactionResponse(UUID id, UUID childId, BigDecimal amount, TransactionType type,
+                                  OffsetDateTime date) {
+
+    public static TransactionResponse of(Transaction tx) {
+        return new TransactionResponse(tx.getId(), tx.getChildId(), tx.getAmount(), tx.getType(), tx.getDate());
+    }
+
+    public static List<TransactionResponse> of(List<Transaction> transactions) {
+        return transactions.stream().map(TransactionResponse::of).toList();
+    }
+}
@@ -0,0 +1,18 @@
+package com.amanah.dto;
+
+import com.amanah.entity.User;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/** The profile as the user sees it; credentials and the Stripe customer stay server-side. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserResponse(UUID id, String fullName, String phone, String email, User.UserRole role,
+                           OffsetDateTime createdAt) {
+
+    public static UserResponse of(User user) {
+        return new UserResponse(user.getId(), user.getFullName(), user.getPhone(), user.getEmail(), user.getRole(),
+                user.getCreatedAt());
+    }
+}
@@ -0,0 +1,28 @@
+package com.amanah.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Materialized running savings balance per account (a child, or a child user's personal goal).
+ * Kept in step with {@code transactions} on every ledger write so balance reads never aggregate history.
+ */
+@Entity
+@Table(name = "child_balances")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class ChildBalance {
+
+    @Id
+    @Column(name = "child_id", columnDefinition = "uuid")
+    private UUID childId;
+
+    @Builder.Default
+    @Column(name = "balance", nullable = false, precision = 12, scale = 3)
+    private Money balance = Money.ZERO;
+
+    @Column(name = "updated_at", insertable = false, updatable = false)
+    private OffsetDateTime updatedAt;
+}
@@ -3,7 +3,6 @@ package com.amanah.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
-import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.UUID;
 
@@ -27,8 +26,9 @@ public class InvestmentPortfolio {
     @Column(name = "allocation_percentage", nullable = false)
     private int allocationPercentage;
 
-    @Column(name = "current_value", precision = 12, scale = 2)
-    private BigDecimal currentValue = BigDecimal.ZERO;
+    @Builder.Default
+    @Column(name = "current_value", precision = 12, scale = 3)
+    private Money currentValue = Money.ZERO;
 
     @Column(name = "last_updated", insertable = false, updatable = false)
     private OffsetDateTime lastUpdated;
@@ -36,12 +36,29 @@ public class InvestmentPortfolio {
     public enum PortfolioType {
         CONSERVATIVE, BALANCED, GROWTH;
 
-        public double annualRate() {
+        private static final long BASIS_POINTS = 10_000;
+        private static final long MONTHS = 12;
+
+        /** Annual rate in basis points, so monthly growth is an exact rational factor. */
+        public int annualRateBasisPoints() {
             return switch (this) {
-                case CONSERVATIVE -> 0.04;
-                case BALANCED -> 0.07;
-                case GROWTH -> 0.10;
+                case CONSERVATIVE -> 400;
+                case BALANCED -> 700;
+                case GROWTH -> 1000;
             };
         }
+
+        public double annualRate() {
+            return annualRateBasisPoints() / (double) BASIS_POINTS;
+        }
+
+        /**
+         * One month of growth at {@link #annualRate()} / 12: {@code value * (120000 + bp) / 120000},
+         * rounded once to the fil.
+         */
+        public Money applyMonthlyGrowth(Money value) {
+            long denominator = BASIS_POINTS * MONTHS;
+            return value.times(denominator + annualRateBasisPoints(), denominator, Money.LEDGER_ROUNDING);
+        }
     }
 }
@@ -0,0 +1,114 @@
+package com.amanah.entity;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An amount of Bahraini Dinar held as a {@code long} count of fils (1 BHD = 1000 fils), the same
+ * minor unit Stripe uses for BHD. Arithmetic is exact; every operation that can produce a fraction of
+ * a fil takes an explicit {@link RoundingMode}. Serialized to JSON as a plain decimal ({@code 12.345}),
+ * and persisted through {@link MoneyConverter} into {@code numeric} columns.
+ */
+public record Money(long fils) implements Comparable<Money> {
+
+    public static final int SCALE = 3;
+    public static final Money ZERO = new Money(0);
+
+    /** Rounding for ledger arithmetic (contribution split, portfolio growth). */
+    public static final RoundingMode LEDGER_ROUNDING = RoundingMode.HALF_UP;
+
+    private static final long FILS_PER_DINAR = 1000;
+
+    public static Money ofFils(long fils) {
+        return fils == 0 ? ZERO : new Money(fils);
+    }
+
+    /** Exact conversion; amounts with more than 3 decimal places are rejected, never truncated. */
+    @JsonCreator
+    public static Money of(BigDecimal amount) {
+        return of(amount, RoundingMode.UNNECESSARY);
+    }
+
+    public static Money of(BigDecimal amount, RoundingMode rounding) {
+        return ofFils(amount.setScale(SCALE, rounding).unscaledValue().longValueExact());
+    }
+
+    public static Money of(String amount) {
+        return of(new BigDecimal(amount));
+    }
+
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(fils, SCALE);
+    }
+
+    public Money plus(Money other) {
+        return ofFils(Math.addExact(fils, other.fils));
+    }
+
+    public Money minus(Money other) {
+        return ofFils(Math.subtractExact(fils, other.fils));
+    }
+
+    /** {@code this * numerator / denominator}, rounded once to the fil. */
+    public Money times(long numerator, long denominator, RoundingMode rounding) {
+        return ofFils(divide(Math.multiplyExact(fils, numerator), denominator, rounding));
+    }
+
+    public Money percent(int percentage, RoundingMode rounding) {
+        return times(percentage, 100, rounding);
+    }
+
+    /** Rounds to a multiple of {@code incrementFils}, e.g. 10 for amounts Stripe accepts in BHD. */
+    public Money roundTo(long incrementFils, RoundingMode rounding) {
+        return ofFils(Math.multiplyExact(divide(fils, incrementFils, rounding), incrementFils));
+    }
+
+    /** {@code this / other} as a plain ratio, e.g. for progress towards a target. */
+    public BigDecimal ratioTo(Money other, int scale, RoundingMode rounding) {
+        return BigDecimal.valueOf(fils).divide(BigDecimal.valueOf(other.fils), scale, rounding);
+    }
+
+    public int signum() {
+        return Long.signum(fils);
+    }
+
+    public boolean isPositive() {
+        return fils > 0;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(fils, other.fils);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    /** Integer division of {@code dividend / divisor} (divisor > 0) under {@code rounding}. */
+    static long divide(long dividend, long divisor, RoundingMode rounding) {
+        if (divisor <= 0) throw new IllegalArgumentException("divisor must be positive");
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) return quotient;
+
+        int sign = dividend < 0 ? -1 : 1;
+        long twice = Math.abs(remainder) * 2;
+        boolean awayFromZero = switch (rounding) {
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+            case DOWN -> false;
+            case UP -> true;
+            case FLOOR -> sign < 0;
+            case CEILING -> sign > 0;
+            case HALF_UP -> twice >= divisor;
+            case HALF_DOWN -> twice > divisor;
+            case HALF_EVEN -> twice > divisor || (twice == divisor && (quotient & 1) != 0);
+        };
+        return awayFromZero ? quotient + sign : quotient;
+    }
+}
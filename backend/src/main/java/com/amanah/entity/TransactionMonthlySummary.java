@@ -0,0 +1,47 @@
+package com.amanah.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Per-account, per-UTC-month, per-type totals of {@code transactions}, for savings charts. Maintained
+ * incrementally on every ledger write alongside {@link ChildBalance}; {@code month} is the first day of
+ * the month.
+ */
+@Entity
+@Table(name = "transaction_monthly_summary")
+@IdClass(TransactionMonthlySummary.Key.class)
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class TransactionMonthlySummary {
+
+    @Id
+    @Column(name = "child_id", columnDefinition = "uuid")
+    private UUID childId;
+
+    @Id
+    @Column(name = "month")
+    private LocalDate month;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type")
+    private Transaction.TransactionType type;
+
+    @Builder.Default
+    @Column(name = "amount", nullable = false, precision = 14, scale = 3)
+    private Money amount = Money.ZERO;
+
+    @Column(name = "transaction_count", nullable = false)
+    private int transactionCount;
+
+    @Column(name = "updated_at", insertable = false, updatable = false)
+    private OffsetDateTime updatedAt;
+
+    public record Key(UUID childId, LocalDate month, Transaction.TransactionType type) implements Serializable {
+    }
+}
@@ -1,5 +1,6 @@
 package com.amanah.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -32,6 +33,10 @@ public class User {
     @Column(name = "password")
     private String password;
 
+    @JsonIgnore
+    @Column(name = "stripe_customer_id")
+    private String stripeCustomerId;
+
     @Column(name = "created_at", insertable = false, updatable = false)
     private OffsetDateTime createdAt;
 
@@ -0,0 +1,28 @@
+package com.amanah.event;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Published whenever data shown on a parent's dashboard changes. Writes that only know the child
+ * (contributions, goals, portfolios) publish the child id; system-wide jobs publish {@link #all()}.
+ * The parent and child factories reject null, so only {@link #all()} clears every dashboard.
+ */
+public record DashboardInvalidationEvent(UUID parentId, UUID childId) {
+
+    public static DashboardInvalidationEvent forParent(UUID parentId) {
+        return new DashboardInvalidationEvent(Objects.requireNonNull(parentId, "parentId"), null);
+    }
+
+    public static DashboardInvalidationEvent forChild(UUID childId) {
+        return new DashboardInvalidationEvent(null, Objects.requireNonNull(childId, "childId"));
+    }
+
+    public static DashboardInvalidationEvent all() {
+        return new DashboardInvalidationEvent(null, null);
+    }
+
+    public boolean isAll() {
+        return parentId == null && childId == null;
+    }
+}
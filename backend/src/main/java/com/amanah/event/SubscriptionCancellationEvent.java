@@ -0,0 +1,10 @@
+package com.amanah.event;
+
+import java.util.List;
+
+/**
+ * Published when deleted data leaves Stripe subscriptions without a goal to fund. The subscriptions are
+ * cancelled only after the deleting transaction commits, so no DB transaction waits on Stripe.
+ */
+public record SubscriptionCancellationEvent(List<String> subscriptionIds) {
+}
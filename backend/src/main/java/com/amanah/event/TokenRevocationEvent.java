@@ -0,0 +1,10 @@
+package com.amanah.event;
+
+import java.util.UUID;
+
+/**
+ * Published when a user's account is erased. Their tokens are revoked only after the deleting transaction
+ * commits, so a rolled-back delete leaves the user signed in.
+ */
+public record TokenRevocationEvent(UUID userId) {
+}
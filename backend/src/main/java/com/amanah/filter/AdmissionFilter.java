@@ -0,0 +1,48 @@
+package com.amanah.filter;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Runs a request only while it holds a permit of the request bulkhead (see
+ * {@link com.amanah.config.AdmissionConfig}); a request that gets none within the bulkhead's wait is
+ * answered with 503 and {@code Retry-After}. Registered after the security chain, so CORS headers are
+ * already on the response. The permit covers the request's own dispatch: a streamed export returns
+ * before its body is written and is bounded by the export bulkhead instead.
+ */
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private final Bulkhead bulkhead;
+    private final String retryAfterSeconds;
+
+    public AdmissionFilter(Bulkhead requestBulkhead, Duration retryAfter) {
+        this.bulkhead = requestBulkhead;
+        this.retryAfterSeconds = String.valueOf(Math.max(1, retryAfter.toSeconds()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!bulkhead.tryAcquirePermission()) {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.setContentType("application/json");
+            response.getWriter().write("{\"error\":\"Server busy, please retry shortly\"}");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            bulkhead.onComplete();
+        }
+    }
+}
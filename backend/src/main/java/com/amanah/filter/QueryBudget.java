@@ -0,0 +1,19 @@
+package com.amanah.filter;
+
+import java.lang.annotation.*;
+
+/**
+ * Maximum number of SQL statements a request to this endpoint (or every endpoint of this controller)
+ * should run; checked by {@link QueryBudgetInterceptor}. Endpoints without one get
+ * {@code amanah.query-budget.default}.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface QueryBudget {
+
+    /** For endpoints whose work legitimately grows with the request, such as bulk imports. */
+    int UNLIMITED = Integer.MAX_VALUE;
+
+    int value();
+}
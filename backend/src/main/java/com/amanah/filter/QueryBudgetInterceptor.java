@@ -0,0 +1,86 @@
+package com.amanah.filter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Counts the SQL statements of each API request (see {@link QueryCounter}) and records them as
+ * {@code amanah.http.queries{method, uri}}. Requests that run more statements than the endpoint's
+ * {@link QueryBudget} are logged with their most repeated statement and counted as
+ * {@code amanah.http.query-budget.exceeded{method, uri}}, so a new N+1 shows up before it gets slow.
+ */
+@Slf4j
+@Component
+public class QueryBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String SCOPE_ATTRIBUTE = QueryBudgetInterceptor.class.getName() + ".scope";
+
+    private final MeterRegistry meterRegistry;
+    private final int defaultBudget;
+
+    public QueryBudgetInterceptor(MeterRegistry meterRegistry,
+                                  @Value("${amanah.query-budget.default:10}") int defaultBudget) {
+        this.meterRegistry = meterRegistry;
+        this.defaultBudget = defaultBudget;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            request.setAttribute(SCOPE_ATTRIBUTE, QueryCounter.open());
+        }
+        return true;
+    }
+
+    /** The request thread goes back to the pool; only statements run on it are counted. */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(SCOPE_ATTRIBUTE) instanceof QueryCounter.Scope scope) {
+            scope.close();
+            request.removeAttribute(SCOPE_ATTRIBUTE);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(request.getAttribute(SCOPE_ATTRIBUTE) instanceof QueryCounter.Scope scope)) return;
+        scope.close();
+        request.removeAttribute(SCOPE_ATTRIBUTE);
+
+        String method = request.getMethod();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        int count = scope.count();
+        DistributionSummary.builder("amanah.http.queries")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(count);
+
+        int budget = budget((HandlerMethod) handler);
+        if (count > budget) {
+            meterRegistry.counter("amanah.http.query-budget.exceeded", "method", method, "uri", uri).increment();
+            Map.Entry<String, Integer> repeated = scope.mostRepeated();
+            log.warn("{} {} ran {} SQL statements, budget is {}; most repeated ({}x): {}",
+                    method, uri, count, budget, repeated.getValue(), repeated.getKey());
+        }
+    }
+
+    int budget(HandlerMethod handler) {
+        QueryBudget budget = AnnotatedElementUtils.findMergedAnnotation(handler.getMethod(), QueryBudget.class);
+        if (budget == null) {
+            budget = AnnotatedElementUtils.findMergedAnnotation(handler.getBeanType(), QueryBudget.class);
+        }
+        return budget != null ? budget.value() : defaultBudget;
+    }
+}
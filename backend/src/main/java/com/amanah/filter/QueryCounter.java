@@ -0,0 +1,94 @@
+package com.amanah.filter;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts SQL statements executed on the current thread while a {@link Scope} is open. Statements are
+ * seen at the JDBC level through the datasource proxy installed by
+ * {@link com.amanah.config.QueryCountingConfig}, so JPA and {@code JdbcTemplate} queries both count;
+ * a JDBC batch counts once, as it is a single round trip.
+ *
+ * <pre>{@code
+ * try (QueryCounter.Scope scope = QueryCounter.open()) {
+ *     service.doWork();
+ *     int statements = scope.count();
+ * }
+ * }</pre>
+ *
+ * Scopes nest: a statement counts towards every open scope of the thread.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private static final QueryExecutionListener LISTENER = new QueryExecutionListener() {
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            Scope scope = CURRENT.get();
+            if (scope == null || queryInfoList.isEmpty()) return;
+            String sql = queryInfoList.get(0).getQuery();
+            for (; scope != null; scope = scope.parent) {
+                scope.record(sql);
+            }
+        }
+    };
+
+    private QueryCounter() {}
+
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    public static QueryExecutionListener listener() {
+        return LISTENER;
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private final Map<String, Integer> statements = new HashMap<>();
+        private int count;
+        private boolean closed;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        private void record(String sql) {
+            count++;
+            statements.merge(sql, 1, Integer::sum);
+        }
+
+        public int count() {
+            return count;
+        }
+
+        /** The statement run most often in this scope, with its count; the usual suspect for an N+1. */
+        public Map.Entry<String, Integer> mostRepeated() {
+            return statements.entrySet().stream().max(Map.Entry.comparingByValue()).orElse(null);
+        }
+
+        /** Stops counting; the enclosing scope, if any, becomes current again. */
+        @Override
+        public void close() {
+            if (closed) return;
+            closed = true;
+            if (CURRENT.get() == this) {
+                if (parent != null) CURRENT.set(parent);
+                else CURRENT.remove();
+            }
+        }
+    }
+}
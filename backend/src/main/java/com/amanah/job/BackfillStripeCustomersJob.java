@@ -0,0 +1,25 @@
+package com.amanah.job;
+
+import com.amanah.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills {@code users.stripe_customer_id} for parents whose subscriptions predate the mapping.
+ * Run once with {@code --amanah.jobs.backfill-stripe-customers=true}; re-running only touches unmapped parents.
+ */
+@Component
+@ConditionalOnProperty("amanah.jobs.backfill-stripe-customers")
+@RequiredArgsConstructor
+public class BackfillStripeCustomersJob implements ApplicationRunner {
+
+    private final UserService userService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        userService.backfillStripeCustomers();
+    }
+}
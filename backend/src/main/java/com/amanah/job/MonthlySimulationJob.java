@@ -0,0 +1,31 @@
+package com.amanah.job;
+
+import com.amanah.service.BatchSimulationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+
+/**
+ * One-off system-wide monthly simulation. Run with {@code --amanah.jobs.monthly-simulation=true}
+ * (optionally {@code --amanah.jobs.monthly-simulation-period=2025-01}); safe to repeat for a period.
+ */
+@Component
+@ConditionalOnProperty("amanah.jobs.monthly-simulation")
+@RequiredArgsConstructor
+public class MonthlySimulationJob implements ApplicationRunner {
+
+    private final BatchSimulationService batchSimulationService;
+
+    @Value("${amanah.jobs.monthly-simulation-period:}")
+    private String period;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        batchSimulationService.run(period.isBlank() ? YearMonth.now() : YearMonth.parse(period));
+    }
+}
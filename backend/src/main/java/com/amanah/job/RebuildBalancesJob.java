@@ -0,0 +1,25 @@
+package com.amanah.job;
+
+import com.amanah.service.BalanceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-off rebuild of {@code child_balances} from {@code transactions}.
+ * Run with {@code --amanah.jobs.rebuild-balances=true} after deploying the ledger or after manual data fixes.
+ */
+@Component
+@ConditionalOnProperty("amanah.jobs.rebuild-balances")
+@RequiredArgsConstructor
+public class RebuildBalancesJob implements ApplicationRunner {
+
+    private final BalanceService balanceService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        balanceService.rebuild();
+    }
+}
@@ -0,0 +1,25 @@
+package com.amanah.job;
+
+import com.amanah.service.MonthlySummaryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-off backfill of {@code transaction_monthly_summary} from {@code transactions}.
+ * Run with {@code --amanah.jobs.rebuild-monthly-summaries=true} after creating the table or after manual data fixes.
+ */
+@Component
+@ConditionalOnProperty("amanah.jobs.rebuild-monthly-summaries")
+@RequiredArgsConstructor
+public class RebuildMonthlySummariesJob implements ApplicationRunner {
+
+    private final MonthlySummaryService monthlySummaryService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        monthlySummaryService.rebuild();
+    }
+}
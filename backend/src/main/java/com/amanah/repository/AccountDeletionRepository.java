@@ -0,0 +1,111 @@
+package com.amanah.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Set-based erasure: each method deletes a child, a personal goal or a whole account with everything hanging
+ * off it in one statement of data-modifying CTEs, however much ledger history it holds. Every CTE sees the
+ * same snapshot and foreign keys are checked at the end of the statement, so the order of the CTEs does not
+ * matter. Each delete is an index lookup: {@code transactions_child_id_date_id_idx}, the {@code child_id}
+ * keys of the balance, summary, portfolio and directive tables, {@code goals_child_id_idx},
+ * {@code children_parent_id_idx} and {@code personal_goals_user_id_idx}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AccountDeletionRepository {
+
+    /** Deletes everything recorded against the ledger accounts in {@code accounts} and the children in {@code kids}. */
+    private static final String DEPENDENTS = """
+            ledger AS (
+                DELETE FROM transactions WHERE child_id IN (SELECT id FROM accounts)
+            ), balances AS (
+                DELETE FROM child_balances WHERE child_id IN (SELECT id FROM accounts)
+            ), summaries AS (
+                DELETE FROM transaction_monthly_summary WHERE child_id IN (SELECT id FROM accounts)
+            ), portfolios AS (
+                DELETE FROM investment_portfolios WHERE child_id IN (SELECT id FROM kids)
+            ), directives AS (
+                DELETE FROM fund_directives WHERE child_id IN (SELECT id FROM kids)
+            ), child_goals AS (
+                DELETE FROM goals WHERE child_id IN (SELECT id FROM kids) RETURNING stripe_subscription_id
+            )
+            """;
+
+    private static final String RESULT = """
+            SELECT (SELECT count(*) FROM accounts) AS accounts,
+                   ARRAY(SELECT stripe_subscription_id FROM child_goals WHERE stripe_subscription_id IS NOT NULL)
+                       AS subscriptions,
+                   (SELECT count(*) FROM account) AS users
+            """;
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    /** What a deletion removed: users, ledger accounts (children and personal goals) and the subscriptions left without a goal. */
+    public record Deleted(int users, int accounts, List<String> subscriptionIds) {}
+
+    /** Deletes the parent's child; nothing is deleted when the child does not belong to the parent. */
+    public Deleted deleteChild(UUID childId, UUID parentId) {
+        return namedJdbcTemplate.queryForObject("""
+                WITH account AS (
+                    SELECT NULL::uuid AS id WHERE false
+                ), kids AS (
+                    DELETE FROM children WHERE id = :childId AND parent_id = :parentId RETURNING id
+                ), accounts AS (
+                    SELECT id FROM kids
+                ),
+                """ + DEPENDENTS + RESULT,
+                new MapSqlParameterSource().addValue("childId", childId).addValue("parentId", parentId),
+                AccountDeletionRepository::deleted);
+    }
+
+    /** Deletes the user's personal goal; nothing is deleted when it belongs to someone else. */
+    public Deleted deletePersonalGoal(UUID goalId, UUID userId) {
+        return namedJdbcTemplate.queryForObject("""
+                WITH account AS (
+                    SELECT NULL::uuid AS id WHERE false
+                ), kids AS (
+                    SELECT NULL::uuid AS id WHERE false
+                ), accounts AS (
+                    DELETE FROM personal_goals WHERE id = :goalId AND user_id = :userId RETURNING id
+                ),
+                """ + DEPENDENTS + RESULT,
+                new MapSqlParameterSource().addValue("goalId", goalId).addValue("userId", userId),
+                AccountDeletionRepository::deleted);
+    }
+
+    /**
+     * Deletes the user with all their children, personal goals and the ledgers of both; empty when the
+     * user does not exist.
+     */
+    public Optional<Deleted> deleteAccount(UUID userId) {
+        Deleted deleted = namedJdbcTemplate.queryForObject("""
+                WITH account AS (
+                    DELETE FROM users WHERE id = :userId RETURNING id
+                ), kids AS (
+                    DELETE FROM children WHERE parent_id = :userId RETURNING id
+                ), personal AS (
+                    DELETE FROM personal_goals WHERE user_id = :userId RETURNING id
+                ), accounts AS (
+                    SELECT id FROM kids UNION ALL SELECT id FROM personal
+                ),
+                """ + DEPENDENTS + RESULT,
+                new MapSqlParameterSource().addValue("userId", userId),
+                AccountDeletionRepository::deleted);
+        return deleted.users() == 0 ? Optional.empty() : Optional.of(deleted);
+    }
+
+    private static Deleted deleted(ResultSet rs, int rowNum) throws SQLException {
+        return new Deleted(rs.getInt("users"), rs.getInt("accounts"),
+                Arrays.asList((String[]) rs.getArray("subscriptions").getArray()));
+    }
+}
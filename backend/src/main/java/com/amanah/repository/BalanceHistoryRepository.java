@@ -0,0 +1,69 @@
+package com.amanah.repository;
+
+import com.amanah.entity.Money;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * End-of-day balances of one or more accounts, computed in Postgres. Only the requested date range of
+ * {@code transactions} is read (a range scan of {@code transactions_child_id_date_id_idx}); the balance
+ * before it comes from {@code transaction_monthly_summary} plus at most one month of transactions.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BalanceHistoryRepository {
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    /** The combined balance of the accounts at the end of a UTC day with ledger activity. */
+    public record DailyBalance(LocalDate day, Money balance) {}
+
+    /**
+     * The balance carried into the range (dated the day before {@code from}), followed by one row per
+     * UTC day in {@code from}..{@code to} (inclusive) on which any of the accounts had a transaction.
+     */
+    public List<DailyBalance> findDailyBalances(Collection<UUID> accountIds, LocalDate from, LocalDate to) {
+        if (accountIds.isEmpty()) return List.of(new DailyBalance(from.minusDays(1), Money.ZERO));
+        LocalDate fromMonth = from.withDayOfMonth(1);
+        return namedJdbcTemplate.query("""
+                WITH opening AS (
+                    SELECT COALESCE((SELECT SUM(s.amount) FROM transaction_monthly_summary s
+                                     WHERE s.child_id IN (:accountIds) AND s.month < :fromMonth), 0)
+                         + COALESCE((SELECT SUM(t.amount) FROM transactions t
+                                     WHERE t.child_id IN (:accountIds) AND t.date >= :fromMonthStart AND t.date < :rangeStart), 0)
+                           AS balance
+                ), daily AS (
+                    SELECT (t.date AT TIME ZONE 'UTC')::date AS day, SUM(t.amount) AS amount
+                    FROM transactions t
+                    WHERE t.child_id IN (:accountIds) AND t.date >= :rangeStart AND t.date < :rangeEnd
+                    GROUP BY 1
+                )
+                SELECT CAST(:openingDay AS date) AS day, o.balance FROM opening o
+                UNION ALL
+                SELECT d.day, o.balance + SUM(d.amount) OVER (ORDER BY d.day) FROM daily d CROSS JOIN opening o
+                ORDER BY day
+                """,
+                new MapSqlParameterSource()
+                        .addValue("accountIds", accountIds)
+                        .addValue("openingDay", from.minusDays(1))
+                        .addValue("fromMonth", fromMonth)
+                        .addValue("fromMonthStart", startOf(fromMonth))
+                        .addValue("rangeStart", startOf(from))
+                        .addValue("rangeEnd", startOf(to.plusDays(1))),
+                (rs, i) -> new DailyBalance(rs.getObject("day", LocalDate.class),
+                        Money.of(rs.getBigDecimal("balance"), Money.LEDGER_ROUNDING)));
+    }
+
+    private static OffsetDateTime startOf(LocalDate day) {
+        return day.atStartOfDay().atOffset(ZoneOffset.UTC);
+    }
+}
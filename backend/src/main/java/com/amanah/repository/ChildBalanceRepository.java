@@ -0,0 +1,51 @@
+package com.amanah.repository;
+
+import com.amanah.entity.ChildBalance;
+import com.amanah.entity.Money;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ChildBalanceRepository extends JpaRepository<ChildBalance, UUID> {
+
+    @Query("SELECT b.balance FROM ChildBalance b WHERE b.childId = :childId")
+    Optional<Money> findBalanceByChildId(UUID childId);
+
+    List<ChildBalance> findAllByChildIdIn(Collection<UUID> childIds);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO child_balances (child_id, balance, updated_at)
+            VALUES (:childId, :delta, now())
+            ON CONFLICT (child_id)
+            DO UPDATE SET balance = child_balances.balance + EXCLUDED.balance, updated_at = now()
+            """, nativeQuery = true)
+    void addToBalance(UUID childId, BigDecimal delta);
+
+    /** Blocks ledger writers (but not readers) until the surrounding transaction ends. */
+    @Modifying
+    @Query(value = "LOCK TABLE transactions IN SHARE MODE", nativeQuery = true)
+    void lockTransactions();
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO child_balances (child_id, balance, updated_at)
+            SELECT t.child_id, SUM(t.amount), now() FROM transactions t GROUP BY t.child_id
+            ON CONFLICT (child_id)
+            DO UPDATE SET balance = EXCLUDED.balance, updated_at = now()
+            """, nativeQuery = true)
+    int rebuildFromTransactions();
+
+    @Modifying
+    @Query(value = """
+            DELETE FROM child_balances b
+            WHERE NOT EXISTS (SELECT 1 FROM transactions t WHERE t.child_id = b.child_id)
+            """, nativeQuery = true)
+    int deleteOrphans();
+}
@@ -2,12 +2,19 @@ package com.amanah.repository;
 
 import com.amanah.entity.Child;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public interface ChildRepository extends JpaRepository<Child, UUID> {
     List<Child> findAllByParentId(UUID parentId);
     Optional<Child> findByIdAndParentId(UUID id, UUID parentId);
+
+    /** The subset of {@code ids} that belong to the parent, in one query. */
+    @Query("SELECT c.id FROM Child c WHERE c.parentId = :parentId AND c.id IN :ids")
+    Set<UUID> findOwnedIds(UUID parentId, Collection<UUID> ids);
 }
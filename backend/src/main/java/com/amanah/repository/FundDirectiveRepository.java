@@ -8,5 +8,4 @@ import java.util.UUID;
 
 public interface FundDirectiveRepository extends JpaRepository<FundDirective, UUID> {
     Optional<FundDirective> findByChildId(UUID childId);
-    void deleteByChildId(UUID childId);
 }
@@ -2,12 +2,32 @@ package com.amanah.repository;
 
 import com.amanah.entity.Goal;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface GoalRepository extends JpaRepository<Goal, UUID> {
     Optional<Goal> findByChildId(UUID childId);
+    List<Goal> findAllByChildIdIn(Collection<UUID> childIds);
     Optional<Goal> findByStripeSubscriptionId(String stripeSubscriptionId);
-    void deleteByChildId(UUID childId);
+    List<Goal> findAllByStripeSubscriptionIdIn(Collection<String> stripeSubscriptionIds);
+
+    interface SubscriptionOwner {
+        UUID getParentId();
+        String getSubscriptionId();
+    }
+
+    /** Subscriptions of parents that have no Stripe customer recorded yet (for the one-time backfill). */
+    @Query(value = """
+            SELECT c.parent_id AS parentId, g.stripe_subscription_id AS subscriptionId
+            FROM goals g
+            JOIN children c ON c.id = g.child_id
+            JOIN users u ON u.id = c.parent_id
+            WHERE g.stripe_subscription_id IS NOT NULL AND u.stripe_customer_id IS NULL
+            ORDER BY c.parent_id
+            """, nativeQuery = true)
+    List<SubscriptionOwner> findSubscriptionsOfParentsWithoutCustomer();
 }
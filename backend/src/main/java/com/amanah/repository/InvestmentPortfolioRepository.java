@@ -2,13 +2,32 @@ package com.amanah.repository;
 
 import com.amanah.entity.InvestmentPortfolio;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface InvestmentPortfolioRepository extends JpaRepository<InvestmentPortfolio, UUID> {
     Optional<InvestmentPortfolio> findByChildId(UUID childId);
-    List<InvestmentPortfolio> findAllByChildIdIn(List<UUID> childIds);
-    void deleteByChildId(UUID childId);
+    List<InvestmentPortfolio> findAllByChildIdIn(Collection<UUID> childIds);
+
+    /**
+     * Sets the child's portfolio type and allocation, creating the portfolio at zero value if it has none.
+     * An existing {@code current_value} is left alone, so contributions and growth committed meanwhile are kept.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO investment_portfolios (child_id, portfolio_type, allocation_percentage, current_value)
+            VALUES (:childId, :portfolioType, :allocationPercentage, 0)
+            ON CONFLICT (child_id) DO UPDATE
+            SET portfolio_type = EXCLUDED.portfolio_type,
+                allocation_percentage = EXCLUDED.allocation_percentage,
+                last_updated = now()
+            """, nativeQuery = true)
+    int upsertAllocation(UUID childId, String portfolioType, int allocationPercentage);
 }
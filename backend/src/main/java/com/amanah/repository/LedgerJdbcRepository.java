@@ -0,0 +1,212 @@
+package com.amanah.repository;
+
+import com.amanah.entity.Money;
+import com.amanah.entity.Transaction;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * JDBC ledger writes: the single-statement {@link #contribute} and batched writes for bulk paths
+ * (batch simulation, webhook inbox, imports). Callers own the transaction; every method is one round-trip.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LedgerJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public record LedgerEntry(UUID childId, Money amount, Transaction.TransactionType type) {}
+
+    /** A ledger entry carrying the caller's reference (bank transfer id, rebate id) for de-duplication. */
+    public record ReferencedEntry(UUID childId, Money amount, Transaction.TransactionType type, String externalRef) {}
+
+    private record RefKey(UUID childId, String externalRef) {}
+
+    private record SummaryKey(UUID childId, Transaction.TransactionType type) {}
+
+    private record MonthlyDelta(Money amount, int count) {
+        MonthlyDelta plus(MonthlyDelta other) {
+            return new MonthlyDelta(amount.plus(other.amount), count + other.count);
+        }
+    }
+
+    /**
+     * Records a contribution in one statement: adds the invested share to the child's portfolio (if any),
+     * inserts the remainder as a savings transaction, credits {@code child_balances} and adds it to the
+     * month's {@code transaction_monthly_summary} row. The split rounds
+     * like {@link com.amanah.service.ContributionSplit}. The portfolio is incremented in place under its
+     * row lock, so concurrent contributions cannot overwrite each other.
+     */
+    public Transaction contribute(UUID childId, Money amount, Transaction.TransactionType type) {
+        return namedJdbcTemplate.queryForObject("""
+                WITH portfolio AS (
+                    UPDATE investment_portfolios p
+                    SET current_value = COALESCE(p.current_value, 0)
+                                        + ROUND(:amount * ROUND(p.allocation_percentage / 100.0, 4), 3),
+                        last_updated = now()
+                    WHERE p.child_id = :childId
+                    RETURNING ROUND(:amount * ROUND(p.allocation_percentage / 100.0, 4), 3) AS invested
+                ), tx AS (
+                    INSERT INTO transactions (child_id, amount, type)
+                    VALUES (:childId, :amount - COALESCE((SELECT invested FROM portfolio), 0), :type)
+                    RETURNING id, child_id, amount, date, type
+                ), balance AS (
+                    INSERT INTO child_balances (child_id, balance, updated_at)
+                    SELECT child_id, amount, now() FROM tx
+                    ON CONFLICT (child_id)
+                    DO UPDATE SET balance = child_balances.balance + EXCLUDED.balance, updated_at = now()
+                ), summary AS (
+                    INSERT INTO transaction_monthly_summary (child_id, month, type, amount, transaction_count, updated_at)
+                    SELECT child_id, date_trunc('month', date AT TIME ZONE 'UTC')::date, type::text, amount, 1, now() FROM tx
+                    ON CONFLICT (child_id, month, type)
+                    DO UPDATE SET amount = transaction_monthly_summary.amount + EXCLUDED.amount,
+                                  transaction_count = transaction_monthly_summary.transaction_count + 1,
+                                  updated_at = now()
+                )
+                SELECT id, child_id, amount, date, type FROM tx
+                """,
+                new MapSqlParameterSource()
+                        .addValue("childId", childId)
+                        .addValue("amount", amount.toBigDecimal())
+                        .addValue("type", type.name()),
+                (rs, i) -> Transaction.builder()
+                        .id(rs.getObject("id", UUID.class))
+                        .childId(rs.getObject("child_id", UUID.class))
+                        .amount(rs.getBigDecimal("amount"))
+                        .date(rs.getObject("date", OffsetDateTime.class))
+                        .type(Transaction.TransactionType.valueOf(rs.getString("type")))
+                        .build());
+    }
+
+    public void insertTransactions(List<LedgerEntry> entries) {
+        if (entries.isEmpty()) return;
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO transactions (child_id, amount, type) VALUES (?, ?, ?)",
+                entries, entries.size(),
+                (ps, entry) -> {
+                    ps.setObject(1, entry.childId());
+                    ps.setBigDecimal(2, entry.amount().toBigDecimal());
+                    ps.setString(3, entry.type().name());
+                });
+    }
+
+    /**
+     * Inserts the entries as one multi-row statement, skipping those whose {@code (childId, externalRef)}
+     * is already recorded, and returns per entry whether it was inserted. Entries must not repeat a
+     * reference among themselves. Uses RETURNING rather than batch update counts, which the driver's
+     * batch rewriting reports as {@code SUCCESS_NO_INFO}.
+     */
+    public boolean[] insertTransactionsSkippingDuplicates(List<ReferencedEntry> entries) {
+        boolean[] inserted = new boolean[entries.size()];
+        if (entries.isEmpty()) return inserted;
+        StringBuilder sql = new StringBuilder("INSERT INTO transactions (child_id, amount, type, external_ref) VALUES ");
+        List<Object> args = new ArrayList<>(entries.size() * 4);
+        for (int i = 0; i < entries.size(); i++) {
+            ReferencedEntry entry = entries.get(i);
+            sql.append(i == 0 ? "(?, ?, ?, ?)" : ", (?, ?, ?, ?)");
+            args.add(entry.childId());
+            args.add(entry.amount().toBigDecimal());
+            args.add(entry.type().name());
+            args.add(entry.externalRef());
+        }
+        sql.append(" ON CONFLICT (child_id, external_ref) WHERE external_ref IS NOT NULL DO NOTHING RETURNING child_id, external_ref");
+
+        Set<RefKey> returned = new HashSet<>(jdbcTemplate.query(sql.toString(),
+                (rs, i) -> new RefKey(rs.getObject(1, UUID.class), rs.getString(2)),
+                args.toArray()));
+        for (int i = 0; i < entries.size(); i++) {
+            ReferencedEntry entry = entries.get(i);
+            inserted[i] = entry.externalRef() == null || returned.contains(new RefKey(entry.childId(), entry.externalRef()));
+        }
+        return inserted;
+    }
+
+    /** Adds each delta to the account's {@code child_balances} row, creating it if needed. */
+    public void creditBalances(Map<UUID, Money> deltas) {
+        if (deltas.isEmpty()) return;
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO child_balances (child_id, balance, updated_at) VALUES (?, ?, now())
+                ON CONFLICT (child_id)
+                DO UPDATE SET balance = child_balances.balance + EXCLUDED.balance, updated_at = now()
+                """,
+                inLockOrder(deltas), deltas.size(),
+                (ps, e) -> {
+                    ps.setObject(1, e.getKey());
+                    ps.setBigDecimal(2, e.getValue().toBigDecimal());
+                });
+    }
+
+    /**
+     * Adds the entries to their accounts' {@code transaction_monthly_summary} rows for the current UTC month,
+     * one row per account and type. The month is taken from {@code now()}, the default of
+     * {@code transactions.date}, so it is the month the entries were inserted with in this transaction.
+     */
+    public void addToMonthlySummaries(List<LedgerEntry> entries) {
+        if (entries.isEmpty()) return;
+        Map<SummaryKey, MonthlyDelta> deltas = new TreeMap<>(
+                Comparator.comparing((SummaryKey k) -> k.childId().toString()).thenComparing(SummaryKey::type));
+        for (LedgerEntry entry : entries) {
+            deltas.merge(new SummaryKey(entry.childId(), entry.type()), new MonthlyDelta(entry.amount(), 1), MonthlyDelta::plus);
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO transaction_monthly_summary (child_id, month, type, amount, transaction_count, updated_at)
+                VALUES (?, date_trunc('month', now() AT TIME ZONE 'UTC')::date, ?, ?, ?, now())
+                ON CONFLICT (child_id, month, type)
+                DO UPDATE SET amount = transaction_monthly_summary.amount + EXCLUDED.amount,
+                              transaction_count = transaction_monthly_summary.transaction_count + EXCLUDED.transaction_count,
+                              updated_at = now()
+                """,
+                new ArrayList<>(deltas.entrySet()), deltas.size(),
+                (ps, e) -> {
+                    ps.setObject(1, e.getKey().childId());
+                    ps.setString(2, e.getKey().type().name());
+                    ps.setBigDecimal(3, e.getValue().amount().toBigDecimal());
+                    ps.setInt(4, e.getValue().count());
+                });
+    }
+
+    /** Adds each delta to the child's portfolio value in place, so concurrent writers cannot lose updates. */
+    public void incrementPortfolioValues(Map<UUID, Money> deltasByChildId) {
+        if (deltasByChildId.isEmpty()) return;
+        jdbcTemplate.batchUpdate(
+                "UPDATE investment_portfolios SET current_value = COALESCE(current_value, 0) + ?, last_updated = now() WHERE child_id = ?",
+                inLockOrder(deltasByChildId), deltasByChildId.size(),
+                (ps, e) -> {
+                    ps.setBigDecimal(1, e.getValue().toBigDecimal());
+                    ps.setObject(2, e.getKey());
+                });
+    }
+
+    /** Overwrites portfolio values; callers must hold the row locks the values were computed under. */
+    public void setPortfolioValues(Map<UUID, Money> valuesByPortfolioId) {
+        if (valuesByPortfolioId.isEmpty()) return;
+        jdbcTemplate.batchUpdate(
+                "UPDATE investment_portfolios SET current_value = ?, last_updated = now() WHERE id = ?",
+                new ArrayList<>(valuesByPortfolioId.entrySet()), valuesByPortfolioId.size(),
+                (ps, e) -> {
+                    ps.setBigDecimal(1, e.getValue().toBigDecimal());
+                    ps.setObject(2, e.getKey());
+                });
+    }
+
+    /** Rows keyed by child in Postgres uuid order, the order {@code SimulationBatchRepository} locks them in. */
+    private static List<Map.Entry<UUID, Money>> inLockOrder(Map<UUID, Money> byChildId) {
+        List<Map.Entry<UUID, Money>> entries = new ArrayList<>(byChildId.entrySet());
+        entries.sort(Comparator.comparing(e -> e.getKey().toString()));
+        return entries;
+    }
+}
@@ -0,0 +1,49 @@
+package com.amanah.repository;
+
+import com.amanah.entity.TransactionMonthlySummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface MonthlySummaryRepository extends JpaRepository<TransactionMonthlySummary, TransactionMonthlySummary.Key> {
+
+    /** Rows of the account between two month starts, inclusive; a range scan of the primary key. */
+    List<TransactionMonthlySummary> findAllByChildIdAndMonthBetweenOrderByMonth(UUID childId, LocalDate from, LocalDate to);
+
+    /** A range scan of the primary key: at most two rows per month of activity. */
+    @Query(value = "SELECT COALESCE(SUM(transaction_count), 0) FROM transaction_monthly_summary WHERE child_id = :childId",
+            nativeQuery = true)
+    long countTransactions(UUID childId);
+
+    /** Adds one transaction written in the current transaction; see {@link LedgerJdbcRepository#addToMonthlySummaries}. */
+    @Modifying
+    @Query(value = """
+            INSERT INTO transaction_monthly_summary (child_id, month, type, amount, transaction_count, updated_at)
+            VALUES (:childId, date_trunc('month', now() AT TIME ZONE 'UTC')::date, :type, :amount, 1, now())
+            ON CONFLICT (child_id, month, type)
+            DO UPDATE SET amount = transaction_monthly_summary.amount + EXCLUDED.amount,
+                          transaction_count = transaction_monthly_summary.transaction_count + 1,
+                          updated_at = now()
+            """, nativeQuery = true)
+    void addTransaction(UUID childId, String type, BigDecimal amount);
+
+    @Modifying
+    @Query(value = "DELETE FROM transaction_monthly_summary", nativeQuery = true)
+    int deleteAllRows();
+
+    /** Callers must hold {@link ChildBalanceRepository#lockTransactions} so no write lands in between. */
+    @Modifying
+    @Query(value = """
+            INSERT INTO transaction_monthly_summary (child_id, month, type, amount, transaction_count, updated_at)
+            SELECT t.child_id, date_trunc('month', t.date AT TIME ZONE 'UTC')::date, t.type::text, SUM(t.amount), COUNT(*), now()
+            FROM transactions t
+            WHERE t.date IS NOT NULL
+            GROUP BY 1, 2, 3
+            """, nativeQuery = true)
+    int insertFromTransactions();
+}
@@ -0,0 +1,103 @@
+package com.amanah.repository;
+
+import com.amanah.entity.InvestmentPortfolio;
+import com.amanah.entity.Money;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keyset-paged reads and row claims for {@link com.amanah.service.BatchSimulationService}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SimulationBatchRepository {
+
+    public static final UUID FIRST_KEY = new UUID(0, 0);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record ActiveGoalRow(UUID goalId, UUID childId, Money monthlyContribution) {}
+
+    public record PortfolioRow(UUID id, UUID childId, InvestmentPortfolio.PortfolioType portfolioType,
+                               int allocationPercentage, Money currentValue) {}
+
+    /** Next page of unpaused, funded goals not yet simulated for {@code period}, in primary-key order. */
+    public List<ActiveGoalRow> findPendingGoalsAfter(UUID afterId, LocalDate period, int limit) {
+        return jdbcTemplate.query("""
+                SELECT g.id, g.child_id, g.monthly_contribution FROM goals g
+                WHERE g.id > ?
+                  AND g.child_id IS NOT NULL
+                  AND COALESCE(g.is_paused, false) = false
+                  AND g.monthly_contribution > 0
+                  AND (g.last_simulated_period IS NULL OR g.last_simulated_period < ?)
+                ORDER BY g.id
+                LIMIT ?
+                """,
+                (rs, i) -> new ActiveGoalRow(
+                        rs.getObject(1, UUID.class),
+                        rs.getObject(2, UUID.class),
+                        money(rs.getBigDecimal(3))),
+                afterId, Date.valueOf(period), limit);
+    }
+
+    /**
+     * Marks the goals as simulated for {@code period} and returns the ids this caller won.
+     * The row locks taken here make concurrent or repeated runs for the same period no-ops.
+     */
+    public Set<UUID> claimGoals(Collection<UUID> goalIds, LocalDate period) {
+        List<UUID> claimed = jdbcTemplate.query("""
+                UPDATE goals SET last_simulated_period = ?
+                WHERE id = ANY(?)
+                  AND (last_simulated_period IS NULL OR last_simulated_period < ?)
+                RETURNING id
+                """,
+                ps -> {
+                    ps.setDate(1, Date.valueOf(period));
+                    ps.setArray(2, uuidArray(ps.getConnection(), goalIds));
+                    ps.setDate(3, Date.valueOf(period));
+                },
+                (rs, i) -> rs.getObject(1, UUID.class));
+        return new HashSet<>(claimed);
+    }
+
+    /** Loads and row-locks the portfolios of the given children, in a stable order to avoid deadlocks. */
+    public List<PortfolioRow> lockPortfolios(Collection<UUID> childIds) {
+        return jdbcTemplate.query("""
+                SELECT id, child_id, portfolio_type, allocation_percentage, current_value
+                FROM investment_portfolios
+                WHERE child_id = ANY(?)
+                ORDER BY child_id
+                FOR UPDATE
+                """,
+                ps -> ps.setArray(1, uuidArray(ps.getConnection(), childIds)),
+                (rs, i) -> new PortfolioRow(
+                        rs.getObject(1, UUID.class),
+                        rs.getObject(2, UUID.class),
+                        InvestmentPortfolio.PortfolioType.valueOf(rs.getString(3)),
+                        rs.getInt(4),
+                        money(rs.getBigDecimal(5))));
+    }
+
+    /** Ledger numerics as {@link Money}, rounded like {@link com.amanah.entity.MoneyConverter}; NULL reads as zero. */
+    static Money money(BigDecimal value) {
+        return value != null ? Money.of(value, RoundingMode.HALF_UP) : Money.ZERO;
+    }
+
+    static Array uuidArray(Connection connection, Collection<UUID> ids) throws SQLException {
+        return connection.createArrayOf("uuid", ids.toArray());
+    }
+}
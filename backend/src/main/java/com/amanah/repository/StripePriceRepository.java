@@ -0,0 +1,41 @@
+package com.amanah.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Local copy of the recurring prices we created in Stripe, one per {@code (currency, unit_amount, interval)}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StripePriceRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record PriceRow(String currency, long unitAmount, String interval, String priceId) {}
+
+    public List<PriceRow> findAll() {
+        return jdbcTemplate.query(
+                "SELECT currency, unit_amount, interval, price_id FROM stripe_prices",
+                (rs, i) -> new PriceRow(rs.getString(1), rs.getLong(2), rs.getString(3), rs.getString(4)));
+    }
+
+    public Optional<String> findPriceId(String currency, long unitAmount, String interval) {
+        return jdbcTemplate.query(
+                "SELECT price_id FROM stripe_prices WHERE currency = ? AND unit_amount = ? AND interval = ?",
+                (rs, i) -> rs.getString(1), currency, unitAmount, interval).stream().findFirst();
+    }
+
+    /** Records a price unless the key is already mapped; returns the price id stored for the key either way. */
+    public String saveIfAbsent(PriceRow row) {
+        jdbcTemplate.update("""
+                INSERT INTO stripe_prices (currency, unit_amount, interval, price_id) VALUES (?, ?, ?, ?)
+                ON CONFLICT DO NOTHING
+                """, row.currency(), row.unitAmount(), row.interval(), row.priceId());
+        return findPriceId(row.currency(), row.unitAmount(), row.interval()).orElse(row.priceId());
+    }
+}
@@ -1,22 +1,62 @@
 package com.amanah.repository;
 
+import com.amanah.dto.TransactionExportRow;
 import com.amanah.entity.Transaction;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.jpa.repository.QueryHints;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface TransactionRepository extends JpaRepository<Transaction, UUID> {
-    List<Transaction> findAllByChildIdOrderByDateDesc(UUID childId);
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
-    @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t WHERE t.childId = :childId")
-    BigDecimal sumByChildId(UUID childId);
+public interface TransactionRepository extends JpaRepository<Transaction, UUID>,
+        JpaSpecificationExecutor<Transaction>, TransactionTotalsRepository {
 
-    @Modifying
-    @Transactional
-    void deleteAllByChildId(UUID childId);
+    /**
+     * The newest {@code perGoal} transactions of every personal goal owned by the user, in one round-trip.
+     * Each lateral subquery is a bounded scan of {@code transactions_child_id_date_id_idx}.
+     */
+    @Query(value = """
+            SELECT t.id, t.child_id, t.amount, t.type, t.date
+            FROM personal_goals g
+            CROSS JOIN LATERAL (
+                SELECT tx.id, tx.child_id, tx.amount, tx.type, tx.date FROM transactions tx
+                WHERE tx.child_id = g.id
+                ORDER BY tx.date DESC, tx.id DESC
+                LIMIT :perGoal
+            ) t
+            WHERE g.user_id = :userId
+            ORDER BY t.child_id, t.date DESC, t.id DESC
+            """, nativeQuery = true)
+    List<Transaction> findRecentForPersonalGoals(UUID userId, int perGoal);
+
+    /**
+     * Every transaction of the child, oldest first, read through a forward-only cursor 1000 rows at a
+     * time. Must be consumed, and closed, inside a transaction: Postgres only keeps a cursor open while
+     * auto-commit is off.
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("""
+            SELECT new com.amanah.dto.TransactionExportRow(t.id, t.childId, c.name, t.amount, t.type, t.date)
+            FROM Transaction t JOIN Child c ON c.id = t.childId
+            WHERE t.childId = :childId
+            ORDER BY t.date, t.id
+            """)
+    Stream<TransactionExportRow> streamForExportByChild(UUID childId);
+
+    /** As {@link #streamForExportByChild}, for all of the parent's children, grouped by child. */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("""
+            SELECT new com.amanah.dto.TransactionExportRow(t.id, t.childId, c.name, t.amount, t.type, t.date)
+            FROM Transaction t JOIN Child c ON c.id = t.childId
+            WHERE c.parentId = :parentId
+            ORDER BY t.childId, t.date, t.id
+            """)
+    Stream<TransactionExportRow> streamForExportByParent(UUID parentId);
 }
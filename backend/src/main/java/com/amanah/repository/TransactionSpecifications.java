@@ -0,0 +1,56 @@
+package com.amanah.repository;
+
+import com.amanah.dto.TransactionFilter;
+import com.amanah.entity.Transaction;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Criteria for transaction history. All of them are range predicates on
+ * {@code transactions_child_id_date_id_idx} so pages and totals are index scans.
+ */
+public final class TransactionSpecifications {
+
+    private TransactionSpecifications() {}
+
+    public static Specification<Transaction> forAccount(UUID childId) {
+        return (root, query, cb) -> cb.equal(root.get("childId"), childId);
+    }
+
+    public static Specification<Transaction> matching(TransactionFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.type() != null) {
+                predicates.add(cb.equal(root.get("type"), filter.type()));
+            }
+            if (filter.from() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("date"),
+                        filter.from().atStartOfDay().atOffset(ZoneOffset.UTC)));
+            }
+            if (filter.to() != null) {
+                predicates.add(cb.lessThan(root.get("date"),
+                        filter.to().plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC)));
+            }
+            if (filter.minAmount() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("amount"), filter.minAmount()));
+            }
+            if (filter.maxAmount() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("amount"), filter.maxAmount()));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /** Rows strictly after the cursor position in {@code (date DESC, id DESC)} order. */
+    public static Specification<Transaction> before(OffsetDateTime date, UUID id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("date"), date),
+                cb.and(cb.equal(root.get("date"), date), cb.lessThan(root.<UUID>get("id"), id)));
+    }
+}
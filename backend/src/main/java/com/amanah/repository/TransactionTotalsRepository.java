@@ -0,0 +1,14 @@
+package com.amanah.repository;
+
+import com.amanah.entity.Transaction;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+
+/** Aggregate queries over a transaction {@link Specification}; mixed into {@link TransactionRepository}. */
+public interface TransactionTotalsRepository {
+
+    record Totals(long count, BigDecimal sum) {}
+
+    Totals totals(Specification<Transaction> spec);
+}
@@ -0,0 +1,31 @@
+package com.amanah.repository;
+
+import com.amanah.entity.Transaction;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+
+class TransactionTotalsRepositoryImpl implements TransactionTotalsRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Totals totals(Specification<Transaction> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Transaction> root = query.from(Transaction.class);
+        query.multiselect(
+                cb.count(root),
+                cb.coalesce(cb.sum(root.<BigDecimal>get("amount")), BigDecimal.ZERO));
+        query.where(spec.toPredicate(root, query, cb));
+        Tuple row = entityManager.createQuery(query).getSingleResult();
+        return new Totals(row.get(0, Long.class), row.get(1, BigDecimal.class));
+    }
+}
@@ -2,10 +2,22 @@ package com.amanah.repository;
 
 import com.amanah.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 import java.util.UUID;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(String email);
+
+    /** Stores the customer only if none is mapped yet; returns 0 when another request won the race. */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.stripeCustomerId = :customerId WHERE u.id = :id AND u.stripeCustomerId IS NULL")
+    int assignStripeCustomerIfAbsent(UUID id, String customerId);
+
+    @Query("SELECT u.stripeCustomerId FROM User u WHERE u.id = :id")
+    Optional<String> findStripeCustomerId(UUID id);
 }
@@ -0,0 +1,72 @@
+package com.amanah.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The {@code stripe_webhook_events} inbox. Rows move PENDING → PROCESSING → DONE, or to DEAD once they
+ * run out of attempts. A PROCESSING row whose lease ({@code next_attempt_at}) has passed belongs to a
+ * worker that died mid-batch and is claimable again.
+ */
+@Repository
+@RequiredArgsConstructor
+public class WebhookInboxRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record InboxEvent(String eventId, String type, String payload, int attempts) {}
+
+    /** Stores a verified event; returns false when Stripe is redelivering an event we already hold. */
+    public boolean enqueue(String eventId, String type, String payload) {
+        return jdbcTemplate.update("""
+                INSERT INTO stripe_webhook_events (event_id, type, payload) VALUES (?, ?, ?)
+                ON CONFLICT (event_id) DO NOTHING
+                """, eventId, type, payload) == 1;
+    }
+
+    /**
+     * Leases up to {@code limit} due events, oldest first. SKIP LOCKED lets concurrent workers (and
+     * instances) claim disjoint batches without waiting on each other.
+     */
+    public List<InboxEvent> claimDue(int limit, Duration lease) {
+        return jdbcTemplate.query("""
+                UPDATE stripe_webhook_events e
+                SET status = 'PROCESSING', attempts = e.attempts + 1, next_attempt_at = now() + ?::interval
+                WHERE e.event_id IN (
+                    SELECT event_id FROM stripe_webhook_events
+                    WHERE status IN ('PENDING', 'PROCESSING') AND next_attempt_at <= now()
+                    ORDER BY next_attempt_at
+                    LIMIT ?
+                    FOR UPDATE SKIP LOCKED)
+                RETURNING e.event_id, e.type, e.payload, e.attempts
+                """,
+                (rs, i) -> new InboxEvent(rs.getString(1), rs.getString(2), rs.getString(3), rs.getInt(4)),
+                lease.toSeconds() + " seconds", limit);
+    }
+
+    public void markDone(Collection<String> eventIds) {
+        if (eventIds.isEmpty()) return;
+        jdbcTemplate.batchUpdate(
+                "UPDATE stripe_webhook_events SET status = 'DONE', processed_at = now(), last_error = NULL WHERE event_id = ?",
+                eventIds.stream().map(id -> new Object[]{id}).toList());
+    }
+
+    public void scheduleRetry(String eventId, Instant nextAttemptAt, String error) {
+        jdbcTemplate.update(
+                "UPDATE stripe_webhook_events SET status = 'PENDING', next_attempt_at = ?, last_error = ? WHERE event_id = ?",
+                Timestamp.from(nextAttemptAt), error, eventId);
+    }
+
+    public void markDead(String eventId, String error) {
+        jdbcTemplate.update(
+                "UPDATE stripe_webhook_events SET status = 'DEAD', processed_at = now(), last_error = ? WHERE event_id = ?",
+                error, eventId);
+    }
+}
@@ -0,0 +1,68 @@
+package com.amanah.service;
+
+import com.amanah.dto.BalanceHistory;
+import com.amanah.entity.Money;
+import com.amanah.repository.BalanceHistoryRepository;
+import com.amanah.repository.BalanceHistoryRepository.DailyBalance;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Balance-over-time series for charts. Postgres returns one running balance per day with activity (see
+ * {@link BalanceHistoryRepository}), and {@link Lttb} reduces that to the requested number of points. The
+ * payload is bounded by {@code points} and the query by the days in range, however many transactions the
+ * accounts hold.
+ */
+@Service
+@RequiredArgsConstructor
+public class BalanceHistoryService {
+
+    public static final int DEFAULT_POINTS = 200;
+    public static final int MIN_POINTS = 3;
+    public static final int MAX_POINTS = 2000;
+
+    private final BalanceHistoryRepository historyRepository;
+
+    /**
+     * The combined balance of the accounts from {@code from} (default: their first transaction) to {@code to}
+     * (default: today, UTC). With an explicit {@code from} the line starts at the balance carried into the range.
+     * It always runs on to {@code to}.
+     */
+    public BalanceHistory history(Collection<UUID> accountIds, LocalDate from, LocalDate to, Integer points) {
+        LocalDate end = to != null ? to : LocalDate.now(ZoneOffset.UTC);
+        LocalDate start = from != null ? from : LocalDate.EPOCH;
+        if (start.isAfter(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to");
+        }
+        int target = points == null ? DEFAULT_POINTS : Math.max(MIN_POINTS, Math.min(points, MAX_POINTS));
+
+        List<DailyBalance> rows = historyRepository.findDailyBalances(accountIds, start, end);
+        Money opening = rows.get(0).balance();
+        List<DailyBalance> daily = rows.subList(1, rows.size());
+
+        List<DailyBalance> series = new ArrayList<>(daily.size() + 2);
+        if (from != null && (daily.isEmpty() || daily.get(0).day().isAfter(from))) {
+            series.add(new DailyBalance(from, opening));
+        }
+        series.addAll(daily);
+        if (!series.isEmpty() && series.get(series.size() - 1).day().isBefore(end)) {
+            series.add(new DailyBalance(end, series.get(series.size() - 1).balance()));
+        }
+
+        List<BalanceHistory.Point> sampled = Lttb.downsample(series, target,
+                        p -> p.day().toEpochDay(), p -> p.balance().fils())
+                .stream()
+                .map(p -> new BalanceHistory.Point(p.day(), p.balance()))
+                .toList();
+        return new BalanceHistory(series.isEmpty() ? end : series.get(0).day(), end, series.size(), sampled);
+    }
+}
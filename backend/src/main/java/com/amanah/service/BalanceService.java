@@ -0,0 +1,59 @@
+package com.amanah.service;
+
+import com.amanah.entity.ChildBalance;
+import com.amanah.entity.Money;
+import com.amanah.repository.ChildBalanceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reads and maintains the {@code child_balances} ledger. Every write to {@code transactions}
+ * must go through {@link #credit} in the same database transaction.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BalanceService {
+
+    private final ChildBalanceRepository balanceRepository;
+
+    public Money getBalance(UUID childId) {
+        return balanceRepository.findBalanceByChildId(childId).orElse(Money.ZERO);
+    }
+
+    /** Balances for every requested id; ids without ledger activity map to zero. */
+    public Map<UUID, Money> getBalances(Collection<UUID> childIds) {
+        Map<UUID, Money> balances = new HashMap<>();
+        if (childIds.isEmpty()) return balances;
+        for (ChildBalance b : balanceRepository.findAllByChildIdIn(childIds)) {
+            balances.put(b.getChildId(), b.getBalance());
+        }
+        for (UUID id : childIds) {
+            balances.putIfAbsent(id, Money.ZERO);
+        }
+        return balances;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void credit(UUID childId, Money amount) {
+        balanceRepository.addToBalance(childId, amount.toBigDecimal());
+    }
+
+    /** Recomputes every balance from {@code transactions}; ledger writers wait until it commits. */
+    @Transactional
+    public int rebuild() {
+        balanceRepository.lockTransactions();
+        int rows = balanceRepository.rebuildFromTransactions();
+        int orphans = balanceRepository.deleteOrphans();
+        log.info("Rebuilt {} child balances ({} orphaned rows removed)", rows, orphans);
+        return rows;
+    }
+}
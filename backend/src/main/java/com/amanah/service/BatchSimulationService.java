@@ -0,0 +1,171 @@
+package com.amanah.service;
+
+import com.amanah.config.Threads;
+import com.amanah.entity.Money;
+import com.amanah.entity.Transaction;
+import com.amanah.event.DashboardInvalidationEvent;
+import com.amanah.repository.LedgerJdbcRepository;
+import com.amanah.repository.LedgerJdbcRepository.LedgerEntry;
+import com.amanah.repository.SimulationBatchRepository;
+import com.amanah.repository.SimulationBatchRepository.ActiveGoalRow;
+import com.amanah.repository.SimulationBatchRepository.PortfolioRow;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * System-wide monthly cycle: every active goal gets its monthly contribution (split per
+ * {@link ContributionSplit}) followed by one month of portfolio growth.
+ *
+ * <p>Goals are read in keyset-paged chunks on the calling thread; each chunk is claimed, computed in
+ * memory and written with JDBC batches in its own transaction on a bounded worker pool. Claiming sets
+ * {@code goals.last_simulated_period}, so re-running a period (after a crash or overlap) only picks up
+ * goals that have not been processed yet.
+ *
+ * <p>Each run is timed as {@code amanah.simulation.runs{scope=system, outcome}}, with processed goals and
+ * failed chunks counted as {@code amanah.simulation.goals} and {@code amanah.simulation.failed-chunks}.
+ */
+@Slf4j
+@Service
+public class BatchSimulationService {
+
+    private final SimulationBatchRepository batchRepository;
+    private final LedgerJdbcRepository ledgerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final int pageSize;
+    private final int workers;
+    private final boolean virtualThreads;
+
+    public BatchSimulationService(SimulationBatchRepository batchRepository,
+                                  LedgerJdbcRepository ledgerRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  ApplicationEventPublisher eventPublisher,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${amanah.simulation.batch.page-size:1000}") int pageSize,
+                                  @Value("${amanah.simulation.batch.workers:4}") int workers,
+                                  @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.batchRepository = batchRepository;
+        this.ledgerRepository = ledgerRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.pageSize = pageSize;
+        this.workers = workers;
+        this.virtualThreads = virtualThreads;
+    }
+
+    public record Result(YearMonth period, int goalsProcessed, int chunks, int failedChunks, Duration elapsed) {}
+
+    /** Chunk output: one AUTO transaction per goal, balance deltas per child, new value per portfolio. */
+    record ChunkPlan(List<LedgerEntry> entries, Map<UUID, Money> balanceDeltas,
+                     Map<UUID, Money> portfolioValues) {}
+
+    @Scheduled(cron = "${amanah.simulation.batch.cron:-}")
+    public void runScheduled() {
+        run(YearMonth.now());
+    }
+
+    public Result run(YearMonth period) {
+        long start = System.nanoTime();
+        LocalDate periodStart = period.atDay(1);
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workers * 2), Threads.factory("monthly-simulation-", virtualThreads),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        List<Future<Integer>> futures = new ArrayList<>();
+        try {
+            UUID lastId = SimulationBatchRepository.FIRST_KEY;
+            while (true) {
+                List<ActiveGoalRow> page = batchRepository.findPendingGoalsAfter(lastId, periodStart, pageSize);
+                if (page.isEmpty()) break;
+                lastId = page.get(page.size() - 1).goalId();
+                futures.add(pool.submit(() -> processChunk(page, periodStart)));
+                if (page.size() < pageSize) break;
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        int processed = 0;
+        int failed = 0;
+        for (Future<Integer> future : futures) {
+            try {
+                processed += future.get();
+            } catch (ExecutionException e) {
+                failed++;
+                log.error("Monthly simulation chunk failed for {}", period, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for simulation chunks", e);
+            }
+        }
+
+        eventPublisher.publishEvent(DashboardInvalidationEvent.all());
+        Result result = new Result(period, processed, futures.size(), failed,
+                Duration.ofNanos(System.nanoTime() - start));
+        meterRegistry.counter("amanah.simulation.goals", "scope", "system").increment(processed);
+        meterRegistry.counter("amanah.simulation.failed-chunks", "scope", "system").increment(failed);
+        meterRegistry.timer("amanah.simulation.runs", "scope", "system", "outcome", failed == 0 ? "success" : "partial")
+                .record(result.elapsed());
+        log.info("Monthly simulation {}: {} goals in {} chunks ({} failed) in {} ms",
+                period, processed, result.chunks(), failed, result.elapsed().toMillis());
+        return result;
+    }
+
+    private int processChunk(List<ActiveGoalRow> page, LocalDate periodStart) {
+        Integer count = transactionTemplate.execute(status -> {
+            Set<UUID> claimed = batchRepository.claimGoals(page.stream().map(ActiveGoalRow::goalId).toList(), periodStart);
+            List<ActiveGoalRow> goals = page.stream().filter(g -> claimed.contains(g.goalId())).toList();
+            if (goals.isEmpty()) return 0;
+
+            Set<UUID> childIds = new HashSet<>();
+            goals.forEach(g -> childIds.add(g.childId()));
+            ChunkPlan plan = plan(goals, batchRepository.lockPortfolios(childIds));
+
+            ledgerRepository.insertTransactions(plan.entries());
+            ledgerRepository.creditBalances(plan.balanceDeltas());
+            ledgerRepository.addToMonthlySummaries(plan.entries());
+            ledgerRepository.setPortfolioValues(plan.portfolioValues());
+            return goals.size();
+        });
+        return count != null ? count : 0;
+    }
+
+    /** Pure in-memory month for a chunk; mirrors contribute-then-grow in {@link SimulationService}. */
+    static ChunkPlan plan(List<ActiveGoalRow> goals, List<PortfolioRow> portfolios) {
+        Map<UUID, PortfolioRow> portfolioByChild = new HashMap<>();
+        Map<UUID, Money> values = new HashMap<>();
+        for (PortfolioRow p : portfolios) {
+            portfolioByChild.put(p.childId(), p);
+            values.put(p.id(), p.currentValue());
+        }
+
+        List<LedgerEntry> entries = new ArrayList<>(goals.size());
+        Map<UUID, Money> balanceDeltas = new HashMap<>();
+        for (ActiveGoalRow goal : goals) {
+            PortfolioRow portfolio = portfolioByChild.get(goal.childId());
+            ContributionSplit split;
+            if (portfolio != null) {
+                split = ContributionSplit.of(goal.monthlyContribution(), portfolio.allocationPercentage());
+                Money funded = values.get(portfolio.id()).plus(split.invested());
+                values.put(portfolio.id(), portfolio.portfolioType().applyMonthlyGrowth(funded));
+            } else {
+                split = ContributionSplit.savingsOnly(goal.monthlyContribution());
+            }
+            entries.add(new LedgerEntry(goal.childId(), split.savings(), Transaction.TransactionType.AUTO));
+            balanceDeltas.merge(goal.childId(), split.savings(), Money::plus);
+        }
+        return new ChunkPlan(entries, balanceDeltas, values);
+    }
+}
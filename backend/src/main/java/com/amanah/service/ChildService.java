@@ -1,8 +1,12 @@
 package com.amanah.service;
 
 import com.amanah.entity.Child;
-import com.amanah.repository.*;
+import com.amanah.event.DashboardInvalidationEvent;
+import com.amanah.event.SubscriptionCancellationEvent;
+import com.amanah.repository.AccountDeletionRepository;
+import com.amanah.repository.ChildRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,11 +18,8 @@ import java.util.UUID;
 public class ChildService {
 
     private final ChildRepository childRepository;
-    private final TransactionRepository transactionRepository;
-    private final InvestmentPortfolioRepository investmentPortfolioRepository;
-    private final FundDirectiveRepository fundDirectiveRepository;
-    private final GoalRepository goalRepository;
-    private final StripeService stripeService;
+    private final AccountDeletionRepository accountDeletionRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<Child> getChildren(UUID parentId) {
         return childRepository.findAllByParentId(parentId);
@@ -36,7 +37,9 @@ public class ChildService {
                 .dateOfBirth(dob)
                 .photoUrl(photoUrl)
                 .build();
-        return childRepository.save(child);
+        Child saved = childRepository.save(child);
+        eventPublisher.publishEvent(DashboardInvalidationEvent.forParent(parentId));
+        return saved;
     }
 
     public Child updateChild(UUID id, UUID parentId, String name, java.time.LocalDate dob, String photoUrl) {
@@ -44,31 +47,22 @@ public class ChildService {
         child.setName(name);
         child.setDateOfBirth(dob);
         child.setPhotoUrl(photoUrl);
-        return childRepository.save(child);
+        Child saved = childRepository.save(child);
+        eventPublisher.publishEvent(DashboardInvalidationEvent.forParent(parentId));
+        return saved;
     }
 
+    /**
+     * Deletes the child with its ledger, portfolio, directive and goal in one statement (see
+     * {@link AccountDeletionRepository}); the goal's Stripe subscription is cancelled once the delete has committed.
+     */
     @Transactional
     public void deleteChild(UUID id, UUID parentId) {
-        Child child = getChild(id, parentId);
-
-        // 1. Delete transactions
-        transactionRepository.deleteAllByChildId(id);
-
-        // 2. Delete investment portfolio
-        investmentPortfolioRepository.deleteByChildId(id);
-
-        // 3. Delete fund directive
-        fundDirectiveRepository.deleteByChildId(id);
-
-        // 4. Cancel Stripe subscription if present, then delete the goal
-        goalRepository.findByChildId(id).ifPresent(goal -> {
-            if (goal.getStripeSubscriptionId() != null) {
-                stripeService.cancelSubscription(goal.getStripeSubscriptionId());
-            }
-        });
-        goalRepository.deleteByChildId(id);
-
-        // 5. Delete the child
-        childRepository.delete(child);
+        AccountDeletionRepository.Deleted deleted = accountDeletionRepository.deleteChild(id, parentId);
+        if (deleted.accounts() == 0) throw new RuntimeException("Child not found");
+        if (!deleted.subscriptionIds().isEmpty()) {
+            eventPublisher.publishEvent(new SubscriptionCancellationEvent(deleted.subscriptionIds()));
+        }
+        eventPublisher.publishEvent(DashboardInvalidationEvent.forParent(parentId));
     }
 }
@@ -0,0 +1,331 @@
+package com.amanah.service;
+
+import com.amanah.dto.ImportResult;
+import com.amanah.entity.InvestmentPortfolio;
+import com.amanah.entity.Money;
+import com.amanah.entity.Transaction;
+import com.amanah.event.DashboardInvalidationEvent;
+import com.amanah.repository.ChildRepository;
+import com.amanah.repository.InvestmentPortfolioRepository;
+import com.amanah.repository.LedgerJdbcRepository;
+import com.amanah.repository.LedgerJdbcRepository.LedgerEntry;
+import com.amanah.repository.LedgerJdbcRepository.ReferencedEntry;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Bulk contribution import from NDJSON or CSV ({@code childId, amount, type, externalRef}).
+ *
+ * <p>The body is read line by line and processed in chunks: ownership and portfolio allocation are
+ * loaded once per distinct child, each row is split per {@link ContributionSplit} in memory, and a chunk
+ * is written in its own transaction as one multi-row transaction insert plus batched balance and
+ * portfolio increments. Rows whose {@code externalRef} was already imported for the child are skipped,
+ * so a file can be re-submitted after a partial failure.
+ */
+@Slf4j
+@Service
+public class ContributionImportService {
+
+    public enum Format { NDJSON, CSV }
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int MAX_EXTERNAL_REF_LENGTH = 200;
+
+    private final ChildRepository childRepository;
+    private final InvestmentPortfolioRepository portfolioRepository;
+    private final LedgerJdbcRepository ledgerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectReader jsonReader;
+    private final int chunkSize;
+    private final int maxRows;
+
+    public ContributionImportService(ChildRepository childRepository,
+                                     InvestmentPortfolioRepository portfolioRepository,
+                                     LedgerJdbcRepository ledgerRepository,
+                                     TransactionTemplate transactionTemplate,
+                                     ApplicationEventPublisher eventPublisher,
+                                     ObjectMapper objectMapper,
+                                     @Value("${amanah.import.chunk-size:1000}") int chunkSize,
+                                     @Value("${amanah.import.max-rows:100000}") int maxRows) {
+        this.childRepository = childRepository;
+        this.portfolioRepository = portfolioRepository;
+        this.ledgerRepository = ledgerRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.jsonReader = objectMapper.reader().with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+        // Four bind parameters per row; Postgres allows 32767 per statement
+        this.chunkSize = Math.min(chunkSize, 8000);
+        this.maxRows = maxRows;
+    }
+
+    /** A parsed, validated row awaiting its chunk. */
+    record Row(long line, UUID childId, Money amount, Transaction.TransactionType type, String externalRef) {}
+
+    private record RefKey(UUID childId, String externalRef) {}
+
+    /** Per-import state: what has been checked so far and the running tallies. */
+    private final class Run {
+        final UUID parentId;
+        final Set<UUID> owned = new HashSet<>();
+        final Set<UUID> notOwned = new HashSet<>();
+        final Map<UUID, Integer> allocationByChild = new HashMap<>();
+        final Set<RefKey> seenRefs = new HashSet<>();
+        final List<ImportResult.RowError> errors = new ArrayList<>();
+        int rows;
+        int imported;
+        int duplicates;
+        int failed;
+
+        Run(UUID parentId) {
+            this.parentId = parentId;
+        }
+
+        void reject(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportResult.RowError(line, message));
+            }
+        }
+    }
+
+    public ImportResult importContributions(UUID parentId, Reader body, Format format) {
+        Run run = new Run(parentId);
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        try (BufferedReader reader = new BufferedReader(body)) {
+            String[] header = format == Format.CSV ? csvHeader(reader.readLine()) : null;
+            long line = format == Format.CSV ? 1 : 0;
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (text.isBlank()) continue;
+                if (++run.rows > maxRows) {
+                    run.rows--;
+                    run.reject(line, "Import is limited to " + maxRows + " rows; remaining lines were not read");
+                    break;
+                }
+                try {
+                    Row row = format == Format.CSV ? parseCsv(line, header, text) : parseJson(line, text);
+                    if (row.externalRef() != null && !run.seenRefs.add(new RefKey(row.childId(), row.externalRef()))) {
+                        run.reject(line, "Duplicate externalRef " + row.externalRef() + " in this import");
+                        continue;
+                    }
+                    chunk.add(row);
+                } catch (IllegalArgumentException e) {
+                    run.reject(line, e.getMessage());
+                }
+                if (chunk.size() == chunkSize) {
+                    flush(run, chunk);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read import body", e);
+        }
+        flush(run, chunk);
+
+        if (run.imported > 0) {
+            eventPublisher.publishEvent(DashboardInvalidationEvent.forParent(parentId));
+        }
+        log.info("Contribution import for parent {}: {} rows, {} imported, {} duplicates, {} failed",
+                parentId, run.rows, run.imported, run.duplicates, run.failed);
+        return new ImportResult(run.rows, run.imported, run.duplicates, run.failed,
+                List.copyOf(run.errors), run.failed > run.errors.size());
+    }
+
+    private void flush(Run run, List<Row> chunk) {
+        if (chunk.isEmpty()) return;
+        resolveChildren(run, chunk);
+
+        List<Row> accepted = new ArrayList<>(chunk.size());
+        List<ReferencedEntry> entries = new ArrayList<>(chunk.size());
+        List<Money> invested = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (!run.owned.contains(row.childId())) {
+                run.reject(row.line(), "Child not found");
+                continue;
+            }
+            Integer allocation = run.allocationByChild.get(row.childId());
+            ContributionSplit split = allocation != null
+                    ? ContributionSplit.of(row.amount(), allocation)
+                    : ContributionSplit.savingsOnly(row.amount());
+            accepted.add(row);
+            entries.add(new ReferencedEntry(row.childId(), split.savings(), row.type(), row.externalRef()));
+            invested.add(split.invested());
+        }
+        if (accepted.isEmpty()) return;
+
+        try {
+            boolean[] inserted = transactionTemplate.execute(status -> {
+                boolean[] result = ledgerRepository.insertTransactionsSkippingDuplicates(entries);
+                Map<UUID, Money> balanceDeltas = new HashMap<>();
+                Map<UUID, Money> portfolioDeltas = new HashMap<>();
+                List<LedgerEntry> recorded = new ArrayList<>(entries.size());
+                for (int i = 0; i < entries.size(); i++) {
+                    if (!result[i]) continue;
+                    ReferencedEntry entry = entries.get(i);
+                    recorded.add(new LedgerEntry(entry.childId(), entry.amount(), entry.type()));
+                    balanceDeltas.merge(entry.childId(), entry.amount(), Money::plus);
+                    if (invested.get(i).isPositive()) {
+                        portfolioDeltas.merge(entry.childId(), invested.get(i), Money::plus);
+                    }
+                }
+                ledgerRepository.creditBalances(balanceDeltas);
+                ledgerRepository.addToMonthlySummaries(recorded);
+                ledgerRepository.incrementPortfolioValues(portfolioDeltas);
+                return result;
+            });
+            for (boolean wasInserted : inserted) {
+                if (wasInserted) run.imported++;
+                else run.duplicates++;
+            }
+        } catch (DataAccessException e) {
+            // The cause can carry SQL and constraint names, so it stays in the log
+            log.warn("Contribution import chunk of {} rows failed for parent {}", accepted.size(), run.parentId, e);
+            accepted.forEach(row -> run.reject(row.line(), "Not imported: the rows around this one could not be saved"));
+        }
+    }
+
+    /** Loads ownership and allocation for children this import has not seen yet, one query each. */
+    private void resolveChildren(Run run, List<Row> chunk) {
+        Set<UUID> unseen = new HashSet<>();
+        for (Row row : chunk) {
+            if (!run.owned.contains(row.childId()) && !run.notOwned.contains(row.childId())) {
+                unseen.add(row.childId());
+            }
+        }
+        if (unseen.isEmpty()) return;
+        Set<UUID> owned = childRepository.findOwnedIds(run.parentId, unseen);
+        run.owned.addAll(owned);
+        unseen.stream().filter(id -> !owned.contains(id)).forEach(run.notOwned::add);
+        if (!owned.isEmpty()) {
+            for (InvestmentPortfolio p : portfolioRepository.findAllByChildIdIn(owned)) {
+                run.allocationByChild.put(p.getChildId(), p.getAllocationPercentage());
+            }
+        }
+    }
+
+    // ----- Parsing -----
+
+    private Row parseJson(long line, String text) {
+        JsonNode node;
+        try {
+            node = jsonReader.readTree(text);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed JSON");
+        }
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+        return row(line, text(node, "childId"), text(node, "amount"), text(node, "type"), text(node, "externalRef"));
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        if (value == null || value.isNull()) return null;
+        return value.isBigDecimal() ? value.decimalValue().toPlainString() : value.asText();
+    }
+
+    /** A bad header rejects the whole request, as no row can be read without it. */
+    private static String[] csvHeader(String line) {
+        if (line == null) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Empty CSV body");
+        String[] header = splitCsv(line).toArray(String[]::new);
+        List<String> columns = Arrays.asList(header);
+        if (!columns.contains("childId") || !columns.contains("amount")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CSV header must name at least childId and amount");
+        }
+        return header;
+    }
+
+    private static Row parseCsv(long line, String[] header, String text) {
+        List<String> values = splitCsv(text);
+        if (values.size() != header.length) {
+            throw new IllegalArgumentException("Expected " + header.length + " columns, found " + values.size());
+        }
+        Map<String, String> byName = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            byName.put(header[i], values.get(i).isEmpty() ? null : values.get(i));
+        }
+        return row(line, byName.get("childId"), byName.get("amount"), byName.get("type"), byName.get("externalRef"));
+    }
+
+    /** Splits one CSV record; fields may be double-quoted, with {@code ""} as an escaped quote. */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    /** Validates a row with the same limits as {@code POST /api/children/{id}/contribute}. */
+    static Row row(long line, String childId, String amount, String type, String externalRef) {
+        if (childId == null) throw new IllegalArgumentException("childId is required");
+        if (amount == null) throw new IllegalArgumentException("amount is required");
+        UUID child;
+        try {
+            child = UUID.fromString(childId);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("childId is not a UUID");
+        }
+        BigDecimal value;
+        try {
+            value = new BigDecimal(amount);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("amount is not a number");
+        }
+        if (value.compareTo(new BigDecimal("0.01")) < 0) {
+            throw new IllegalArgumentException("amount must be at least 0.01");
+        }
+        if (value.scale() > 2 || value.precision() - value.scale() > 10) {
+            throw new IllegalArgumentException("amount must have at most 10 integer and 2 fraction digits");
+        }
+        Transaction.TransactionType txType;
+        try {
+            txType = type == null ? Transaction.TransactionType.MANUAL : Transaction.TransactionType.valueOf(type.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("type must be MANUAL or AUTO");
+        }
+        if (externalRef != null && externalRef.length() > MAX_EXTERNAL_REF_LENGTH) {
+            throw new IllegalArgumentException("externalRef is longer than " + MAX_EXTERNAL_REF_LENGTH + " characters");
+        }
+        return new Row(line, child, Money.of(value), txType, externalRef);
+    }
+}
@@ -1,45 +1,46 @@
 package com.amanah.service;
 
-import com.amanah.entity.InvestmentPortfolio;
+import com.amanah.entity.Money;
 import com.amanah.entity.Transaction;
-import com.amanah.repository.InvestmentPortfolioRepository;
-import com.amanah.repository.TransactionRepository;
+import com.amanah.event.DashboardInvalidationEvent;
+import com.amanah.repository.LedgerJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class ContributionService {
 
-    private final TransactionRepository transactionRepository;
-    private final InvestmentPortfolioRepository portfolioRepository;
+    private final LedgerJdbcRepository ledgerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
 
+    /**
+     * Splits the contribution between the investment portfolio (if the child has one) and savings, in a
+     * single atomic statement; see {@link LedgerJdbcRepository#contribute}. Timed as
+     * {@code amanah.contributions{type, outcome}}; the amounts of successful ones are counted in fils as
+     * {@code amanah.contributions.amount{type}}.
+     */
     @Transactional
-    public Transaction contribute(UUID childId, BigDecimal amount, Transaction.TransactionType type) {
-        BigDecimal savingsAmount = amount;
-
-        // If investment portfolio exists, split the contribution
-        var portfolioOpt = portfolioRepository.findByChildId(childId);
-        if (portfolioOpt.isPresent()) {
-            InvestmentPortfolio portfolio = portfolioOpt.get();
-            BigDecimal investPct = BigDecimal.valueOf(portfolio.getAllocationPercentage()).divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP);
-            BigDecimal investAmount = amount.multiply(investPct).setScale(2, RoundingMode.HALF_UP);
-            savingsAmount = amount.subtract(investAmount);
-
-            portfolio.setCurrentValue(portfolio.getCurrentValue().add(investAmount));
-            portfolioRepository.save(portfolio);
+    public Transaction contribute(UUID childId, Money amount, Transaction.TransactionType type) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            Transaction saved = ledgerRepository.contribute(childId, amount, type);
+            eventPublisher.publishEvent(DashboardInvalidationEvent.forChild(childId));
+            Counter.builder("amanah.contributions.amount").baseUnit("fils").tag("type", type.name())
+                    .register(meterRegistry).increment(amount.fils());
+            outcome = "success";
+            return saved;
+        } finally {
+            sample.stop(meterRegistry.timer("amanah.contributions", "type", type.name(), "outcome", outcome));
         }
-
-        Transaction tx = Transaction.builder()
-                .childId(childId)
-                .amount(savingsAmount)
-                .type(type)
-                .build();
-        return transactionRepository.save(tx);
     }
 }
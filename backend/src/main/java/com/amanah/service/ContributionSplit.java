@@ -0,0 +1,21 @@
+package com.amanah.service;
+
+import com.amanah.entity.Money;
+
+/**
+ * How a contribution is divided between the savings ledger and the investment portfolio.
+ * Shared by the per-request and batch ledger paths so both round identically; the SQL in
+ * {@link com.amanah.repository.LedgerJdbcRepository#contribute} applies the same rule.
+ */
+public record ContributionSplit(Money savings, Money invested) {
+
+    /** Invests {@code allocationPercentage}% rounded half-up to the fil; the remainder is saved. */
+    public static ContributionSplit of(Money amount, int allocationPercentage) {
+        Money invested = amount.percent(allocationPercentage, Money.LEDGER_ROUNDING);
+        return new ContributionSplit(amount.minus(invested), invested);
+    }
+
+    public static ContributionSplit savingsOnly(Money amount) {
+        return new ContributionSplit(amount, Money.ZERO);
+    }
+}
@@ -0,0 +1,55 @@
+package com.amanah.service;
+
+import com.amanah.config.CacheConfig;
+import com.amanah.entity.Child;
+import com.amanah.event.DashboardInvalidationEvent;
+import com.amanah.repository.ChildRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+
+/**
+ * Evicts cached dashboards once the write that changed them has committed, so a concurrent
+ * read can never repopulate the cache with pre-commit data.
+ */
+@Component
+@RequiredArgsConstructor
+public class DashboardCacheInvalidator {
+
+    private final CacheManager cacheManager;
+    private final ChildRepository childRepository;
+
+    // A child never changes parent, so the mapping is safe to remember.
+    private final Cache<UUID, UUID> parentByChild = Caffeine.newBuilder().maximumSize(50_000).build();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInvalidate(DashboardInvalidationEvent event) {
+        org.springframework.cache.Cache dashboards = cacheManager.getCache(CacheConfig.DASHBOARD);
+        if (dashboards == null) return;
+        if (event.isAll()) {
+            dashboards.clear();
+            return;
+        }
+        UUID parentId = event.parentId() != null ? event.parentId() : resolveParent(event.childId());
+        if (parentId != null) {
+            dashboards.evict(parentId);
+        }
+    }
+
+    private UUID resolveParent(UUID childId) {
+        if (childId == null) return null;
+        UUID cached = parentByChild.getIfPresent(childId);
+        if (cached != null) return cached;
+        // Personal-goal accounts are not children and never appear on a dashboard.
+        UUID parentId = childRepository.findById(childId).map(Child::getParentId).orElse(null);
+        if (parentId != null) {
+            parentByChild.put(childId, parentId);
+        }
+        return parentId;
+    }
+}
@@ -1,12 +1,16 @@
 package com.amanah.service;
 
+import com.amanah.config.CacheConfig;
+import com.amanah.dto.Dashboard;
+import com.amanah.dto.Forecast;
 import com.amanah.entity.Child;
 import com.amanah.entity.Goal;
 import com.amanah.entity.InvestmentPortfolio;
+import com.amanah.entity.Money;
 import com.amanah.repository.ChildRepository;
 import com.amanah.repository.InvestmentPortfolioRepository;
-import com.amanah.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -14,6 +18,8 @@ import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -21,51 +27,56 @@ public class DashboardService {
 
     private final ChildRepository childRepository;
     private final GoalService goalService;
-    private final TransactionRepository transactionRepository;
+    private final BalanceService balanceService;
     private final InvestmentPortfolioRepository portfolioRepository;
+    private final ForecastService forecastService;
 
-    public Map<String, Object> getDashboard(UUID parentId) {
+    /**
+     * Builds the family dashboard in a fixed number of queries (children, balances, portfolios, goals)
+     * regardless of how many children the parent has. Results are cached per parent and evicted by
+     * {@link DashboardCacheInvalidator} whenever a contribution, goal, child or portfolio changes.
+     */
+    @Cacheable(cacheNames = CacheConfig.DASHBOARD, key = "#parentId")
+    public Dashboard getDashboard(UUID parentId) {
         List<Child> children = childRepository.findAllByParentId(parentId);
         List<UUID> childIds = children.stream().map(Child::getId).toList();
 
-        List<Map<String, Object>> childSummaries = new ArrayList<>();
-        BigDecimal totalFamilySavings = BigDecimal.ZERO;
+        Map<UUID, Money> balances = balanceService.getBalances(childIds);
+        Map<UUID, InvestmentPortfolio> portfolios = childIds.isEmpty() ? Map.of()
+                : portfolioRepository.findAllByChildIdIn(childIds).stream()
+                        .collect(Collectors.toMap(InvestmentPortfolio::getChildId, Function.identity(), (a, b) -> a));
+        Map<UUID, Goal> goals = goalService.findByChildren(childIds);
 
-        for (Child child : children) {
-            BigDecimal savings = transactionRepository.sumByChildId(child.getId());
-            BigDecimal investment = portfolioRepository.findByChildId(child.getId())
-                    .map(InvestmentPortfolio::getCurrentValue)
-                    .orElse(BigDecimal.ZERO);
-            BigDecimal total = savings.add(investment);
-            totalFamilySavings = totalFamilySavings.add(total);
-
-            Optional<Goal> goalOpt = goalService.findByChild(child.getId());
-            Map<String, Object> summary = new LinkedHashMap<>();
-            summary.put("childId", child.getId());
-            summary.put("name", child.getName());
-            summary.put("savingsBalance", savings);
-            summary.put("investmentBalance", investment);
-            summary.put("totalValue", total);
+        List<Dashboard.ChildSummary> childSummaries = new ArrayList<>(children.size());
+        Money totalFamilySavings = Money.ZERO;
+        LocalDate today = LocalDate.now();
 
-            goalOpt.ifPresent(goal -> {
-                BigDecimal progress = goal.getTargetAmount().compareTo(BigDecimal.ZERO) == 0
-                        ? BigDecimal.ZERO
-                        : savings.divide(goal.getTargetAmount(), 4, RoundingMode.HALF_UP)
-                                .multiply(BigDecimal.valueOf(100)).setScale(2, RoundingMode.HALF_UP);
-                long monthsRemaining = ChronoUnit.MONTHS.between(LocalDate.now(), goal.getTargetDate());
-                summary.put("goalType", goal.getGoalType());
-                summary.put("targetAmount", goal.getTargetAmount());
-                summary.put("progressPercent", progress);
-                summary.put("monthsRemaining", Math.max(0, monthsRemaining));
-                summary.put("isPaused", goal.isPaused());
-            });
+        for (Child child : children) {
+            Money savings = balances.getOrDefault(child.getId(), Money.ZERO);
+            InvestmentPortfolio portfolio = portfolios.get(child.getId());
+            Money investment = portfolio != null && portfolio.getCurrentValue() != null
+                    ? portfolio.getCurrentValue()
+                    : Money.ZERO;
+            Money total = savings.plus(investment);
+            totalFamilySavings = totalFamilySavings.plus(total);
 
-            childSummaries.add(summary);
+            Goal goal = goals.get(child.getId());
+            if (goal == null) {
+                childSummaries.add(new Dashboard.ChildSummary(child.getId(), child.getName(), savings, investment, total,
+                        null, null, null, null, null, null, null, null));
+                continue;
+            }
+            BigDecimal progress = goal.getTargetAmount().compareTo(BigDecimal.ZERO) == 0
+                    ? BigDecimal.ZERO
+                    : savings.toBigDecimal().divide(goal.getTargetAmount(), 4, RoundingMode.HALF_UP)
+                            .multiply(BigDecimal.valueOf(100)).setScale(2, RoundingMode.HALF_UP);
+            long monthsRemaining = ChronoUnit.MONTHS.between(today, goal.getTargetDate());
+            Forecast.Summary forecast = forecastService.summarize(ForecastService.ForecastInput.of(goal, savings, portfolio, today));
+            childSummaries.add(new Dashboard.ChildSummary(child.getId(), child.getName(), savings, investment, total,
+                    goal.getGoalType(), goal.getTargetAmount(), progress, Math.max(0, monthsRemaining), goal.isPaused(),
+                    forecast.projectedCompletion(), forecast.projectedAtTargetDate(), forecast.onTrack()));
         }
 
-        Map<String, Object> dashboard = new LinkedHashMap<>();
-        dashboard.put("children", childSummaries);
-        dashboard.put("totalFamilySavings", totalFamilySavings);
-        return dashboard;
+        return new Dashboard(childSummaries, totalFamilySavings);
     }
 }
@@ -0,0 +1,152 @@
+package com.amanah.service;
+
+import com.amanah.config.CacheConfig;
+import com.amanah.dto.Forecast;
+import com.amanah.entity.Goal;
+import com.amanah.entity.InvestmentPortfolio;
+import com.amanah.entity.InvestmentPortfolio.PortfolioType;
+import com.amanah.entity.Money;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic goal forecasts. Each month the contribution is split per {@link ContributionSplit}, the
+ * invested share is added to the portfolio and the portfolio grows by one month of
+ * {@link PortfolioType#applyMonthlyGrowth}, as the monthly simulation does. The value after {@code n}
+ * months has a closed form (the future value of an annuity due plus linear savings), so the completion
+ * month is found by bisecting that formula rather than by stepping month by month.
+ *
+ * <p>Forecasts are cached by their complete input, so a changed goal, balance or portfolio value is
+ * simply a different key and nothing has to be evicted. Summaries and full forecasts are separate entries;
+ * the cache is bounded by weight, a full forecast weighing one unit per point (see {@link CacheConfig}).
+ */
+@Service
+public class ForecastService {
+
+    private static final long GROWTH_DENOMINATOR = 120_000;
+
+    private final int horizonMonths;
+
+    public ForecastService(@Value("${amanah.forecast.horizon-months:600}") int horizonMonths) {
+        this.horizonMonths = horizonMonths;
+    }
+
+    /** Everything a forecast depends on; also its cache key. */
+    public record ForecastInput(LocalDate start, Money savings, Money investment, PortfolioType portfolioType,
+                                int allocationPercentage, Money monthlyContribution, Money target,
+                                LocalDate targetDate) {
+
+        /** Paused goals project no further contributions; without a portfolio everything is saved. */
+        public static ForecastInput of(Goal goal, Money savings, InvestmentPortfolio portfolio, LocalDate today) {
+            Money monthly = goal.isPaused() || goal.getMonthlyContribution() == null ? Money.ZERO
+                    : Money.of(goal.getMonthlyContribution(), RoundingMode.HALF_UP);
+            Money investment = portfolio != null && portfolio.getCurrentValue() != null
+                    ? portfolio.getCurrentValue() : Money.ZERO;
+            return new ForecastInput(today, savings, investment,
+                    portfolio != null ? portfolio.getPortfolioType() : null,
+                    portfolio != null ? portfolio.getAllocationPercentage() : 0,
+                    monthly, Money.of(goal.getTargetAmount(), RoundingMode.HALF_UP), goal.getTargetDate());
+        }
+    }
+
+    /** Completion month and value at the target date, without the series. */
+    @Cacheable(cacheNames = CacheConfig.FORECASTS, key = "#input")
+    public Forecast.Summary summarize(ForecastInput input) {
+        return summarize(input, Projection.of(input));
+    }
+
+    /** The summary with one point per month; only the forecast endpoint needs the series. */
+    @Cacheable(cacheNames = CacheConfig.FORECASTS, key = "{'series', #input}")
+    public Forecast forecast(ForecastInput input) {
+        Projection projection = Projection.of(input);
+        Forecast.Summary summary = summarize(input, projection);
+        long monthsToTargetDate = Math.max(0, ChronoUnit.MONTHS.between(input.start(), input.targetDate()));
+
+        long seriesMonths = Math.min(horizonMonths, Math.max(monthsToTargetDate,
+                summary.monthsToTarget() != null ? summary.monthsToTarget() : 0));
+        List<Forecast.Point> series = new ArrayList<>((int) seriesMonths + 1);
+        for (int n = 0; n <= seriesMonths; n++) {
+            Money savings = fils(projection.savings(n));
+            Money investment = fils(projection.investment(n));
+            series.add(new Forecast.Point(input.start().plusMonths(n), savings, investment, savings.plus(investment)));
+        }
+        return Forecast.of(summary, List.copyOf(series));
+    }
+
+    private Forecast.Summary summarize(ForecastInput input, Projection projection) {
+        long monthsToTargetDate = Math.max(0, ChronoUnit.MONTHS.between(input.start(), input.targetDate()));
+        Integer months = projection.monthsToReach(input.target().fils() / 1000.0, horizonMonths);
+        LocalDate completion = months != null ? input.start().plusMonths(months) : null;
+        return new Forecast.Summary(completion, months,
+                fils(projection.total(Math.min(monthsToTargetDate, horizonMonths))),
+                completion != null && !completion.isAfter(input.targetDate()));
+    }
+
+    private static Money fils(double dinars) {
+        return Money.ofFils(Math.round(dinars * 1000));
+    }
+
+    /**
+     * Closed-form balances after {@code n} months, in dinars: savings {@code S0 + n*s}, and investment
+     * {@code V0*g^n + i*g*(g^n - 1)/(g - 1)} for a monthly invested share {@code i} and growth factor
+     * {@code g = (120000 + bp) / 120000} ({@code V0 + n*i} when {@code g = 1}).
+     */
+    record Projection(double savings0, double saved, double investment0, double invested, double growth) {
+
+        static Projection of(ForecastInput input) {
+            ContributionSplit split = input.portfolioType() != null
+                    ? ContributionSplit.of(input.monthlyContribution(), input.allocationPercentage())
+                    : ContributionSplit.savingsOnly(input.monthlyContribution());
+            double growth = input.portfolioType() != null
+                    ? (double) (GROWTH_DENOMINATOR + input.portfolioType().annualRateBasisPoints()) / GROWTH_DENOMINATOR
+                    : 1;
+            return new Projection(dinars(input.savings()), dinars(split.savings()),
+                    dinars(input.investment()), dinars(split.invested()), growth);
+        }
+
+        private static double dinars(Money money) {
+            return money.fils() / 1000.0;
+        }
+
+        double savings(double n) {
+            return savings0 + n * saved;
+        }
+
+        double investment(double n) {
+            if (growth == 1) return investment0 + n * invested;
+            double compounded = Math.pow(growth, n);
+            return investment0 * compounded + invested * growth * (compounded - 1) / (growth - 1);
+        }
+
+        double total(double n) {
+            return savings(n) + investment(n);
+        }
+
+        /**
+         * Smallest whole number of months after which the total reaches {@code target}, or null if that
+         * takes longer than {@code horizon}. The total is non-decreasing in {@code n}, so bisection on the
+         * continuous formula brackets it in about 40 evaluations.
+         */
+        Integer monthsToReach(double target, int horizon) {
+            if (total(0) >= target) return 0;
+            if (total(horizon) < target) return null;
+            double lo = 0;
+            double hi = horizon;
+            while (hi - lo > 1e-6) {
+                double mid = (lo + hi) / 2;
+                if (total(mid) >= target) hi = mid;
+                else lo = mid;
+            }
+            int months = (int) Math.ceil(hi);
+            // Guard against the bracket landing a hair above a whole month
+            return months > 0 && total(months - 1) >= target ? months - 1 : months;
+        }
+    }
+}
@@ -1,21 +1,28 @@
 package com.amanah.service;
 
 import com.amanah.entity.Goal;
+import com.amanah.event.DashboardInvalidationEvent;
 import com.amanah.repository.GoalRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class GoalService {
 
     private final GoalRepository goalRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Goal getGoalByChild(UUID childId) {
         return findByChild(childId)
@@ -26,6 +33,13 @@ public class GoalService {
         return goalRepository.findByChildId(childId);
     }
 
+    /** Goals for the given children keyed by child id, fetched in a single query. */
+    public Map<UUID, Goal> findByChildren(Collection<UUID> childIds) {
+        if (childIds.isEmpty()) return Map.of();
+        return goalRepository.findAllByChildIdIn(childIds).stream()
+                .collect(Collectors.toMap(Goal::getChildId, Function.identity(), (a, b) -> a));
+    }
+
     @Transactional
     public Goal createOrUpdateGoal(UUID childId, String type,
                                    BigDecimal targetAmount, LocalDate targetDate,
@@ -39,6 +53,21 @@ public class GoalService {
         goal.setPaused(paused);
         goal.setMonthlyContribution(monthlyOverride != null ? monthlyOverride : BigDecimal.ZERO);
 
-        return goalRepository.save(goal);
+        Goal saved = goalRepository.save(goal);
+        eventPublisher.publishEvent(DashboardInvalidationEvent.forChild(childId));
+        return saved;
+    }
+
+    /** Pauses the goal funded by a subscription that was cancelled on the Stripe side. */
+    @Transactional
+    public void pauseForCancelledSubscription(String subscriptionId) {
+        goalRepository.findByStripeSubscriptionId(subscriptionId).ifPresent(goal -> {
+            goal.setPaused(true);
+            goalRepository.save(goal);
+            // A goal without a child is on no dashboard
+            if (goal.getChildId() != null) {
+                eventPublisher.publishEvent(DashboardInvalidationEvent.forChild(goal.getChildId()));
+            }
+        });
     }
 }
@@ -0,0 +1,145 @@
+package com.amanah.service;
+
+import com.amanah.entity.User;
+import com.amanah.event.TokenRevocationEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issues and verifies the app's HMAC-SHA256 JWTs. The key and parser are built once; tokens that
+ * verified successfully are remembered (by SHA-256 of the token) until their {@code exp}, so clients
+ * replaying the same token skip signature and claims parsing entirely.
+ *
+ * <p>Tokens are not looked up against the users table, so erasing an account {@link #revoke revokes} its
+ * subject instead. Revocations are held in memory, bounded like the verified tokens, for as long as a token
+ * issued before them can live. Both caches are per JVM: this relies on the backend running as a single
+ * instance (see docker-compose.yml). A second instance would keep accepting an erased user's tokens until
+ * they expire, so scaling out needs revocations in shared state first.
+ */
+@Service
+public class JwtService {
+
+    static final long TOKEN_TTL_MILLIS = 7L * 24 * 60 * 60 * 1000;
+    /** Upper bound for tokens without an {@code exp} claim. */
+    private static final long MAX_CACHE_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private final SecretKey key;
+    private final JwtParser parser;
+    private final Cache<TokenHash, VerifiedToken> verified;
+    private final Cache<UUID, Boolean> revoked;
+
+    public JwtService(@Value("${jwt.secret}") String jwtSecret,
+                      @Value("${amanah.jwt.cache.max-size:50000}") long cacheMaxSize) {
+        this.key = new SecretKeySpec(jwtSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.parser = Jwts.parser()
+                .verifyWith(key)
+                .clockSkewSeconds(60)
+                .build();
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .build();
+        this.revoked = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofMillis(TOKEN_TTL_MILLIS).plusSeconds(60))
+                .build();
+    }
+
+    private record TokenHash(long h0, long h1, long h2, long h3) {}
+
+    private record VerifiedToken(UUID userId, long expiresAtMillis) {}
+
+    public String issue(User user) {
+        return Jwts.builder()
+                .subject(user.getId().toString())
+                .claim("email", user.getEmail())
+                .claim("role", user.getRole().name())
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + TOKEN_TTL_MILLIS))
+                .signWith(key)
+                .compact();
+    }
+
+    /**
+     * Returns the token's subject as a user id.
+     *
+     * @throws JwtException if the token is malformed, badly signed, expired or its subject was revoked
+     */
+    public UUID verify(String token) {
+        TokenHash hash = hash(token);
+        VerifiedToken cached = verified.getIfPresent(hash);
+        if (cached != null && cached.expiresAtMillis() > System.currentTimeMillis()) {
+            return cached.userId();
+        }
+
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        UUID userId = UUID.fromString(claims.getSubject());
+        Date exp = claims.getExpiration();
+        verified.put(hash, new VerifiedToken(userId, exp != null ? exp.getTime() : Long.MAX_VALUE));
+        // Checked after caching, so a concurrent revoke() either evicts this entry or is seen here
+        if (revoked.getIfPresent(userId) != null) {
+            verified.invalidate(hash);
+            throw new JwtException("Token subject has been revoked");
+        }
+        return userId;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRevocation(TokenRevocationEvent event) {
+        revoke(event.userId());
+    }
+
+    /** Stops every token of the user from verifying, including ones already cached. */
+    public void revoke(UUID userId) {
+        revoked.put(userId, Boolean.TRUE);
+        verified.asMap().values().removeIf(token -> token.userId().equals(userId));
+    }
+
+    private static TokenHash hash(String token) {
+        try {
+            ByteBuffer digest = ByteBuffer.wrap(MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8)));
+            return new TokenHash(digest.getLong(), digest.getLong(), digest.getLong(), digest.getLong());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<TokenHash, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(TokenHash key, VerifiedToken value, long currentTime) {
+            if (value.expiresAtMillis() == Long.MAX_VALUE) return MAX_CACHE_NANOS;
+            long remaining = TimeUnit.MILLISECONDS.toNanos(value.expiresAtMillis() - System.currentTimeMillis());
+            return Math.max(0, remaining);
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenHash key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenHash key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
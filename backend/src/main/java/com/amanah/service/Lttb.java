@@ -0,0 +1,64 @@
+package com.amanah.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Largest-Triangle-Three-Buckets downsampling (Steinarsson, 2013). Keeps the first and last points and
+ * splits the rest into {@code threshold - 2} equal buckets. From each bucket it keeps the point that forms
+ * the largest triangle with the previously kept point and the average of the next bucket. Peaks, troughs
+ * and steps survive, which averaging or taking every n-th point would flatten or miss. Kept points are
+ * returned unchanged and in order.
+ */
+final class Lttb {
+
+    private Lttb() {
+    }
+
+    static <T> List<T> downsample(List<T> points, int threshold, ToDoubleFunction<T> x, ToDoubleFunction<T> y) {
+        int n = points.size();
+        if (threshold >= n || threshold < 3) return points;
+
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = x.applyAsDouble(points.get(i));
+            ys[i] = y.applyAsDouble(points.get(i));
+        }
+
+        List<T> sampled = new ArrayList<>(threshold);
+        sampled.add(points.get(0));
+        double bucketSize = (double) (n - 2) / (threshold - 2);
+        int kept = 0;
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            int start = (int) (bucket * bucketSize) + 1;
+            int end = (int) ((bucket + 1) * bucketSize) + 1;
+            int nextEnd = Math.min((int) ((bucket + 2) * bucketSize) + 1, n);
+
+            double avgX = 0;
+            double avgY = 0;
+            for (int i = end; i < nextEnd; i++) {
+                avgX += xs[i];
+                avgY += ys[i];
+            }
+            avgX /= nextEnd - end;
+            avgY /= nextEnd - end;
+
+            int best = start;
+            double bestArea = -1;
+            for (int i = start; i < end; i++) {
+                // Twice the triangle's area; the factor does not change which point is largest
+                double area = Math.abs((xs[kept] - avgX) * (ys[i] - ys[kept]) - (xs[kept] - xs[i]) * (avgY - ys[kept]));
+                if (area > bestArea) {
+                    bestArea = area;
+                    best = i;
+                }
+            }
+            sampled.add(points.get(best));
+            kept = best;
+        }
+        sampled.add(points.get(n - 1));
+        return sampled;
+    }
+}
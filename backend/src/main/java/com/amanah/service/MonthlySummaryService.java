@@ -0,0 +1,93 @@
+package com.amanah.service;
+
+import com.amanah.dto.SavingsByMonth;
+import com.amanah.entity.Money;
+import com.amanah.entity.Transaction;
+import com.amanah.entity.TransactionMonthlySummary;
+import com.amanah.repository.ChildBalanceRepository;
+import com.amanah.repository.MonthlySummaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads and maintains the {@code transaction_monthly_summary} rollup. Like {@link BalanceService#credit},
+ * every write to {@code transactions} must add to it in the same database transaction: the JDBC ledger
+ * writes in {@link com.amanah.repository.LedgerJdbcRepository} do so themselves, JPA writes call
+ * {@link #record}. Charts read only the rollup, at most two rows per month.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MonthlySummaryService {
+
+    public static final int DEFAULT_MONTHS = 12;
+    public static final int MAX_MONTHS = 240;
+
+    private final MonthlySummaryRepository summaryRepository;
+    private final ChildBalanceRepository balanceRepository;
+
+    /** Months {@code from}..{@code to} (UTC), defaulting to the last {@value #DEFAULT_MONTHS} months. */
+    public SavingsByMonth byMonth(UUID accountId, YearMonth from, YearMonth to) {
+        YearMonth end = to != null ? to : YearMonth.now(ZoneOffset.UTC);
+        YearMonth start = from != null ? from : end.minusMonths(DEFAULT_MONTHS - 1);
+        if (start.isAfter(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to");
+        }
+        if (ChronoUnit.MONTHS.between(start, end) >= MAX_MONTHS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_MONTHS + " months per request");
+        }
+
+        List<TransactionMonthlySummary> rows = summaryRepository.findAllByChildIdAndMonthBetweenOrderByMonth(
+                accountId, start.atDay(1), end.atDay(1));
+        List<SavingsByMonth.Month> months = new ArrayList<>((int) ChronoUnit.MONTHS.between(start, end) + 1);
+        int next = 0;
+        for (YearMonth month = start; !month.isAfter(end); month = month.plusMonths(1)) {
+            LocalDate day = month.atDay(1);
+            Money manual = Money.ZERO;
+            Money auto = Money.ZERO;
+            int transactions = 0;
+            for (; next < rows.size() && rows.get(next).getMonth().equals(day); next++) {
+                TransactionMonthlySummary row = rows.get(next);
+                if (row.getType() == Transaction.TransactionType.AUTO) auto = auto.plus(row.getAmount());
+                else manual = manual.plus(row.getAmount());
+                transactions += row.getTransactionCount();
+            }
+            months.add(new SavingsByMonth.Month(month, manual, auto, manual.plus(auto), transactions));
+        }
+        return new SavingsByMonth(start, end, months);
+    }
+
+    /** Number of transactions of the account, from the rollup rather than a count over its history. */
+    public long transactionCount(UUID accountId) {
+        return summaryRepository.countTransactions(accountId);
+    }
+
+    /** Adds a transaction inserted in the current database transaction to its month. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(UUID accountId, Money amount, Transaction.TransactionType type) {
+        summaryRepository.addTransaction(accountId, type.name(), amount.toBigDecimal());
+    }
+
+    /** Recomputes the rollup from {@code transactions}; ledger writers wait until it commits. */
+    @Transactional
+    public int rebuild() {
+        balanceRepository.lockTransactions();
+        summaryRepository.deleteAllRows();
+        int rows = summaryRepository.insertFromTransactions();
+        log.info("Rebuilt {} monthly transaction summaries", rows);
+        return rows;
+    }
+}
@@ -0,0 +1,221 @@
+package com.amanah.service;
+
+import com.amanah.dto.OutcomeSimulation;
+import com.amanah.entity.InvestmentPortfolio.PortfolioType;
+import com.amanah.entity.Money;
+import com.amanah.service.ForecastService.ForecastInput;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Monte Carlo outcomes for a goal. Savings follow the deterministic forecast; the portfolio compounds
+ * monthly log-normal returns whose mean is the portfolio type's monthly rate ({@code 1 + bp/120000}) and
+ * whose annual volatility is configured per type. Contributions are split and added before each month's
+ * return, as in the monthly simulation.
+ *
+ * <p>Paths run on a dedicated fork-join pool (CPU-bound work, so platform threads regardless of the
+ * virtual-thread mode). Path ranges are halved recursively down to fixed-size leaves and every split also
+ * splits the {@link SplittableRandom}, so the random stream each path sees depends only on the seed and
+ * the path count, never on scheduling or pool size.
+ *
+ * <p>A run keeps {@code checkpoints x paths} totals in memory (about 7 MB for 50k paths over 18 years) and
+ * occupies the whole pool, so only as many run at once as the {@code outcomes} bulkhead allows; requests
+ * beyond that get 429.
+ */
+@Service
+public class OutcomeSimulationService {
+
+    private static final int LEAF_PATHS = 1024;
+    private static final double[] PERCENTILES = {0.10, 0.25, 0.50, 0.75, 0.90};
+
+    private final ForkJoinPool pool;
+    private final Bulkhead bulkhead;
+    private final int defaultPaths;
+    private final int maxPaths;
+    private final double conservativeVolatility;
+    private final double balancedVolatility;
+    private final double growthVolatility;
+
+    public OutcomeSimulationService(Bulkhead outcomeBulkhead,
+                                    @Value("${amanah.outcomes.parallelism:0}") int parallelism,
+                                    @Value("${amanah.outcomes.default-paths:20000}") int defaultPaths,
+                                    @Value("${amanah.outcomes.max-paths:50000}") int maxPaths,
+                                    @Value("${amanah.outcomes.volatility.conservative:0.05}") double conservativeVolatility,
+                                    @Value("${amanah.outcomes.volatility.balanced:0.10}") double balancedVolatility,
+                                    @Value("${amanah.outcomes.volatility.growth:0.15}") double growthVolatility) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.bulkhead = outcomeBulkhead;
+        this.defaultPaths = defaultPaths;
+        this.maxPaths = maxPaths;
+        this.conservativeVolatility = conservativeVolatility;
+        this.balancedVolatility = balancedVolatility;
+        this.growthVolatility = growthVolatility;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public double annualVolatility(PortfolioType type) {
+        return switch (type) {
+            case CONSERVATIVE -> conservativeVolatility;
+            case BALANCED -> balancedVolatility;
+            case GROWTH -> growthVolatility;
+        };
+    }
+
+    /** {@code paths} and {@code seed} are optional; a missing seed is drawn and returned with the result. */
+    public OutcomeSimulation simulate(ForecastInput input, Integer paths, Long seed) {
+        int pathCount = paths != null ? paths : defaultPaths;
+        if (pathCount < 1 || pathCount > maxPaths) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "paths must be between 1 and " + maxPaths);
+        }
+        if (!bulkhead.tryAcquirePermission()) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Too many simulations in progress, try again shortly");
+        }
+        try {
+            return run(input, pathCount, seed != null ? seed : new SplittableRandom().nextLong());
+        } finally {
+            bulkhead.onComplete();
+        }
+    }
+
+    private OutcomeSimulation run(ForecastInput input, int pathCount, long actualSeed) {
+        PortfolioType type = input.portfolioType();
+        ContributionSplit split = type != null
+                ? ContributionSplit.of(input.monthlyContribution(), input.allocationPercentage())
+                : ContributionSplit.savingsOnly(input.monthlyContribution());
+        double volatility = type != null ? annualVolatility(type) : 0;
+        double monthlySigma = volatility / Math.sqrt(12);
+        double monthlyRate = type != null ? type.annualRateBasisPoints() / 120_000.0 : 0;
+
+        int months = (int) Math.max(0, ChronoUnit.MONTHS.between(input.start(), input.targetDate()));
+        int[] checkpoints = checkpoints(months);
+
+        Model model = new Model(dinars(input.savings()), dinars(split.savings()),
+                dinars(input.investment()), dinars(split.invested()),
+                // Log drift chosen so that E[monthly factor] = 1 + rate / 12
+                Math.log1p(monthlyRate) - monthlySigma * monthlySigma / 2, monthlySigma,
+                dinars(input.target()), months, checkpoints);
+
+        double[][] totals = new double[checkpoints.length][pathCount];
+        long reached = pool.invoke(new Paths(model, totals, 0, pathCount, new SplittableRandom(actualSeed)));
+
+        // Each checkpoint's column is sorted independently for its percentiles
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(Arrays.stream(totals)
+                .map(column -> ForkJoinTask.adapt(() -> Arrays.sort(column)))
+                .toList())));
+
+        List<OutcomeSimulation.Band> bands = new ArrayList<>(checkpoints.length);
+        for (int c = 0; c < checkpoints.length; c++) {
+            Money[] values = new Money[PERCENTILES.length];
+            for (int p = 0; p < PERCENTILES.length; p++) {
+                values[p] = fils(percentile(totals[c], PERCENTILES[p]));
+            }
+            bands.add(new OutcomeSimulation.Band(input.start().plusMonths(checkpoints[c]),
+                    values[0], values[1], values[2], values[3], values[4]));
+        }
+        return new OutcomeSimulation(pathCount, actualSeed, volatility, (double) reached / pathCount,
+                input.target(), input.targetDate(), List.copyOf(bands));
+    }
+
+    /** Month 0, every year-end before the target date, and the target month itself. */
+    static int[] checkpoints(int months) {
+        int[] checkpoints = new int[months / 12 + (months % 12 == 0 ? 1 : 2)];
+        for (int i = 0; i * 12 < months; i++) {
+            checkpoints[i] = i * 12;
+        }
+        checkpoints[checkpoints.length - 1] = months;
+        return checkpoints;
+    }
+
+    /** Nearest-rank percentile of a sorted sample. */
+    static double percentile(double[] sorted, double p) {
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double dinars(Money money) {
+        return money.fils() / 1000.0;
+    }
+
+    private static Money fils(double dinars) {
+        return Money.ofFils(Math.round(dinars * 1000));
+    }
+
+    /** Per-month inputs in dinars; {@code drift} and {@code sigma} parameterise the monthly log return. */
+    record Model(double savings0, double saved, double investment0, double invested,
+                 double drift, double sigma, double target, int months, int[] checkpoints) {}
+
+    /** Simulates paths {@code [from, to)}, writing totals at each checkpoint; returns how many reached the target. */
+    private static final class Paths extends RecursiveTask<Long> {
+
+        private final Model model;
+        private final double[][] totals;
+        private final int from;
+        private final int to;
+        private final SplittableRandom random;
+
+        Paths(Model model, double[][] totals, int from, int to, SplittableRandom random) {
+            this.model = model;
+            this.totals = totals;
+            this.from = from;
+            this.to = to;
+            this.random = random;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= LEAF_PATHS) {
+                return simulate();
+            }
+            int mid = (from + to) >>> 1;
+            Paths right = new Paths(model, totals, mid, to, random.split());
+            right.fork();
+            long left = new Paths(model, totals, from, mid, random).compute();
+            return left + right.join();
+        }
+
+        private long simulate() {
+            Model m = model;
+            int[] checkpoints = m.checkpoints();
+            long reached = 0;
+            for (int path = from; path < to; path++) {
+                double investment = m.investment0();
+                double savings = m.savings0();
+                boolean hit = savings + investment >= m.target();
+                int next = 0;
+                if (checkpoints[0] == 0) {
+                    totals[0][path] = savings + investment;
+                    next = 1;
+                }
+                for (int month = 1; month <= m.months(); month++) {
+                    savings += m.saved();
+                    investment = (investment + m.invested()) * Math.exp(m.drift() + m.sigma() * random.nextGaussian());
+                    double total = savings + investment;
+                    hit |= total >= m.target();
+                    if (next < checkpoints.length && checkpoints[next] == month) {
+                        totals[next++][path] = total;
+                    }
+                }
+                if (hit) reached++;
+            }
+            return reached;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.amanah.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/** Stripe call rejected without being attempted (bulkhead full or breaker open); surfaces as 503. */
+public class PaymentProviderUnavailableException extends ResponseStatusException {
+
+    public PaymentProviderUnavailableException(String operation, Throwable cause) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "Payment provider unavailable (" + operation + "), please retry shortly", cause);
+    }
+}
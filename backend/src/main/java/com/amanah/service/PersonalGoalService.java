@@ -0,0 +1,56 @@
+package com.amanah.service;
+
+import com.amanah.dto.PersonalGoalResponse;
+import com.amanah.dto.TransactionResponse;
+import com.amanah.entity.Money;
+import com.amanah.entity.PersonalGoal;
+import com.amanah.entity.Transaction;
+import com.amanah.repository.PersonalGoalRepository;
+import com.amanah.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+@Service
+@RequiredArgsConstructor
+public class PersonalGoalService {
+
+    private final PersonalGoalRepository personalGoalRepository;
+    private final TransactionRepository transactionRepository;
+    private final BalanceService balanceService;
+
+    /**
+     * Every personal goal of the user with balance, progress and its newest transactions.
+     * Three queries in total (goals, balances, recent transactions) however many goals there are.
+     */
+    public List<PersonalGoalResponse> listGoals(UUID userId) {
+        List<PersonalGoal> goals = personalGoalRepository.findByUserId(userId);
+        if (goals.isEmpty()) return List.of();
+
+        Map<UUID, Money> balances = balanceService.getBalances(goals.stream().map(PersonalGoal::getId).toList());
+        // One extra row per goal tells us whether a next page exists.
+        Map<UUID, List<Transaction>> recent = new HashMap<>();
+        for (Transaction tx : transactionRepository.findRecentForPersonalGoals(
+                userId, TransactionHistoryService.PREVIEW_SIZE + 1)) {
+            recent.computeIfAbsent(tx.getChildId(), k -> new ArrayList<>()).add(tx);
+        }
+
+        LocalDate today = LocalDate.now();
+        List<PersonalGoalResponse> result = new ArrayList<>(goals.size());
+        for (PersonalGoal goal : goals) {
+            List<Transaction> txs = recent.getOrDefault(goal.getId(), List.of());
+            boolean hasMore = txs.size() > TransactionHistoryService.PREVIEW_SIZE;
+            if (hasMore) txs = txs.subList(0, TransactionHistoryService.PREVIEW_SIZE);
+
+            long months = ChronoUnit.MONTHS.between(today, goal.getTargetDate());
+            result.add(new PersonalGoalResponse(goal.getId(), goal.getGoalType(), goal.getTargetAmount(),
+                    goal.getTargetDate(), balances.getOrDefault(goal.getId(), Money.ZERO), Math.max(0, months),
+                    goal.isPaused(), TransactionResponse.of(txs),
+                    hasMore ? TransactionHistoryService.encode(txs.get(txs.size() - 1)) : null));
+        }
+        return result;
+    }
+}
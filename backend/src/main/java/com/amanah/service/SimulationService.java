@@ -2,18 +2,25 @@ package com.amanah.service;
 
 import com.amanah.entity.Child;
 import com.amanah.entity.Goal;
+import com.amanah.entity.Money;
 import com.amanah.entity.Transaction;
+import com.amanah.event.DashboardInvalidationEvent;
 import com.amanah.repository.ChildRepository;
 import com.amanah.repository.GoalRepository;
 import com.amanah.repository.InvestmentPortfolioRepository;
+import com.amanah.repository.SimulationBatchRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.MathContext;
 import java.math.RoundingMode;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -23,36 +30,64 @@ public class SimulationService {
     private final ChildRepository childRepository;
     private final GoalRepository goalRepository;
     private final InvestmentPortfolioRepository portfolioRepository;
+    private final SimulationBatchRepository batchRepository;
     private final ContributionService contributionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
 
+    /**
+     * One month for a single family. Goals are first claimed for the current month in
+     * {@code goals.last_simulated_period}, like the system-wide run in {@link BatchSimulationService}, so a goal
+     * already credited this month by either path is skipped. Timed as
+     * {@code amanah.simulation.runs{scope=family, outcome}}; credited goals are counted as
+     * {@code amanah.simulation.goals{scope=family}}.
+     */
     @Transactional
     public int runMonthlySimulation(UUID parentId) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            int goals = simulate(parentId);
+            meterRegistry.counter("amanah.simulation.goals", "scope", "family").increment(goals);
+            outcome = "success";
+            return goals;
+        } finally {
+            sample.stop(meterRegistry.timer("amanah.simulation.runs", "scope", "family", "outcome", outcome));
+        }
+    }
+
+    private int simulate(UUID parentId) {
         List<Child> children = childRepository.findAllByParentId(parentId);
         List<UUID> childIds = children.stream().map(Child::getId).toList();
 
-        List<Goal> activeGoals = childIds.stream()
+        List<Goal> fundedGoals = childIds.stream()
                 .flatMap(childId -> goalRepository.findByChildId(childId).stream())
-                .filter(g -> !g.isPaused())
+                .filter(g -> !g.isPaused() && g.getChildId() != null)
+                .filter(g -> g.getMonthlyContribution() != null && g.getMonthlyContribution().compareTo(BigDecimal.ZERO) > 0)
                 .toList();
+        if (fundedGoals.isEmpty()) return 0;
 
-        for (Goal goal : activeGoals) {
-            BigDecimal monthly = goal.getMonthlyContribution();
-            if (monthly == null || monthly.compareTo(BigDecimal.ZERO) <= 0) continue;
+        // Same claim as the system-wide run: a goal already simulated this month, by either path, is skipped
+        Set<UUID> claimed = batchRepository.claimGoals(fundedGoals.stream().map(Goal::getId).toList(),
+                YearMonth.now().atDay(1));
 
+        int processed = 0;
+        for (Goal goal : fundedGoals) {
+            if (!claimed.contains(goal.getId())) continue;
             UUID childId = goal.getChildId();
-            if (childId == null) continue;
 
-            contributionService.contribute(childId, monthly, Transaction.TransactionType.AUTO);
+            contributionService.contribute(childId, Money.of(goal.getMonthlyContribution(), RoundingMode.HALF_UP),
+                    Transaction.TransactionType.AUTO);
 
+            // Read after the contribution statement, which already holds this row's lock for the rest of the transaction
             portfolioRepository.findByChildId(childId).ifPresent(portfolio -> {
-                double monthlyRate = portfolio.getPortfolioType().annualRate() / 12;
-                BigDecimal growthFactor = BigDecimal.valueOf(1 + monthlyRate);
-                BigDecimal newValue = portfolio.getCurrentValue().multiply(growthFactor, new MathContext(10, RoundingMode.HALF_UP));
-                portfolio.setCurrentValue(newValue.setScale(2, RoundingMode.HALF_UP));
+                portfolio.setCurrentValue(portfolio.getPortfolioType().applyMonthlyGrowth(portfolio.getCurrentValue()));
                 portfolioRepository.save(portfolio);
             });
+            processed++;
         }
 
-        return activeGoals.size();
+        if (processed > 0) eventPublisher.publishEvent(DashboardInvalidationEvent.forParent(parentId));
+        return processed;
     }
 }
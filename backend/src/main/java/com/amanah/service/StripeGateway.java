@@ -0,0 +1,86 @@
+package com.amanah.service;
+
+import com.stripe.exception.StripeException;
+import com.stripe.net.RequestOptions;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Single entry point for outbound Stripe calls. Each call runs inside the Stripe bulkhead and circuit
+ * breaker (see {@link com.amanah.config.StripeResilienceConfig}) with a connect/read timeout chosen by
+ * its kind, and is timed as {@code amanah.stripe.calls{operation, outcome}}.
+ *
+ * <p>Stripe errors propagate unchanged so callers keep their own messages; calls refused by the bulkhead
+ * or an open breaker become {@link PaymentProviderUnavailableException}.
+ */
+@Component
+public class StripeGateway {
+
+    @FunctionalInterface
+    public interface StripeCall<T> {
+        T call(RequestOptions options) throws StripeException;
+    }
+
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final MeterRegistry meterRegistry;
+    private final RequestOptions readOptions;
+    private final RequestOptions writeOptions;
+
+    public StripeGateway(CircuitBreaker stripeCircuitBreaker,
+                         Bulkhead stripeBulkhead,
+                         MeterRegistry meterRegistry,
+                         @Value("${amanah.stripe.timeout.connect:2s}") Duration connectTimeout,
+                         @Value("${amanah.stripe.timeout.read:5s}") Duration readTimeout,
+                         @Value("${amanah.stripe.timeout.write:10s}") Duration writeTimeout) {
+        this.circuitBreaker = stripeCircuitBreaker;
+        this.bulkhead = stripeBulkhead;
+        this.meterRegistry = meterRegistry;
+        this.readOptions = options(connectTimeout, readTimeout);
+        this.writeOptions = options(connectTimeout, writeTimeout);
+    }
+
+    /** Retrievals and lookups. */
+    public <T> T read(String operation, StripeCall<T> call) throws StripeException {
+        return execute(operation, readOptions, call);
+    }
+
+    /** Creates, updates and cancellations, which Stripe may take longer to acknowledge. */
+    public <T> T write(String operation, StripeCall<T> call) throws StripeException {
+        return execute(operation, writeOptions, call);
+    }
+
+    private <T> T execute(String operation, RequestOptions options, StripeCall<T> call) throws StripeException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return bulkhead.executeCallable(() -> circuitBreaker.executeCallable(() -> call.call(options)));
+        } catch (BulkheadFullException | CallNotPermittedException e) {
+            outcome = "rejected";
+            throw new PaymentProviderUnavailableException(operation, e);
+        } catch (StripeException | RuntimeException e) {
+            outcome = "error";
+            throw e;
+        } catch (Exception e) {
+            outcome = "error";
+            throw new IllegalStateException(e);
+        } finally {
+            sample.stop(meterRegistry.timer("amanah.stripe.calls", "operation", operation, "outcome", outcome));
+        }
+    }
+
+    private static RequestOptions options(Duration connectTimeout, Duration readTimeout) {
+        return RequestOptions.builder()
+                .setConnectTimeout((int) connectTimeout.toMillis())
+                .setReadTimeout((int) readTimeout.toMillis())
+                .build();
+    }
+}
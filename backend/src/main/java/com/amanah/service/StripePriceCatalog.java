@@ -0,0 +1,200 @@
+package com.amanah.service;
+
+import com.amanah.repository.StripePriceRepository;
+import com.amanah.repository.StripePriceRepository.PriceRow;
+import com.stripe.exception.StripeException;
+import com.stripe.model.Price;
+import com.stripe.param.PriceCreateParams;
+import com.stripe.param.PriceListParams;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Recurring Stripe prices keyed by {@code (currency, unitAmount, interval)}, so subscribing reuses one
+ * price per amount instead of creating a new one every time.
+ *
+ * <p>Lookups are served from memory; the map is loaded from {@code stripe_prices} and from the prices
+ * carrying our lookup keys in Stripe at startup. A miss is resolved by exactly one caller per key (later
+ * callers wait on its future): it looks the price up by lookup key in Stripe and creates it only when
+ * absent. Lookup keys are unique in Stripe, so when another instance creates the same price in between,
+ * our create fails and the price it made is adopted instead. Stripe forgets idempotency keys after a day,
+ * so they cannot stand in for the lookup key; each create attempt gets a fresh one.
+ */
+@Slf4j
+@Service
+public class StripePriceCatalog {
+
+    public static final String CURRENCY = "bhd";
+    public static final String MONTH = "month";
+    static final String LOOKUP_KEY_PREFIX = "amanah_";
+
+    private final StripePriceRepository priceRepository;
+    private final StripeGateway gateway;
+    private final boolean warmOnStartup;
+    private final Map<PriceKey, CompletableFuture<String>> prices = new ConcurrentHashMap<>();
+
+    public StripePriceCatalog(StripePriceRepository priceRepository,
+                              StripeGateway gateway,
+                              @Value("${amanah.stripe.prices.warm-on-startup:true}") boolean warmOnStartup) {
+        this.priceRepository = priceRepository;
+        this.gateway = gateway;
+        this.warmOnStartup = warmOnStartup;
+    }
+
+    public record PriceKey(String currency, long unitAmount, String interval) {
+        /** Stable Stripe lookup key, e.g. {@code amanah_bhd_25000_month}. */
+        public String lookupKey() {
+            return LOOKUP_KEY_PREFIX + currency + "_" + unitAmount + "_" + interval;
+        }
+    }
+
+    /** Price id for a monthly BHD subscription of {@code unitAmount} fils. */
+    public String monthlyPriceId(long unitAmount) {
+        return priceId(new PriceKey(CURRENCY, unitAmount, MONTH));
+    }
+
+    public String priceId(PriceKey key) {
+        CompletableFuture<String> existing = prices.get(key);
+        if (existing == null) {
+            CompletableFuture<String> mine = new CompletableFuture<>();
+            existing = prices.putIfAbsent(key, mine);
+            if (existing == null) {
+                try {
+                    mine.complete(resolve(key));
+                } catch (RuntimeException e) {
+                    // Forget the failure so the next caller retries instead of inheriting it
+                    prices.remove(key, mine);
+                    mine.completeExceptionally(e);
+                    throw e;
+                }
+                return mine.join();
+            }
+        }
+        try {
+            return existing.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmOnStartup() {
+        if (warmOnStartup) warm();
+    }
+
+    /** Loads stored prices, then adopts any of our prices found in Stripe that are not stored yet. */
+    public void warm() {
+        for (PriceRow row : priceRepository.findAll()) {
+            prices.putIfAbsent(new PriceKey(row.currency(), row.unitAmount(), row.interval()),
+                    CompletableFuture.completedFuture(row.priceId()));
+        }
+        int adopted = 0;
+        try {
+            for (Price price : listRemote()) {
+                if (price.getLookupKey() == null || !price.getLookupKey().startsWith(LOOKUP_KEY_PREFIX)
+                        || price.getRecurring() == null) continue;
+                PriceKey key = new PriceKey(price.getCurrency(), price.getUnitAmount(), price.getRecurring().getInterval());
+                if (prices.containsKey(key)) continue;
+                String priceId = priceRepository.saveIfAbsent(row(key, price.getId()));
+                prices.putIfAbsent(key, CompletableFuture.completedFuture(priceId));
+                adopted++;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not warm Stripe price catalog from Stripe, continuing with stored prices: {}", e.getMessage());
+        }
+        log.info("Stripe price catalog warmed with {} prices ({} adopted from Stripe)", prices.size(), adopted);
+    }
+
+    private String resolve(PriceKey key) {
+        var stored = priceRepository.findPriceId(key.currency(), key.unitAmount(), key.interval());
+        if (stored.isPresent()) return stored.get();
+        String priceId = findRemote(key);
+        if (priceId == null) {
+            try {
+                priceId = createRemote(key);
+                log.info("Created Stripe price {} for {}", priceId, key.lookupKey());
+            } catch (PaymentProviderUnavailableException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                // Most likely another instance took the lookup key since our lookup
+                priceId = findRemote(key);
+                if (priceId == null) throw e;
+                log.info("Adopted Stripe price {} for {} created concurrently", priceId, key.lookupKey());
+            }
+        }
+        return priceRepository.saveIfAbsent(row(key, priceId));
+    }
+
+    // ----- Stripe calls (package-private so tests can stub them) -----
+
+    Iterable<Price> listRemote() {
+        PriceListParams params = PriceListParams.builder()
+                .setActive(true)
+                .setCurrency(CURRENCY)
+                .setType(PriceListParams.Type.RECURRING)
+                .setLimit(100L)
+                .build();
+        try {
+            // Page through inside the guarded call so every page fetch is bounded by it
+            return gateway.read("price.list", options -> {
+                List<Price> all = new ArrayList<>();
+                Price.list(params, options).autoPagingIterable().forEach(all::add);
+                return all;
+            });
+        } catch (StripeException e) {
+            throw new RuntimeException("Failed to list Stripe prices: " + e.getMessage(), e);
+        }
+    }
+
+    String findRemote(PriceKey key) {
+        PriceListParams params = PriceListParams.builder()
+                .addLookupKey(key.lookupKey())
+                .setActive(true)
+                .build();
+        try {
+            return gateway.read("price.lookup", options -> Price.list(params, options)
+                    .getData().stream().findFirst().map(Price::getId).orElse(null));
+        } catch (StripeException e) {
+            throw new RuntimeException("Failed to look up Stripe price: " + e.getMessage(), e);
+        }
+    }
+
+    String createRemote(PriceKey key) {
+        try {
+            PriceCreateParams params = PriceCreateParams.builder()
+                    .setCurrency(key.currency())
+                    .setUnitAmount(key.unitAmount())
+                    .setLookupKey(key.lookupKey())
+                    .setRecurring(PriceCreateParams.Recurring.builder()
+                            .setInterval(PriceCreateParams.Recurring.Interval.valueOf(key.interval().toUpperCase()))
+                            .build())
+                    .putExtraParam("product_data[name]", "Monthly Child Savings Contribution")
+                    .build();
+            String idempotencyKey = idempotencyKey(key);
+            return gateway.write("price.create", options -> Price.create(params, options.toBuilderFullCopy()
+                    .setIdempotencyKey(idempotencyKey)
+                    .build()).getId());
+        } catch (StripeException e) {
+            throw new RuntimeException("Failed to create Stripe price: " + e.getMessage(), e);
+        }
+    }
+
+    static String idempotencyKey(PriceKey key) {
+        return key.lookupKey() + "_" + UUID.randomUUID();
+    }
+
+    private static PriceRow row(PriceKey key, String priceId) {
+        return new PriceRow(key.currency(), key.unitAmount(), key.interval(), priceId);
+    }
+}
@@ -1,26 +1,40 @@
 package com.amanah.service;
 
+import com.amanah.entity.Money;
 import com.stripe.Stripe;
 import com.stripe.exception.StripeException;
 import com.stripe.model.Customer;
-import com.stripe.model.Price;
+import com.stripe.model.SetupIntent;
 import com.stripe.model.Subscription;
 import com.stripe.param.CustomerCreateParams;
 import com.stripe.param.CustomerUpdateParams;
-import com.stripe.param.PriceCreateParams;
+import com.stripe.param.SetupIntentCreateParams;
 import com.stripe.param.SubscriptionCancelParams;
 import com.stripe.param.SubscriptionCreateParams;
 import com.stripe.param.SubscriptionUpdateParams;
 import com.stripe.param.common.EmptyParam;
 import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.UUID;
 
+/**
+ * Stripe operations used by the app. Every call goes through {@link StripeGateway}, so it is bounded by
+ * the Stripe bulkhead, breaker and timeouts.
+ */
 @Service
+@RequiredArgsConstructor
 public class StripeService {
 
+    /** Stripe only charges three-decimal currencies such as BHD in multiples of 10 minor units. */
+    static final long BHD_CHARGE_INCREMENT_FILS = 10;
+
+    private final StripePriceCatalog priceCatalog;
+    private final StripeGateway gateway;
+
     @Value("${stripe.secret-key}")
     private String secretKey;
 
@@ -29,20 +43,72 @@ public class StripeService {
         Stripe.apiKey = secretKey;
     }
 
-    public String createCustomer(String email, String name) {
+    public String createCustomer(UUID parentId, String email, String name) {
         try {
             CustomerCreateParams params = CustomerCreateParams.builder()
                     .setEmail(email)
                     .setName(name)
                     .build();
-            Customer customer = Customer.create(params);
-            return customer.getId();
+            return gateway.write("customer.create", options -> Customer.create(params, options.toBuilderFullCopy()
+                    .setIdempotencyKey(customerIdempotencyKey(parentId))
+                    .build()).getId());
         } catch (StripeException e) {
             throw new RuntimeException("Failed to create Stripe customer: " + e.getMessage(), e);
         }
     }
 
-    public String createSubscription(String customerId, String paymentMethodId, BigDecimal monthlyAmount) {
+    /**
+     * Idempotency key of a parent's customer creation: concurrent first uses for the same parent get the
+     * same customer back from Stripe instead of one customer each.
+     */
+    static String customerIdempotencyKey(UUID parentId) {
+        return "amanah_customer_" + parentId;
+    }
+
+    /** Deletes a customer the app ended up not storing, so it is not left behind in Stripe. */
+    public void deleteCustomer(String customerId) {
+        try {
+            gateway.write("customer.delete", options -> Customer.retrieve(customerId, options).delete(options));
+        } catch (StripeException e) {
+            throw new RuntimeException("Failed to delete Stripe customer: " + e.getMessage(), e);
+        }
+    }
+
+    /** The customer a subscription bills. */
+    public String getSubscriptionCustomer(String subscriptionId) {
+        try {
+            return gateway.read("subscription.retrieve",
+                    options -> Subscription.retrieve(subscriptionId, options).getCustomer());
+        } catch (StripeException e) {
+            throw new RuntimeException("Failed to retrieve Stripe subscription: " + e.getMessage(), e);
+        }
+    }
+
+    /** Client secret of a SetupIntent that saves a card on the customer for off-session charges. */
+    public String createSetupIntent(String customerId) {
+        try {
+            SetupIntentCreateParams params = SetupIntentCreateParams.builder()
+                    .setCustomer(customerId)
+                    .addPaymentMethodType("card")
+                    .setUsage(SetupIntentCreateParams.Usage.OFF_SESSION)
+                    .build();
+            return gateway.write("setup_intent.create", options -> SetupIntent.create(params, options).getClientSecret());
+        } catch (StripeException e) {
+            throw new RuntimeException("Failed to create SetupIntent: " + e.getMessage(), e);
+        }
+    }
+
+    /** The amount Stripe will actually charge for {@code amount}: rounded half-up to a chargeable multiple of fils. */
+    public static Money chargeableAmount(Money amount) {
+        return amount.roundTo(BHD_CHARGE_INCREMENT_FILS, RoundingMode.HALF_UP);
+    }
+
+    /** {@code monthlyAmount} must already be {@link #chargeableAmount chargeable}. */
+    public String createSubscription(String customerId, String paymentMethodId, Money monthlyAmount) {
+        // Checked before any Stripe call, so a rejected amount leaves the customer untouched
+        if (!chargeableAmount(monthlyAmount).equals(monthlyAmount)) {
+            throw new IllegalArgumentException("Stripe cannot charge " + monthlyAmount + " BHD");
+        }
         try {
             // The payment method was already attached to the customer by the SetupIntent confirm.
             // Just ensure it is set as the default invoice payment method.
@@ -52,32 +118,23 @@ public class StripeService {
                                     .setDefaultPaymentMethod(paymentMethodId)
                                     .build())
                     .build();
-            Customer.retrieve(customerId).update(customerUpdateParams);
+            gateway.write("customer.update",
+                    options -> Customer.retrieve(customerId, options).update(customerUpdateParams, options));
 
-            // BHD uses fils (1 BHD = 1000 fils), so multiply by 1000
-            long unitAmount = monthlyAmount.multiply(BigDecimal.valueOf(1000)).longValue();
+            long unitAmount = monthlyAmount.fils();
 
-            // Create a Price first (the /v1/prices endpoint supports inline product_data)
-            PriceCreateParams priceParams = PriceCreateParams.builder()
-                    .setCurrency("bhd")
-                    .setUnitAmount(unitAmount)
-                    .setRecurring(PriceCreateParams.Recurring.builder()
-                            .setInterval(PriceCreateParams.Recurring.Interval.MONTH)
-                            .build())
-                    .putExtraParam("product_data[name]", "Monthly Child Savings Contribution")
-                    .build();
-            Price price = Price.create(priceParams);
+            // One shared price per amount; only the first subscription at a new amount creates it
+            String priceId = priceCatalog.monthlyPriceId(unitAmount);
 
             // Create the subscription referencing the price ID
             SubscriptionCreateParams params = SubscriptionCreateParams.builder()
                     .setCustomer(customerId)
                     .addItem(SubscriptionCreateParams.Item.builder()
-                            .setPrice(price.getId())
+                            .setPrice(priceId)
                             .build())
                     .build();
 
-            Subscription subscription = Subscription.create(params);
-            return subscription.getId();
+            return gateway.write("subscription.create", options -> Subscription.create(params, options).getId());
         } catch (StripeException e) {
             throw new RuntimeException("Failed to create Stripe subscription: " + e.getMessage(), e);
         }
@@ -85,13 +142,13 @@ public class StripeService {
 
     public void pauseSubscription(String subscriptionId) {
         try {
-            Subscription subscription = Subscription.retrieve(subscriptionId);
             SubscriptionUpdateParams params = SubscriptionUpdateParams.builder()
                     .setPauseCollection(SubscriptionUpdateParams.PauseCollection.builder()
                             .setBehavior(SubscriptionUpdateParams.PauseCollection.Behavior.VOID)
                             .build())
                     .build();
-            subscription.update(params);
+            gateway.write("subscription.pause",
+                    options -> Subscription.retrieve(subscriptionId, options).update(params, options));
         } catch (StripeException e) {
             throw new RuntimeException("Failed to pause Stripe subscription: " + e.getMessage(), e);
         }
@@ -99,11 +156,11 @@ public class StripeService {
 
     public void resumeSubscription(String subscriptionId) {
         try {
-            Subscription subscription = Subscription.retrieve(subscriptionId);
             SubscriptionUpdateParams params = SubscriptionUpdateParams.builder()
                     .setPauseCollection(EmptyParam.EMPTY)
                     .build();
-            subscription.update(params);
+            gateway.write("subscription.resume",
+                    options -> Subscription.retrieve(subscriptionId, options).update(params, options));
         } catch (StripeException e) {
             throw new RuntimeException("Failed to resume Stripe subscription: " + e.getMessage(), e);
         }
@@ -111,8 +168,8 @@ public class StripeService {
 
     public void cancelSubscription(String subscriptionId) {
         try {
-            Subscription subscription = Subscription.retrieve(subscriptionId);
-            subscription.cancel(SubscriptionCancelParams.builder().build());
+            gateway.write("subscription.cancel", options -> Subscription.retrieve(subscriptionId, options)
+                    .cancel(SubscriptionCancelParams.builder().build(), options));
         } catch (StripeException e) {
             throw new RuntimeException("Failed to cancel Stripe subscription: " + e.getMessage(), e);
         }
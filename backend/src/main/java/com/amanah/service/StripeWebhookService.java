@@ -0,0 +1,278 @@
+package com.amanah.service;
+
+import com.amanah.config.Threads;
+import com.amanah.entity.Goal;
+import com.amanah.entity.Money;
+import com.amanah.entity.Transaction;
+import com.amanah.event.DashboardInvalidationEvent;
+import com.amanah.repository.GoalRepository;
+import com.amanah.repository.LedgerJdbcRepository;
+import com.amanah.repository.LedgerJdbcRepository.LedgerEntry;
+import com.amanah.repository.SimulationBatchRepository;
+import com.amanah.repository.SimulationBatchRepository.PortfolioRow;
+import com.amanah.repository.WebhookInboxRepository;
+import com.amanah.repository.WebhookInboxRepository.InboxEvent;
+import com.stripe.exception.EventDataObjectDeserializationException;
+import com.stripe.exception.SignatureVerificationException;
+import com.stripe.model.Event;
+import com.stripe.model.Invoice;
+import com.stripe.model.StripeObject;
+import com.stripe.model.Subscription;
+import com.stripe.net.ApiResource;
+import com.stripe.net.Webhook;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stripe webhooks go through the {@code stripe_webhook_events} inbox: the endpoint only verifies the
+ * signature and stores the event, and a small worker pool applies stored events in batches.
+ *
+ * <p>All {@code invoice.paid} events of a batch become one multi-row ledger write, committed together with
+ * the DONE marks, so an event is applied exactly once even if a worker dies mid-batch. If a batch fails,
+ * its events are retried one by one so a single bad event only delays itself; failed events back off
+ * exponentially and are parked as DEAD after {@code max-attempts}.
+ *
+ * <p>Events are counted by Stripe type as {@code amanah.stripe.webhook.events{type, outcome}}, where the
+ * outcome is {@code received}, {@code duplicate} or {@code invalid_signature} at intake and
+ * {@code applied}, {@code retry} or {@code dead} once processed.
+ */
+@Slf4j
+@Service
+public class StripeWebhookService {
+
+    static final String INVOICE_PAID = "invoice.paid";
+    static final String SUBSCRIPTION_DELETED = "customer.subscription.deleted";
+
+    private final WebhookInboxRepository inboxRepository;
+    private final GoalRepository goalRepository;
+    private final SimulationBatchRepository batchRepository;
+    private final LedgerJdbcRepository ledgerRepository;
+    private final GoalService goalService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final String webhookSecret;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final ThreadPoolExecutor workers;
+
+    public StripeWebhookService(WebhookInboxRepository inboxRepository,
+                                GoalRepository goalRepository,
+                                SimulationBatchRepository batchRepository,
+                                LedgerJdbcRepository ledgerRepository,
+                                GoalService goalService,
+                                TransactionTemplate transactionTemplate,
+                                ApplicationEventPublisher eventPublisher,
+                                MeterRegistry meterRegistry,
+                                @Value("${stripe.webhook-secret}") String webhookSecret,
+                                @Value("${amanah.stripe.webhook.workers:2}") int workerCount,
+                                @Value("${amanah.stripe.webhook.batch-size:200}") int batchSize,
+                                @Value("${amanah.stripe.webhook.max-attempts:8}") int maxAttempts,
+                                @Value("${amanah.stripe.webhook.lease:5m}") Duration lease,
+                                @Value("${amanah.stripe.webhook.base-backoff:30s}") Duration baseBackoff,
+                                @Value("${amanah.stripe.webhook.max-backoff:1h}") Duration maxBackoff,
+                                @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.inboxRepository = inboxRepository;
+        this.goalRepository = goalRepository;
+        this.batchRepository = batchRepository;
+        this.ledgerRepository = ledgerRepository;
+        this.goalService = goalService;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.webhookSecret = webhookSecret;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.lease = lease;
+        this.baseBackoff = baseBackoff;
+        this.maxBackoff = maxBackoff;
+        // No queue: a poll only starts workers for free slots, busy workers keep draining on their own
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(), Threads.factory("stripe-webhook-", virtualThreads),
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    /** A paid invoice resolved to the child whose goal it funds. */
+    record Payment(UUID childId, Money amount) {}
+
+    /** Ledger writes for a batch of payments; only portfolios that received money are present. */
+    record PaymentPlan(List<LedgerEntry> entries, Map<UUID, Money> balanceDeltas,
+                       Map<UUID, Money> portfolioValues) {}
+
+    // ----- Intake -----
+
+    /** Verifies and stores an event; redeliveries of an event we already hold are dropped here. */
+    public void receive(String payload, String signature) throws SignatureVerificationException {
+        Event event;
+        try {
+            event = Webhook.constructEvent(payload, signature, webhookSecret);
+        } catch (SignatureVerificationException e) {
+            count("unknown", "invalid_signature");
+            throw e;
+        }
+        if (inboxRepository.enqueue(event.getId(), event.getType(), payload)) {
+            count(event.getType(), "received");
+        } else {
+            log.debug("Duplicate Stripe event {} ignored", event.getId());
+            count(event.getType(), "duplicate");
+        }
+    }
+
+    // ----- Processing -----
+
+    @Scheduled(fixedDelayString = "${amanah.stripe.webhook.poll-interval-ms:1000}")
+    public void poll() {
+        for (int i = 0; i < workers.getMaximumPoolSize(); i++) {
+            workers.execute(this::drain);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdown();
+    }
+
+    /** Claims and applies batches until the inbox has nothing due. Returns the number of events handled. */
+    public int drain() {
+        int handled = 0;
+        while (true) {
+            List<InboxEvent> batch = inboxRepository.claimDue(batchSize, lease);
+            if (batch.isEmpty()) return handled;
+            process(batch);
+            handled += batch.size();
+            if (batch.size() < batchSize) return handled;
+        }
+    }
+
+    void process(List<InboxEvent> batch) {
+        try {
+            transactionTemplate.execute(status -> apply(batch));
+            batch.forEach(event -> count(event.type(), "applied"));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                fail(batch.get(0), e);
+                return;
+            }
+            log.warn("Stripe webhook batch of {} failed, retrying events individually", batch.size(), e);
+            for (InboxEvent event : batch) {
+                try {
+                    transactionTemplate.execute(status -> apply(List.of(event)));
+                    count(event.type(), "applied");
+                } catch (RuntimeException single) {
+                    fail(event, single);
+                }
+            }
+        }
+    }
+
+    private Void apply(List<InboxEvent> events) {
+        Map<String, List<Long>> paidBySubscription = new LinkedHashMap<>();
+        List<String> cancelledSubscriptions = new ArrayList<>();
+        for (InboxEvent inboxEvent : events) {
+            StripeObject object = dataObject(inboxEvent);
+            if (INVOICE_PAID.equals(inboxEvent.type()) && object instanceof Invoice invoice
+                    && invoice.getSubscription() != null) {
+                paidBySubscription.computeIfAbsent(invoice.getSubscription(), k -> new ArrayList<>())
+                        .add(invoice.getAmountPaid());
+            } else if (SUBSCRIPTION_DELETED.equals(inboxEvent.type()) && object instanceof Subscription sub) {
+                cancelledSubscriptions.add(sub.getId());
+            }
+        }
+
+        if (!paidBySubscription.isEmpty()) {
+            List<Payment> payments = new ArrayList<>();
+            for (Goal goal : goalRepository.findAllByStripeSubscriptionIdIn(paidBySubscription.keySet())) {
+                for (Long amountPaid : paidBySubscription.get(goal.getStripeSubscriptionId())) {
+                    // amount_paid is in fils, Money's unit, so the ledger records exactly what Stripe charged
+                    payments.add(new Payment(goal.getChildId(), Money.ofFils(amountPaid)));
+                }
+            }
+            if (!payments.isEmpty()) {
+                Set<UUID> childIds = new HashSet<>();
+                payments.forEach(p -> childIds.add(p.childId()));
+                PaymentPlan plan = plan(payments, batchRepository.lockPortfolios(childIds));
+                ledgerRepository.insertTransactions(plan.entries());
+                ledgerRepository.creditBalances(plan.balanceDeltas());
+                ledgerRepository.addToMonthlySummaries(plan.entries());
+                ledgerRepository.setPortfolioValues(plan.portfolioValues());
+                childIds.forEach(id -> eventPublisher.publishEvent(DashboardInvalidationEvent.forChild(id)));
+            }
+        }
+        cancelledSubscriptions.forEach(goalService::pauseForCancelledSubscription);
+
+        inboxRepository.markDone(events.stream().map(InboxEvent::eventId).toList());
+        return null;
+    }
+
+    private void fail(InboxEvent event, RuntimeException e) {
+        String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        if (event.attempts() >= maxAttempts) {
+            log.error("Stripe event {} ({}) dead after {} attempts: {}", event.eventId(), event.type(), event.attempts(), error);
+            inboxRepository.markDead(event.eventId(), error);
+            count(event.type(), "dead");
+        } else {
+            inboxRepository.scheduleRetry(event.eventId(), Instant.now().plus(backoff(event.attempts())), error);
+            count(event.type(), "retry");
+        }
+    }
+
+    private void count(String type, String outcome) {
+        meterRegistry.counter("amanah.stripe.webhook.events", "type", type, "outcome", outcome).increment();
+    }
+
+    /** Exponential backoff after the given (1-based) attempt, capped at {@code max-backoff}. */
+    Duration backoff(int attempts) {
+        Duration delay = baseBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static StripeObject dataObject(InboxEvent inboxEvent) {
+        Event event = ApiResource.GSON.fromJson(inboxEvent.payload(), Event.class);
+        try {
+            // Unsafe tolerates an API-version mismatch instead of silently dropping the payment
+            return event.getDataObjectDeserializer().deserializeUnsafe();
+        } catch (EventDataObjectDeserializationException e) {
+            throw new IllegalStateException("Cannot deserialize data of Stripe event " + inboxEvent.eventId(), e);
+        }
+    }
+
+    /** Splits each payment per {@link ContributionSplit}, accumulating into the locked portfolio values. */
+    static PaymentPlan plan(List<Payment> payments, List<PortfolioRow> portfolios) {
+        Map<UUID, PortfolioRow> portfolioByChild = new HashMap<>();
+        portfolios.forEach(p -> portfolioByChild.put(p.childId(), p));
+
+        List<LedgerEntry> entries = new ArrayList<>(payments.size());
+        Map<UUID, Money> balanceDeltas = new HashMap<>();
+        Map<UUID, Money> values = new HashMap<>();
+        for (Payment payment : payments) {
+            PortfolioRow portfolio = portfolioByChild.get(payment.childId());
+            ContributionSplit split;
+            if (portfolio != null) {
+                split = ContributionSplit.of(payment.amount(), portfolio.allocationPercentage());
+                values.merge(portfolio.id(), portfolio.currentValue().plus(split.invested()),
+                        (current, ignored) -> current.plus(split.invested()));
+            } else {
+                split = ContributionSplit.savingsOnly(payment.amount());
+            }
+            entries.add(new LedgerEntry(payment.childId(), split.savings(), Transaction.TransactionType.AUTO));
+            balanceDeltas.merge(payment.childId(), split.savings(), Money::plus);
+        }
+        return new PaymentPlan(entries, balanceDeltas, values);
+    }
+}
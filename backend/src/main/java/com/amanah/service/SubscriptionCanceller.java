@@ -0,0 +1,30 @@
+package com.amanah.service;
+
+import com.amanah.event.SubscriptionCancellationEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Cancels orphaned subscriptions after commit. A failure no longer undoes the delete, so it is logged with
+ * the subscription id for manual cancellation instead of being rethrown.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SubscriptionCanceller {
+
+    private final StripeService stripeService;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCancel(SubscriptionCancellationEvent event) {
+        for (String subscriptionId : event.subscriptionIds()) {
+            try {
+                stripeService.cancelSubscription(subscriptionId);
+            } catch (RuntimeException e) {
+                log.error("Could not cancel Stripe subscription {} of deleted data: {}", subscriptionId, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.amanah.service;
+
+import com.amanah.dto.TransactionExportRow;
+import com.amanah.repository.TransactionRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Full transaction exports as CSV or NDJSON. Rows come from a server-side cursor (see
+ * {@link TransactionRepository#streamForExportByChild}) and are written to the response as they arrive,
+ * so memory use does not depend on the number of rows. The read-only transaction keeps the cursor open
+ * for the whole export.
+ */
+@Service
+public class TransactionExportService {
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public static Format parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported export format: " + value);
+            }
+        }
+    }
+
+    static final String CSV_HEADER = "id,child_id,child_name,amount,type,date";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final TransactionRepository transactionRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+
+    public TransactionExportService(TransactionRepository transactionRepository, ObjectMapper objectMapper) {
+        this.transactionRepository = transactionRepository;
+        this.objectMapper = objectMapper;
+        // Flushing is left to the buffer; a flush per row would be a network write per row
+        this.rowWriter = objectMapper.writerFor(TransactionExportRow.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /** Writes every transaction of the child and returns the number of rows. Ownership is the caller's check. */
+    @Transactional(readOnly = true)
+    public long exportChild(UUID childId, Format format, OutputStream out) throws IOException {
+        try (Stream<TransactionExportRow> rows = transactionRepository.streamForExportByChild(childId)) {
+            return write(rows, format, out);
+        }
+    }
+
+    /** Writes the transactions of all of the parent's children and returns the number of rows. */
+    @Transactional(readOnly = true)
+    public long exportFamily(UUID parentId, Format format, OutputStream out) throws IOException {
+        try (Stream<TransactionExportRow> rows = transactionRepository.streamForExportByParent(parentId)) {
+            return write(rows, format, out);
+        }
+    }
+
+    long write(Stream<TransactionExportRow> rows, Format format, OutputStream out) throws IOException {
+        // The output stream belongs to the container: flushed here, never closed
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        long count = switch (format) {
+            case CSV -> writeCsv(rows, writer);
+            case NDJSON -> writeNdjson(rows, writer);
+        };
+        writer.flush();
+        return count;
+    }
+
+    private static long writeCsv(Stream<TransactionExportRow> rows, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        long count = 0;
+        for (TransactionExportRow row : (Iterable<TransactionExportRow>) rows::iterator) {
+            writer.write(row.id().toString());
+            writer.write(',');
+            writer.write(row.childId().toString());
+            writer.write(',');
+            writer.write(csvField(row.childName()));
+            writer.write(',');
+            writer.write(row.amount().toPlainString());
+            writer.write(',');
+            writer.write(row.type().name());
+            writer.write(',');
+            writer.write(row.date() != null ? row.date().toString() : "");
+            writer.write("\r\n");
+            count++;
+        }
+        return count;
+    }
+
+    private long writeNdjson(Stream<TransactionExportRow> rows, Writer writer) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        long count = 0;
+        for (TransactionExportRow row : (Iterable<TransactionExportRow>) rows::iterator) {
+            rowWriter.writeValue(generator, row);
+            generator.writeRaw('\n');
+            count++;
+        }
+        generator.flush();
+        return count;
+    }
+
+    /**
+     * RFC 4180: quoted when it holds a separator, quote or line break, with quotes doubled. Text starting
+     * with a formula character gets a leading apostrophe so spreadsheets show it instead of evaluating it.
+     */
+    static String csvField(String value) {
+        if (value == null) return "";
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
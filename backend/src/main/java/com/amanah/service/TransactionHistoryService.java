@@ -0,0 +1,79 @@
+package com.amanah.service;
+
+import com.amanah.dto.TransactionFilter;
+import com.amanah.dto.TransactionPage;
+import com.amanah.dto.TransactionResponse;
+import com.amanah.entity.Transaction;
+import com.amanah.repository.TransactionRepository;
+import com.amanah.repository.TransactionTotalsRepository.Totals;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static com.amanah.repository.TransactionSpecifications.*;
+
+/**
+ * Cursor-paginated transaction history on {@code (date DESC, id DESC)}. The cursor is an opaque
+ * token of the last row returned, so paging stays stable while new contributions arrive. Each page is
+ * an index range read of {@code limit + 1} rows; totals scan the whole filtered history, so they are
+ * only computed when asked for on the first page.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionHistoryService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    /** Rows embedded in detail responses; the rest is fetched through the history endpoints. */
+    public static final int PREVIEW_SIZE = 10;
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("date"), Sort.Order.desc("id"));
+
+    private final TransactionRepository transactionRepository;
+
+    public TransactionPage page(UUID childId, TransactionFilter filter, String cursor, Integer limit, boolean withTotals) {
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        boolean firstPage = cursor == null || cursor.isBlank();
+        Specification<Transaction> range = forAccount(childId).and(matching(filter));
+        Specification<Transaction> pageSpec = firstPage ? range : range.and(decode(cursor));
+
+        List<Transaction> rows = transactionRepository.findBy(pageSpec,
+                q -> q.sortBy(NEWEST_FIRST).limit(size + 1).all());
+        Totals totals = withTotals && firstPage ? transactionRepository.totals(range) : null;
+
+        boolean hasMore = rows.size() > size;
+        List<Transaction> items = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = hasMore ? encode(items.get(items.size() - 1)) : null;
+        return new TransactionPage(TransactionResponse.of(items), nextCursor,
+                totals != null ? totals.count() : null, totals != null ? totals.sum() : null);
+    }
+
+    /** The detail preview; its count comes from the monthly rollup instead (see {@link MonthlySummaryService#transactionCount}). */
+    public TransactionPage firstPage(UUID childId) {
+        return page(childId, TransactionFilter.NONE, null, PREVIEW_SIZE, false);
+    }
+
+    public static String encode(Transaction tx) {
+        String raw = tx.getDate() + "|" + tx.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Specification<Transaction> decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            return before(OffsetDateTime.parse(raw.substring(0, sep)), UUID.fromString(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
@@ -2,28 +2,35 @@ package com.amanah.service;
 
 import com.amanah.dto.AuthResponse;
 import com.amanah.entity.User;
+import com.amanah.event.DashboardInvalidationEvent;
+import com.amanah.event.SubscriptionCancellationEvent;
+import com.amanah.event.TokenRevocationEvent;
+import com.amanah.repository.AccountDeletionRepository;
+import com.amanah.repository.GoalRepository;
 import com.amanah.repository.UserRepository;
-import io.jsonwebtoken.Jwts;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.crypto.SecretKey;
-import javax.crypto.spec.SecretKeySpec;
-import java.nio.charset.StandardCharsets;
-import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.UUID;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private final JwtService jwtService;
+    private final GoalRepository goalRepository;
+    private final StripeService stripeService;
+    private final AccountDeletionRepository accountDeletionRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ----- Auth -----
 
@@ -67,19 +74,81 @@ public class UserService {
         return userRepository.save(user);
     }
 
+    /**
+     * Erases the user with their children, personal goals and every ledger in one statement (see
+     * {@link AccountDeletionRepository}); the family's Stripe subscriptions are cancelled once it has committed.
+     * The user's tokens stop authenticating as soon as it has committed.
+     */
+    @Transactional
+    public void deleteAccount(UUID id) {
+        AccountDeletionRepository.Deleted deleted = accountDeletionRepository.deleteAccount(id)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        eventPublisher.publishEvent(new TokenRevocationEvent(id));
+        if (!deleted.subscriptionIds().isEmpty()) {
+            eventPublisher.publishEvent(new SubscriptionCancellationEvent(deleted.subscriptionIds()));
+        }
+        eventPublisher.publishEvent(DashboardInvalidationEvent.forParent(id));
+    }
+
+    // ----- Stripe -----
+
+    /**
+     * The parent's Stripe customer id, creating and persisting the customer on first use.
+     * Costs a primary-key read when the mapping exists and one Stripe round-trip otherwise.
+     * A customer created by the loser of a concurrent first use is deleted rather than left in Stripe.
+     */
+    public String getOrCreateStripeCustomer(UUID parentId) {
+        User user = getById(parentId);
+        if (user.getStripeCustomerId() != null) {
+            return user.getStripeCustomerId();
+        }
+        String customerId = stripeService.createCustomer(parentId,
+                user.getEmail() != null ? user.getEmail() : parentId.toString(),
+                user.getFullName() != null ? user.getFullName() : "Amanah User"
+        );
+        if (userRepository.assignStripeCustomerIfAbsent(parentId, customerId) == 1) {
+            return customerId;
+        }
+        // A concurrent request stored its customer first; use that one so the parent has a single customer.
+        // With the shared idempotency key it is usually this very customer; otherwise ours would be orphaned.
+        String stored = userRepository.findStripeCustomerId(parentId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        if (!stored.equals(customerId)) {
+            try {
+                stripeService.deleteCustomer(customerId);
+                log.info("Deleted duplicate Stripe customer {} for parent {}", customerId, parentId);
+            } catch (RuntimeException e) {
+                log.error("Could not delete duplicate Stripe customer {} for parent {}: {}", customerId, parentId, e.getMessage());
+            }
+        }
+        return stored;
+    }
+
+    /**
+     * One-time backfill for parents created before customers were persisted: recovers the customer from
+     * the first of their subscriptions that Stripe still knows about. Returns the number of parents mapped.
+     */
+    public int backfillStripeCustomers() {
+        Set<UUID> mapped = new HashSet<>();
+        for (GoalRepository.SubscriptionOwner owner : goalRepository.findSubscriptionsOfParentsWithoutCustomer()) {
+            if (mapped.contains(owner.getParentId())) continue;
+            try {
+                String customerId = stripeService.getSubscriptionCustomer(owner.getSubscriptionId());
+                if (customerId != null && userRepository.assignStripeCustomerIfAbsent(owner.getParentId(), customerId) == 1) {
+                    mapped.add(owner.getParentId());
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not resolve customer for subscription {}: {}", owner.getSubscriptionId(), e.getMessage());
+            }
+        }
+        log.info("Backfilled Stripe customers for {} parents", mapped.size());
+        return mapped.size();
+    }
+
     // ----- Helpers -----
 
     private String generateToken(User user) {
-        SecretKey key = new SecretKeySpec(
-                jwtSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
-        return Jwts.builder()
-                .subject(user.getId().toString())
-                .claim("email", user.getEmail())
-                .claim("role", user.getRole().name())
-                .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis() + 7L * 24 * 60 * 60 * 1000))
-                .signWith(key)
-                .compact();
+        return jwtService.issue(user);
     }
 
     private AuthResponse.UserDto toDto(User user) {
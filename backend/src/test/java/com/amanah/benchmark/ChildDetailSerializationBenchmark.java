@@ -0,0 +1,90 @@
+package com.amanah.benchmark;
+
+import com.amanah.dto.*;
+import com.amanah.entity.Child;
+import com.amanah.entity.Goal;
+import com.amanah.entity.InvestmentPortfolio;
+import com.amanah.entity.Money;
+import com.amanah.entity.Transaction;
+import com.amanah.service.ForecastService;
+import com.amanah.service.TransactionHistoryService;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the {@code GET /api/children/{id}} response (child, first transaction page,
+ * goal, forecast summary and portfolio), with the mapper configured as in {@code application.properties}.
+ * {@code records} is the {@link ChildDetail} record with Blackbird as the application serves it;
+ * {@code entityMap} is the previous map of JPA entities on a plain mapper, for comparison.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChildDetailSerializationBenchmark {
+
+    private ObjectWriter plainWriter;
+    private ObjectWriter blackbirdWriter;
+    private Map<String, Object> entityMap;
+    private ChildDetail detail;
+
+    @Setup
+    public void setUp() {
+        plainWriter = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writer();
+        blackbirdWriter = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(new BlackbirdModule())
+                .build()
+                .writer();
+
+        Fixtures.Family family = Fixtures.family(1);
+        Child child = family.children().get(0);
+        Goal goal = family.goals().get(0);
+        InvestmentPortfolio portfolio = family.portfolios().get(0);
+        Money savings = family.balances().get(0).getBalance();
+        List<Transaction> transactions = Fixtures.transactions(child.getId(), TransactionHistoryService.PREVIEW_SIZE);
+        String nextCursor = "MjAyNi0wMS0wMVQwMDowMDowMFp8YWJj";
+        Forecast.Summary forecast = new ForecastService(600).summarize(
+                ForecastService.ForecastInput.of(goal, savings, portfolio, LocalDate.now()));
+
+        entityMap = new LinkedHashMap<>();
+        entityMap.put("child", child);
+        entityMap.put("transactions", transactions);
+        entityMap.put("transactionCount", 240L);
+        entityMap.put("transactionsNextCursor", nextCursor);
+        entityMap.put("savingsBalance", savings);
+        entityMap.put("goal", goal);
+        entityMap.put("monthsRemaining", 120L);
+        entityMap.put("projectedCompletion", forecast.projectedCompletion());
+        entityMap.put("onTrack", forecast.onTrack());
+        entityMap.put("investment", portfolio);
+
+        detail = new ChildDetail(ChildResponse.of(child), TransactionResponse.of(transactions), 240L, nextCursor,
+                savings, GoalResponse.of(goal), 120L, forecast.projectedCompletion(), forecast.onTrack(),
+                PortfolioResponse.of(portfolio), null);
+    }
+
+    @Benchmark
+    public byte[] records() throws Exception {
+        return blackbirdWriter.writeValueAsBytes(detail);
+    }
+
+    @Benchmark
+    public byte[] entityMap() throws Exception {
+        return plainWriter.writeValueAsBytes(entityMap);
+    }
+}
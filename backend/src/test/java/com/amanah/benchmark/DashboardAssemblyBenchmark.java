@@ -0,0 +1,55 @@
+package com.amanah.benchmark;
+
+import com.amanah.dto.Dashboard;
+import com.amanah.repository.ChildBalanceRepository;
+import com.amanah.repository.ChildRepository;
+import com.amanah.repository.GoalRepository;
+import com.amanah.repository.InvestmentPortfolioRepository;
+import com.amanah.service.BalanceService;
+import com.amanah.service.DashboardService;
+import com.amanah.service.ForecastService;
+import com.amanah.service.GoalService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Assembling the family dashboard (a cache miss) from already loaded rows: balance and goal lookups,
+ * per-child totals, progress and forecasts. Repositories are stubbed, so this is the CPU cost on top of
+ * the four queries.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DashboardAssemblyBenchmark {
+
+    @Param({"1", "5", "20"})
+    private int children;
+
+    private Fixtures.Family family;
+    private DashboardService dashboardService;
+
+    @Setup
+    public void setUp() {
+        family = Fixtures.family(children);
+        ChildRepository childRepository = Fixtures.stub(ChildRepository.class,
+                Map.of("findAllByParentId", args -> family.children()));
+        GoalRepository goalRepository = Fixtures.stub(GoalRepository.class,
+                Map.of("findAllByChildIdIn", args -> family.goals()));
+        InvestmentPortfolioRepository portfolioRepository = Fixtures.stub(InvestmentPortfolioRepository.class,
+                Map.of("findAllByChildIdIn", args -> family.portfolios()));
+        ChildBalanceRepository balanceRepository = Fixtures.stub(ChildBalanceRepository.class,
+                Map.of("findAllByChildIdIn", args -> family.balances()));
+        dashboardService = new DashboardService(childRepository, new GoalService(goalRepository, event -> {}),
+                new BalanceService(balanceRepository), portfolioRepository, new ForecastService(600));
+    }
+
+    @Benchmark
+    public Dashboard assemble() {
+        return dashboardService.getDashboard(family.parentId());
+    }
+}
@@ -0,0 +1,81 @@
+package com.amanah.benchmark;
+
+import com.amanah.entity.Child;
+import com.amanah.entity.ChildBalance;
+import com.amanah.entity.Goal;
+import com.amanah.entity.InvestmentPortfolio;
+import com.amanah.entity.Money;
+import com.amanah.entity.Transaction;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Test data and allocation-free repository stubs for benchmarks. Mockito would add microseconds of
+ * bookkeeping per call and swamp the code being measured.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    /** A parent's family with a goal, a portfolio and a balance for every child. */
+    record Family(UUID parentId, List<Child> children, List<Goal> goals, List<InvestmentPortfolio> portfolios,
+                  List<ChildBalance> balances) {}
+
+    static Family family(int size) {
+        UUID parentId = UUID.randomUUID();
+        List<Child> children = new ArrayList<>(size);
+        List<Goal> goals = new ArrayList<>(size);
+        List<InvestmentPortfolio> portfolios = new ArrayList<>(size);
+        List<ChildBalance> balances = new ArrayList<>(size);
+        InvestmentPortfolio.PortfolioType[] types = InvestmentPortfolio.PortfolioType.values();
+        for (int i = 0; i < size; i++) {
+            UUID childId = UUID.randomUUID();
+            children.add(Child.builder().id(childId).parentId(parentId).name("Child " + i)
+                    .dateOfBirth(LocalDate.of(2015 + i % 8, 1 + i % 12, 1)).build());
+            goals.add(Goal.builder().id(UUID.randomUUID()).childId(childId).goalType("University")
+                    .targetAmount(new BigDecimal("25000.00")).targetDate(LocalDate.now().plusYears(10 + i % 8))
+                    .monthlyContribution(new BigDecimal("75.00")).build());
+            portfolios.add(InvestmentPortfolio.builder().id(UUID.randomUUID()).childId(childId)
+                    .portfolioType(types[i % types.length]).allocationPercentage(20 + i % 60)
+                    .currentValue(Money.ofFils(1_500_000 + i * 12_345L)).build());
+            balances.add(ChildBalance.builder().childId(childId).balance(Money.ofFils(3_200_000 + i * 7_890L)).build());
+        }
+        return new Family(parentId, children, goals, portfolios, balances);
+    }
+
+    static List<Transaction> transactions(UUID childId, int count) {
+        List<Transaction> transactions = new ArrayList<>(count);
+        OffsetDateTime now = OffsetDateTime.now();
+        for (int i = 0; i < count; i++) {
+            transactions.add(Transaction.builder().id(UUID.randomUUID()).childId(childId)
+                    .amount(BigDecimal.valueOf(60_000 + i * 125L, 3))
+                    .type(i % 3 == 0 ? Transaction.TransactionType.MANUAL : Transaction.TransactionType.AUTO)
+                    .date(now.minusDays(i * 30L)).build());
+        }
+        return transactions;
+    }
+
+    /**
+     * Implements a repository interface with the given answers by method name; any other call fails,
+     * so a benchmark cannot silently measure an unstubbed path.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer == null) {
+                throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName() + " is not stubbed");
+            }
+            return answer.apply(args);
+        });
+    }
+}
@@ -0,0 +1,66 @@
+package com.amanah.benchmark;
+
+import com.amanah.entity.User;
+import com.amanah.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating a bearer token: the original filter (key and parser rebuilt on
+ * every request), the shared parser alone (cache disabled) and the verified-token cache hit path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-0123456789";
+
+    private String token;
+    private JwtService uncached;
+    private JwtService cached;
+
+    @Setup
+    public void setUp() {
+        cached = new JwtService(SECRET, 10_000);
+        uncached = new JwtService(SECRET, 0);
+        token = cached.issue(User.builder()
+                .id(UUID.randomUUID())
+                .email("parent@example.com")
+                .role(User.UserRole.parent)
+                .build());
+        cached.verify(token);
+    }
+
+    @Benchmark
+    public UUID perRequestParser() {
+        SecretKey key = new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        Claims claims = Jwts.parser()
+                .verifyWith(key)
+                .clockSkewSeconds(60)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+        return UUID.fromString(claims.getSubject());
+    }
+
+    @Benchmark
+    public UUID sharedParser() {
+        return uncached.verify(token);
+    }
+
+    @Benchmark
+    public UUID cachedVerification() {
+        return cached.verify(token);
+    }
+}
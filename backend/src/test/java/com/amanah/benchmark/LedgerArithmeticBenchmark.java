@@ -0,0 +1,91 @@
+package com.amanah.benchmark;
+
+import com.amanah.entity.InvestmentPortfolio.PortfolioType;
+import com.amanah.entity.Money;
+import com.amanah.service.ContributionSplit;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One monthly simulation step (split a contribution, add the invested share to the portfolio, apply a
+ * month of growth, credit the balance) over a batch of goals: the previous {@code BigDecimal} code
+ * against {@link Money}. {@link #split} and {@link #monthlyGrowth} isolate the two halves of the
+ * {@code Money} path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LedgerArithmeticBenchmark {
+
+    private static final int GOALS = 1_000;
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final BigDecimal[] amounts = new BigDecimal[GOALS];
+    private final BigDecimal[] values = new BigDecimal[GOALS];
+    private final Money[] moneyAmounts = new Money[GOALS];
+    private final Money[] moneyValues = new Money[GOALS];
+    private final int[] allocations = new int[GOALS];
+    private final PortfolioType[] types = new PortfolioType[GOALS];
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < GOALS; i++) {
+            amounts[i] = BigDecimal.valueOf(1_000 + i * 37L, 2);
+            values[i] = BigDecimal.valueOf(100_000 + i * 1_013L, 2);
+            moneyAmounts[i] = Money.of(amounts[i]);
+            moneyValues[i] = Money.of(values[i]);
+            allocations[i] = i % 101;
+            types[i] = PortfolioType.values()[i % 3];
+        }
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        BigDecimal balance = BigDecimal.ZERO;
+        for (int i = 0; i < GOALS; i++) {
+            BigDecimal investPct = BigDecimal.valueOf(allocations[i]).divide(HUNDRED, 4, RoundingMode.HALF_UP);
+            BigDecimal invested = amounts[i].multiply(investPct).setScale(2, RoundingMode.HALF_UP);
+            BigDecimal growthFactor = BigDecimal.valueOf(1 + types[i].annualRate() / 12);
+            BigDecimal grown = values[i].add(invested).multiply(growthFactor, new MathContext(10, RoundingMode.HALF_UP))
+                    .setScale(2, RoundingMode.HALF_UP);
+            balance = balance.add(amounts[i].subtract(invested)).add(grown);
+        }
+        return balance;
+    }
+
+    @Benchmark
+    public Money money() {
+        Money balance = Money.ZERO;
+        for (int i = 0; i < GOALS; i++) {
+            ContributionSplit split = ContributionSplit.of(moneyAmounts[i], allocations[i]);
+            Money grown = types[i].applyMonthlyGrowth(moneyValues[i].plus(split.invested()));
+            balance = balance.plus(split.savings()).plus(grown);
+        }
+        return balance;
+    }
+
+    @Benchmark
+    public Money split() {
+        Money invested = Money.ZERO;
+        for (int i = 0; i < GOALS; i++) {
+            invested = invested.plus(ContributionSplit.of(moneyAmounts[i], allocations[i]).invested());
+        }
+        return invested;
+    }
+
+    @Benchmark
+    public Money monthlyGrowth() {
+        Money total = Money.ZERO;
+        for (int i = 0; i < GOALS; i++) {
+            total = total.plus(types[i].applyMonthlyGrowth(moneyValues[i]));
+        }
+        return total;
+    }
+}
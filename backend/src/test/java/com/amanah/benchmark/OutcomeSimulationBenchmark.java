@@ -0,0 +1,47 @@
+package com.amanah.benchmark;
+
+import com.amanah.dto.OutcomeSimulation;
+import com.amanah.entity.InvestmentPortfolio.PortfolioType;
+import com.amanah.entity.Money;
+import com.amanah.service.ForecastService.ForecastInput;
+import com.amanah.service.OutcomeSimulationService;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/** Latency of one outcome request at the size the endpoint is budgeted for: 50k paths over 18 years. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OutcomeSimulationBenchmark {
+
+    @Param({"1", "0"})
+    private int parallelism;
+
+    private OutcomeSimulationService service;
+    private ForecastInput input;
+
+    @Setup
+    public void setUp() {
+        service = new OutcomeSimulationService(Bulkhead.ofDefaults("outcomes"), parallelism, 20_000, 50_000,
+                0.05, 0.10, 0.15);
+        LocalDate start = LocalDate.of(2026, 1, 1);
+        input = new ForecastInput(start, Money.of("500"), Money.of("2000"), PortfolioType.GROWTH, 60,
+                Money.of("100"), Money.of("40000"), start.plusYears(18));
+    }
+
+    @TearDown
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    @Benchmark
+    public OutcomeSimulation fiftyThousandPaths() {
+        return service.simulate(input, 50_000, 42L);
+    }
+}
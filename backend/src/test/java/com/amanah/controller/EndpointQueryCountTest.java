@@ -0,0 +1,239 @@
+package com.amanah.controller;
+
+import com.amanah.entity.Money;
+import com.amanah.entity.Transaction;
+import com.amanah.entity.User;
+import com.amanah.filter.QueryBudget;
+import com.amanah.service.ContributionService;
+import com.amanah.service.JwtService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.amanah.filter.QueryCountAssertions.assertQueryCount;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs every endpoint that declares a {@link QueryBudget} against a real Postgres and pins the exact number
+ * of SQL statements it issues, so the budgets stay measured rather than estimated. Each test seeds its own
+ * family, which also keeps the per-parent dashboard cache cold.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "jwt.secret=query-count-test-secret-0123456789abcdef",
+        "stripe.secret-key=sk_test_unused",
+        "stripe.webhook-secret=whsec_unused",
+        "stripe.price-id=price_unused",
+        "amanah.stripe.prices.warm-on-startup=false",
+        "spring.sql.init.mode=always",
+        "spring.sql.init.schema-locations=classpath:db/app-schema.sql"
+})
+@AutoConfigureMockMvc
+class EndpointQueryCountTest {
+
+    /** Statements per budgeted endpoint ("METHOD pattern"); must equal the endpoint's {@code @QueryBudget}. */
+    private static final Map<String, Integer> PINNED = Map.of(
+            "GET /api/dashboard", 4,
+            "GET /api/dashboard/balance-history", 2,
+            "GET /api/children/{id}", 7,
+            "GET /api/children/{id}/transactions/monthly", 2,
+            "GET /api/children/{id}/balance-history", 2,
+            "DELETE /api/children/{id}", 1,
+            "GET /api/my-goals", 3,
+            "GET /api/my-goals/{goalId}/transactions/monthly", 2,
+            "DELETE /api/my-goals/{goalId}", 1,
+            "DELETE /api/me", 1);
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl() + "&stringtype=unspecified");
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ContributionService contributionService;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    @Test
+    void everyBudgetedEndpointIsPinnedAtItsBudget() {
+        Map<String, Integer> budgets = new HashMap<>();
+        handlerMapping.getHandlerMethods().forEach((info, method) -> {
+            QueryBudget budget = method.getMethodAnnotation(QueryBudget.class);
+            if (budget != null && budget.value() != QueryBudget.UNLIMITED) {
+                budgets.put(key(info), budget.value());
+            }
+        });
+
+        assertThat(budgets).isEqualTo(PINNED);
+    }
+
+    @Test
+    void dashboard() throws Exception {
+        Family family = family();
+        pin("GET /api/dashboard", get("/api/dashboard"), family.parentId());
+    }
+
+    @Test
+    void dashboardBalanceHistory() throws Exception {
+        Family family = family();
+        pin("GET /api/dashboard/balance-history", get("/api/dashboard/balance-history"), family.parentId());
+    }
+
+    @Test
+    void childDetail() throws Exception {
+        Family family = family();
+        pin("GET /api/children/{id}", get("/api/children/{id}", family.childId()), family.parentId());
+    }
+
+    @Test
+    void childMonthly() throws Exception {
+        Family family = family();
+        pin("GET /api/children/{id}/transactions/monthly",
+                get("/api/children/{id}/transactions/monthly", family.childId()), family.parentId());
+    }
+
+    @Test
+    void childBalanceHistory() throws Exception {
+        Family family = family();
+        pin("GET /api/children/{id}/balance-history",
+                get("/api/children/{id}/balance-history", family.childId()), family.parentId());
+    }
+
+    @Test
+    void deleteChild() throws Exception {
+        Family family = family();
+        pin("DELETE /api/children/{id}", delete("/api/children/{id}", family.childId()), family.parentId());
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM transactions WHERE child_id = ?", Long.class, family.childId())).isZero();
+    }
+
+    @Test
+    void myGoals() throws Exception {
+        Family family = family();
+        pin("GET /api/my-goals", get("/api/my-goals"), family.childUserId());
+    }
+
+    @Test
+    void myGoalMonthly() throws Exception {
+        Family family = family();
+        pin("GET /api/my-goals/{goalId}/transactions/monthly",
+                get("/api/my-goals/{goalId}/transactions/monthly", family.personalGoalId()), family.childUserId());
+    }
+
+    @Test
+    void deleteMyGoal() throws Exception {
+        Family family = family();
+        pin("DELETE /api/my-goals/{goalId}",
+                delete("/api/my-goals/{goalId}", family.personalGoalId()), family.childUserId());
+    }
+
+    @Test
+    void deleteAccount() throws Exception {
+        Family family = family();
+        pin("DELETE /api/me", delete("/api/me"), family.parentId());
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM children WHERE parent_id = ?", Long.class, family.parentId())).isZero();
+    }
+
+    private void pin(String endpoint, MockHttpServletRequestBuilder request, UUID userId) throws Exception {
+        String token = jwtService.issue(User.builder().id(userId).email(userId + "@example.com")
+                .role(User.UserRole.parent).build());
+        assertQueryCount(PINNED.get(endpoint), () -> mockMvc
+                .perform(request.header("Authorization", "Bearer " + token))
+                .andExpect(status().is2xxSuccessful()));
+    }
+
+    /** A parent with two funded children and a child user with a personal goal, each with some history. */
+    private Family family() {
+        UUID parentId = user(User.UserRole.parent);
+        UUID childId = null;
+        for (String name : new String[] {"Aisha", "Omar"}) {
+            UUID id = jdbcTemplate.queryForObject(
+                    "INSERT INTO children (parent_id, name, date_of_birth) VALUES (?, ?, ?) RETURNING id",
+                    UUID.class, parentId, name, LocalDate.now().minusYears(6));
+            jdbcTemplate.update("""
+                    INSERT INTO goals (child_id, goal_type, target_amount, target_date, monthly_contribution)
+                    VALUES (?, 'University', 50000, ?, 250)
+                    """, id, LocalDate.now().plusYears(12));
+            jdbcTemplate.update("""
+                    INSERT INTO investment_portfolios (child_id, portfolio_type, allocation_percentage, current_value)
+                    VALUES (?, 'BALANCED', 30, 0)
+                    """, id);
+            jdbcTemplate.update(
+                    "INSERT INTO fund_directives (child_id, guardian_name, instructions) VALUES (?, 'Uncle', 'Hold')", id);
+            for (int i = 0; i < 30; i++) {
+                contributionService.contribute(id, Money.of("25.00"), Transaction.TransactionType.MANUAL);
+            }
+            childId = childId == null ? id : childId;
+        }
+
+        UUID childUserId = user(User.UserRole.child);
+        UUID personalGoalId = jdbcTemplate.queryForObject("""
+                INSERT INTO personal_goals (user_id, goal_type, target_amount, target_date)
+                VALUES (?, 'Bike', 300, ?) RETURNING id
+                """, UUID.class, childUserId, LocalDate.now().plusMonths(8));
+        for (int i = 0; i < 12; i++) {
+            jdbcTemplate.update("INSERT INTO transactions (child_id, amount, type) VALUES (?, 5, 'MANUAL')",
+                    personalGoalId);
+        }
+        jdbcTemplate.update("INSERT INTO child_balances (child_id, balance) VALUES (?, 60)", personalGoalId);
+        jdbcTemplate.update("""
+                INSERT INTO transaction_monthly_summary (child_id, month, type, amount, transaction_count)
+                VALUES (?, date_trunc('month', now())::date, 'MANUAL', 60, 12)
+                """, personalGoalId);
+
+        return new Family(parentId, childId, childUserId, personalGoalId);
+    }
+
+    private UUID user(User.UserRole role) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, email, full_name, role) VALUES (?, ?, 'Test User', ?)",
+                id, id + "@example.com", role.name());
+        return id;
+    }
+
+    private static String key(RequestMappingInfo info) {
+        return info.getMethodsCondition().getMethods().iterator().next() + " "
+                + info.getPathPatternsCondition().getPatternValues().iterator().next();
+    }
+
+    private record Family(UUID parentId, UUID childId, UUID childUserId, UUID personalGoalId) {}
+}
@@ -0,0 +1,75 @@
+package com.amanah.dto;
+
+import com.amanah.entity.Goal;
+import com.amanah.entity.Money;
+import com.amanah.entity.User;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** The records keep the JSON field names the frontend reads from the former maps and entities. */
+class ResponseSerializationTest {
+
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .modulesToInstall(new BlackbirdModule())
+            .build();
+
+    @Test
+    void dashboardChildWithoutGoalLeavesGoalFieldsOut() {
+        Dashboard dashboard = new Dashboard(List.of(
+                new Dashboard.ChildSummary(UUID.randomUUID(), "Aisha", Money.of("250.000"), Money.of("50.000"),
+                        Money.of("300.000"), "University", new BigDecimal("1000.00"), new BigDecimal("25.00"), 24L,
+                        false, LocalDate.of(2030, 1, 1), Money.of("900.000"), false),
+                new Dashboard.ChildSummary(UUID.randomUUID(), "Omar", Money.ZERO, Money.ZERO, Money.ZERO,
+                        null, null, null, null, null, null, null, null)),
+                Money.of("300.000"));
+
+        JsonNode json = mapper.valueToTree(dashboard);
+
+        assertThat(json.get("totalFamilySavings").decimalValue()).isEqualByComparingTo("300");
+        assertThat(fieldNames(json.get("children").get(0))).containsExactly("childId", "name", "savingsBalance",
+                "investmentBalance", "totalValue", "goalType", "targetAmount", "progressPercent", "monthsRemaining",
+                "isPaused", "projectedCompletion", "projectedAtTargetDate", "onTrack");
+        assertThat(json.get("children").get(0).get("projectedCompletion").asText()).isEqualTo("2030-01-01");
+        assertThat(fieldNames(json.get("children").get(1))).containsExactly("childId", "name", "savingsBalance",
+                "investmentBalance", "totalValue");
+    }
+
+    @Test
+    void goalAndPersonalGoalKeepTheirPausedFieldNames() {
+        Goal goal = Goal.builder().id(UUID.randomUUID()).childId(UUID.randomUUID()).goalType("Car")
+                .targetAmount(BigDecimal.TEN).targetDate(LocalDate.now()).monthlyContribution(BigDecimal.ONE)
+                .paused(true).build();
+
+        assertThat(mapper.valueToTree(GoalResponse.of(goal)).get("paused").asBoolean()).isTrue();
+        assertThat(mapper.valueToTree(new PersonalGoalResponse(UUID.randomUUID(), "Bike", BigDecimal.TEN,
+                LocalDate.now(), Money.ZERO, 3, true, List.of(), null)).get("isPaused").asBoolean()).isTrue();
+    }
+
+    @Test
+    void userProfileNeverContainsThePassword() {
+        User user = User.builder().id(UUID.randomUUID()).email("p@example.com").fullName("P")
+                .password("$2a$10$hash").stripeCustomerId("cus_1").build();
+
+        assertThat(fieldNames(mapper.valueToTree(UserResponse.of(user))))
+                .containsExactly("id", "fullName", "email", "role");
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
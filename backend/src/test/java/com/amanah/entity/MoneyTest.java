@@ -0,0 +1,84 @@
+package com.amanah.entity;
+
+import com.amanah.service.ContributionSplit;
+import com.amanah.service.StripeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    @Test
+    void of_rejectsSubFilAmountsUnlessARoundingIsGiven() {
+        assertThat(Money.of("12.345").fils()).isEqualTo(12345);
+        assertThatThrownBy(() -> Money.of("0.0005")).isInstanceOf(ArithmeticException.class);
+        assertThat(Money.of(new BigDecimal("0.0005"), RoundingMode.HALF_UP)).isEqualTo(Money.ofFils(1));
+        assertThat(Money.of(new BigDecimal("0.0005"), RoundingMode.HALF_EVEN)).isEqualTo(Money.ZERO);
+    }
+
+    @Test
+    void times_roundsOnceInTheRequestedDirection() {
+        Money amount = Money.ofFils(5);
+        assertThat(amount.times(1, 2, RoundingMode.HALF_UP).fils()).isEqualTo(3);
+        assertThat(amount.times(1, 2, RoundingMode.HALF_DOWN).fils()).isEqualTo(2);
+        assertThat(amount.times(1, 2, RoundingMode.HALF_EVEN).fils()).isEqualTo(2);
+        assertThat(Money.ofFils(-5).times(1, 2, RoundingMode.HALF_UP).fils()).isEqualTo(-3);
+        assertThat(Money.ofFils(-5).times(1, 2, RoundingMode.FLOOR).fils()).isEqualTo(-3);
+        assertThat(Money.ofFils(-5).times(1, 2, RoundingMode.CEILING).fils()).isEqualTo(-2);
+        assertThatThrownBy(() -> amount.times(1, 2, RoundingMode.UNNECESSARY)).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void times_agreesWithBigDecimalForEveryRoundingMode() {
+        for (RoundingMode mode : RoundingMode.values()) {
+            if (mode == RoundingMode.UNNECESSARY) continue;
+            for (long fils = -2_000; fils <= 2_000; fils += 7) {
+                BigDecimal expected = BigDecimal.valueOf(fils * 120_700).divide(BigDecimal.valueOf(120_000), 0, mode);
+                assertThat(Money.ofFils(fils).times(120_700, 120_000, mode).fils())
+                        .as("%d fils, %s", fils, mode)
+                        .isEqualTo(expected.longValueExact());
+            }
+        }
+    }
+
+    @Test
+    void split_investsHalfUpToTheFilAndKeepsTheRemainder() {
+        ContributionSplit split = ContributionSplit.of(Money.of("12.345"), 30);
+        assertThat(split.invested()).isEqualTo(Money.of("3.704"));
+        assertThat(split.savings()).isEqualTo(Money.of("8.641"));
+    }
+
+    @Test
+    void monthlyGrowth_isTheExactRationalRateRoundedToTheFil() {
+        // 1000.000 * (120000 + 700) / 120000 = 1005.8333...
+        assertThat(InvestmentPortfolio.PortfolioType.BALANCED.applyMonthlyGrowth(Money.of("1000")))
+                .isEqualTo(Money.of("1005.833"));
+    }
+
+    @Test
+    void chargeableAmount_roundsToTheTenFilsStripeAccepts() {
+        assertThat(StripeService.chargeableAmount(Money.of("25.125")).fils()).isEqualTo(25130);
+        assertThat(StripeService.chargeableAmount(Money.of("25.124")).fils()).isEqualTo(25120);
+        assertThat(StripeService.chargeableAmount(Money.of("25.12")).fils()).isEqualTo(25120);
+    }
+
+    @Test
+    void json_roundTripsAsAPlainDecimal() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        assertThat(mapper.writeValueAsString(Money.of("1025.95"))).isEqualTo("1025.950");
+        assertThat(mapper.readValue("12.5", Money.class)).isEqualTo(Money.ofFils(12500));
+    }
+
+    @Test
+    void converter_roundsExcessScaleFromTheDatabaseToTheFil() {
+        MoneyConverter converter = new MoneyConverter();
+        assertThat(converter.convertToEntityAttribute(new BigDecimal("1.00049"))).isEqualTo(Money.ofFils(1000));
+        assertThat(converter.convertToDatabaseColumn(Money.ofFils(1005))).isEqualByComparingTo("1.005");
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+}
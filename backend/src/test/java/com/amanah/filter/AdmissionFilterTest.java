@@ -0,0 +1,68 @@
+package com.amanah.filter;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdmissionFilterTest {
+
+    private final Bulkhead bulkhead = Bulkhead.of("requests", BulkheadConfig.custom()
+            .maxConcurrentCalls(1)
+            .maxWaitDuration(Duration.ofMillis(50))
+            .build());
+    private final AdmissionFilter filter = new AdmissionFilter(bulkhead, Duration.ofSeconds(2));
+
+    @Test
+    void admittedRequestRunsAndReleasesItsPermit() throws Exception {
+        MockHttpServletResponse response = request();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void requestWithoutAPermitIsRefusedWithRetryAfter() throws Exception {
+        bulkhead.acquirePermission();
+
+        MockHttpServletResponse response = request();
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(response.getContentAsString()).contains("retry shortly");
+        bulkhead.onComplete();
+        assertThat(request().getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void failingRequestStillReleasesItsPermit() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/dashboard");
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException {
+                throw new ServletException("boom");
+            }
+        });
+
+        assertThatThrownBy(() -> filter.doFilter(request, new MockHttpServletResponse(), chain)).hasMessage("boom");
+        assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls()).isEqualTo(1);
+    }
+
+    private MockHttpServletResponse request() throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/dashboard"), response, new MockFilterChain());
+        return response;
+    }
+}
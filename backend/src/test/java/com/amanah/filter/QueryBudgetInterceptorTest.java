@@ -0,0 +1,77 @@
+package com.amanah.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryBudgetInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final QueryBudgetInterceptor interceptor = new QueryBudgetInterceptor(meterRegistry, 10);
+
+    @QueryBudget(2)
+    static class BudgetedController {
+        @QueryBudget(1)
+        public void detail() {}
+
+        public void list() {}
+
+        @QueryBudget(QueryBudget.UNLIMITED)
+        public void importRows() {}
+    }
+
+    static class PlainController {
+        public void list() {}
+    }
+
+    @Test
+    void budgetComesFromTheMethodThenTheControllerThenTheDefault() throws Exception {
+        assertThat(interceptor.budget(handler(new BudgetedController(), "detail"))).isEqualTo(1);
+        assertThat(interceptor.budget(handler(new BudgetedController(), "list"))).isEqualTo(2);
+        assertThat(interceptor.budget(handler(new PlainController(), "list"))).isEqualTo(10);
+    }
+
+    @Test
+    void recordsStatementsPerEndpointAndCountsRequestsOverBudget() throws Exception {
+        HandlerMethod handler = handler(new BudgetedController(), "detail");
+
+        request(handler, "/api/children/{id}", 1);
+        request(handler, "/api/children/{id}", 3);
+
+        assertThat(meterRegistry.get("amanah.http.queries").tags("method", "GET", "uri", "/api/children/{id}")
+                .summary().totalAmount()).isEqualTo(4);
+        assertThat(meterRegistry.get("amanah.http.query-budget.exceeded").tags("uri", "/api/children/{id}")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void unlimitedEndpointsAreNeverOverBudget() throws Exception {
+        request(handler(new BudgetedController(), "importRows"), "/api/contributions/import", 500);
+
+        assertThat(meterRegistry.find("amanah.http.query-budget.exceeded").counter()).isNull();
+    }
+
+    private void request(HandlerMethod handler, String pattern, int statements) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", pattern);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, handler);
+        for (int i = 0; i < statements; i++) {
+            QueryCounter.listener().afterQuery(null, List.of(new QueryInfo("SELECT 1")));
+        }
+        interceptor.afterCompletion(request, response, handler, null);
+    }
+
+    private static HandlerMethod handler(Object controller, String method) throws NoSuchMethodException {
+        return new HandlerMethod(controller, controller.getClass().getMethod(method));
+    }
+}
@@ -0,0 +1,51 @@
+package com.amanah.filter;
+
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins the number of SQL statements a piece of code runs, so a test fails when an endpoint or service
+ * starts issuing queries per row. The code must use a data source wrapped by
+ * {@link com.amanah.config.QueryCountingConfig} (the application context does this for its own; tests
+ * that build one wrap it with {@code QueryCountingConfig.countingProxy}).
+ *
+ * <pre>{@code
+ * Dashboard dashboard = assertQueryCount(4, () -> dashboardService.getDashboard(parentId));
+ * }</pre>
+ */
+public final class QueryCountAssertions {
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    private QueryCountAssertions() {}
+
+    public static <T> T assertQueryCount(int expected, Callable<T> action) throws Exception {
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            T result = action.call();
+            assertThat(scope.count())
+                    .as("SQL statements (most repeated: %s)", scope.mostRepeated())
+                    .isEqualTo(expected);
+            return result;
+        }
+    }
+
+    public static void assertQueryCount(int expected, Action action) throws Exception {
+        assertQueryCount(expected, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public static void assertMaxQueryCount(int max, Action action) throws Exception {
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            action.run();
+            assertThat(scope.count())
+                    .as("SQL statements (most repeated: %s)", scope.mostRepeated())
+                    .isLessThanOrEqualTo(max);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.amanah.filter;
+
+import com.amanah.config.QueryCountingConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import static com.amanah.filter.QueryCountAssertions.assertQueryCount;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class QueryCounterTest {
+
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSource target = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenAnswer(inv -> mock(PreparedStatement.class));
+        dataSource = QueryCountingConfig.countingProxy(target, "test");
+    }
+
+    @Test
+    void countsStatementsOnlyWhileAScopeIsOpen() throws Exception {
+        execute("SELECT 1");
+
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            execute("SELECT 1");
+            execute("SELECT 2");
+            assertThat(scope.count()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void nestedScopesBothCountAndTheOuterOneResumes() throws Exception {
+        try (QueryCounter.Scope outer = QueryCounter.open()) {
+            execute("SELECT 1");
+            try (QueryCounter.Scope inner = QueryCounter.open()) {
+                execute("SELECT 2");
+                assertThat(inner.count()).isEqualTo(1);
+            }
+            execute("SELECT 3");
+            assertThat(outer.count()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void aBatchIsOneStatement() throws Exception {
+        assertQueryCount(1, () -> {
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement("INSERT INTO t VALUES (?)")) {
+                for (int i = 0; i < 100; i++) {
+                    statement.setInt(1, i);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+
+    @Test
+    void mostRepeatedPointsAtTheLoopedStatement() throws Exception {
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            execute("SELECT * FROM children WHERE parent_id = ?");
+            for (int i = 0; i < 5; i++) {
+                execute("SELECT * FROM goals WHERE child_id = ?");
+            }
+            assertThat(scope.mostRepeated().getKey()).isEqualTo("SELECT * FROM goals WHERE child_id = ?");
+            assertThat(scope.mostRepeated().getValue()).isEqualTo(5);
+        }
+    }
+
+    @Test
+    void assertQueryCountFailsOnAnExtraStatement() {
+        assertThatThrownBy(() -> assertQueryCount(1, () -> {
+            execute("SELECT 1");
+            execute("SELECT 1");
+        })).isInstanceOf(AssertionError.class).hasMessageContaining("SELECT 1");
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.executeQuery();
+        }
+    }
+}
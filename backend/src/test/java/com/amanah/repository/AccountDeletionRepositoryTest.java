@@ -0,0 +1,184 @@
+package com.amanah.repository;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the erasure statements against the full schema, foreign keys included, and checks that nothing
+ * recorded against the deleted accounts survives while a neighbouring family is left untouched.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class AccountDeletionRepositoryTest {
+
+    private static final int TRANSACTIONS = 25;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static HikariDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+    private static AccountDeletionRepository repository;
+
+    @BeforeAll
+    static void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(POSTGRES.getJdbcUrl() + "&stringtype=unspecified");
+        dataSource.setUsername(POSTGRES.getUsername());
+        dataSource.setPassword(POSTGRES.getPassword());
+        new ResourceDatabasePopulator(new ClassPathResource("db/app-schema.sql")).execute(dataSource);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        repository = new AccountDeletionRepository(new NamedParameterJdbcTemplate(jdbcTemplate));
+    }
+
+    @AfterAll
+    static void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void deleteAccount_erasesTheUserWithEveryChildPersonalGoalAndLedger() {
+        Family family = family();
+        Family neighbours = family();
+
+        AccountDeletionRepository.Deleted deleted = repository.deleteAccount(family.parentId()).orElseThrow();
+
+        assertThat(deleted.users()).isEqualTo(1);
+        assertThat(deleted.accounts()).isEqualTo(3);
+        assertThat(deleted.subscriptionIds()).containsExactlyInAnyOrder(
+                "sub_" + family.children().get(0), "sub_" + family.children().get(1));
+        assertThat(rows(family)).isZero();
+        assertThat(count("SELECT count(*) FROM users WHERE id = ?", family.parentId())).isZero();
+        assertThat(rows(neighbours)).isEqualTo(rowsPerFamily());
+    }
+
+    @Test
+    void deleteAccount_isEmptyForAnUnknownUser() {
+        assertThat(repository.deleteAccount(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    void deleteChild_erasesOnlyThatChildAndOnlyForItsParent() {
+        Family family = family();
+        UUID child = family.children().get(0);
+
+        assertThat(repository.deleteChild(child, UUID.randomUUID()).accounts()).isZero();
+        assertThat(rows(family)).isEqualTo(rowsPerFamily());
+
+        AccountDeletionRepository.Deleted deleted = repository.deleteChild(child, family.parentId());
+
+        assertThat(deleted.accounts()).isEqualTo(1);
+        assertThat(deleted.subscriptionIds()).containsExactly("sub_" + child);
+        assertThat(rows(child)).isZero();
+        assertThat(count("SELECT count(*) FROM children WHERE id = ?", child)).isZero();
+        assertThat(rows(family)).isEqualTo(rowsPerFamily() - rowsPerChild() - 1);
+    }
+
+    @Test
+    void deletePersonalGoal_erasesTheGoalAndItsLedgerOnlyForItsOwner() {
+        Family family = family();
+
+        assertThat(repository.deletePersonalGoal(family.personalGoalId(), UUID.randomUUID()).accounts()).isZero();
+
+        AccountDeletionRepository.Deleted deleted =
+                repository.deletePersonalGoal(family.personalGoalId(), family.parentId());
+
+        assertThat(deleted.accounts()).isEqualTo(1);
+        assertThat(deleted.subscriptionIds()).isEmpty();
+        assertThat(rows(family.personalGoalId())).isZero();
+        assertThat(count("SELECT count(*) FROM personal_goals WHERE id = ?", family.personalGoalId())).isZero();
+        assertThat(count("SELECT count(*) FROM children WHERE parent_id = ?", family.parentId())).isEqualTo(2);
+    }
+
+    private record Family(UUID parentId, List<UUID> children, UUID personalGoalId) {}
+
+    /** A parent with two fully set-up children and a personal goal of their own, each with a ledger. */
+    private static Family family() {
+        UUID parentId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, email, role) VALUES (?, ?, 'parent')", parentId, parentId + "@example.com");
+        List<UUID> children = List.of(child(parentId), child(parentId));
+        UUID personalGoalId = jdbcTemplate.queryForObject("""
+                INSERT INTO personal_goals (user_id, goal_type, target_amount, target_date)
+                VALUES (?, 'Car', 10000, ?) RETURNING id
+                """, UUID.class, parentId, LocalDate.now().plusYears(2));
+        ledger(personalGoalId);
+        return new Family(parentId, children, personalGoalId);
+    }
+
+    private static UUID child(UUID parentId) {
+        UUID childId = jdbcTemplate.queryForObject(
+                "INSERT INTO children (parent_id, name) VALUES (?, 'Child') RETURNING id", UUID.class, parentId);
+        jdbcTemplate.update("""
+                INSERT INTO goals (child_id, goal_type, target_amount, target_date, monthly_contribution, stripe_subscription_id)
+                VALUES (?, 'University', 50000, ?, 100, ?)
+                """, childId, LocalDate.now().plusYears(10), "sub_" + childId);
+        jdbcTemplate.update("""
+                INSERT INTO investment_portfolios (child_id, portfolio_type, allocation_percentage, current_value)
+                VALUES (?, 'GROWTH', 40, 120)
+                """, childId);
+        jdbcTemplate.update("INSERT INTO fund_directives (child_id, guardian_name) VALUES (?, 'Aunt')", childId);
+        ledger(childId);
+        return childId;
+    }
+
+    private static void ledger(UUID accountId) {
+        jdbcTemplate.batchUpdate("INSERT INTO transactions (child_id, amount, type) VALUES (?, 10, 'MANUAL')",
+                Collections.nCopies(TRANSACTIONS, new Object[] {accountId}));
+        jdbcTemplate.update("INSERT INTO child_balances (child_id, balance) VALUES (?, ?)", accountId, TRANSACTIONS * 10);
+        jdbcTemplate.update("""
+                INSERT INTO transaction_monthly_summary (child_id, month, type, amount, transaction_count)
+                VALUES (?, date_trunc('month', now())::date, 'MANUAL', ?, ?)
+                """, accountId, TRANSACTIONS * 10, TRANSACTIONS);
+    }
+
+    /** Ledger rows of an account plus, for a child, its goal, portfolio and directive. */
+    private static long rows(UUID accountId) {
+        return count("""
+                SELECT (SELECT count(*) FROM transactions WHERE child_id = ?)
+                     + (SELECT count(*) FROM child_balances WHERE child_id = ?)
+                     + (SELECT count(*) FROM transaction_monthly_summary WHERE child_id = ?)
+                     + (SELECT count(*) FROM goals WHERE child_id = ?)
+                     + (SELECT count(*) FROM investment_portfolios WHERE child_id = ?)
+                     + (SELECT count(*) FROM fund_directives WHERE child_id = ?)
+                """, accountId, accountId, accountId, accountId, accountId, accountId);
+    }
+
+    /** Every row hanging off the family's parent: children, personal goals and all their dependents. */
+    private static long rows(Family family) {
+        long total = count("SELECT count(*) FROM children WHERE parent_id = ?", family.parentId())
+                + count("SELECT count(*) FROM personal_goals WHERE user_id = ?", family.parentId())
+                + rows(family.personalGoalId());
+        for (UUID child : family.children()) {
+            total += rows(child);
+        }
+        return total;
+    }
+
+    private static long rowsPerChild() {
+        return TRANSACTIONS + 2 + 3;
+    }
+
+    private static long rowsPerFamily() {
+        return 2 + 1 + (TRANSACTIONS + 2) + 2 * rowsPerChild();
+    }
+
+    private static long count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Long.class, args);
+    }
+}
@@ -0,0 +1,103 @@
+package com.amanah.repository;
+
+import com.amanah.entity.InvestmentPortfolio;
+import com.amanah.entity.Money;
+import com.amanah.entity.Transaction;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Changes portfolio settings while contributions land on the same portfolio, against Postgres. */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "jwt.secret=portfolio-test-secret-0123456789abcdef",
+        "stripe.secret-key=sk_test_unused",
+        "stripe.webhook-secret=whsec_unused",
+        "stripe.price-id=price_unused",
+        "amanah.stripe.prices.warm-on-startup=false",
+        "spring.sql.init.mode=always",
+        "spring.sql.init.schema-locations=classpath:db/app-schema.sql"
+})
+class InvestmentPortfolioRepositoryTest {
+
+    private static final int CONTRIBUTIONS = 400;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl() + "&stringtype=unspecified");
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private InvestmentPortfolioRepository portfolioRepository;
+
+    @Autowired
+    private LedgerJdbcRepository ledgerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void upsertAllocation_createsAPortfolioAtZeroValue() {
+        UUID childId = child();
+
+        assertThat(portfolioRepository.upsertAllocation(childId, "GROWTH", 40)).isEqualTo(1);
+
+        InvestmentPortfolio portfolio = portfolioRepository.findByChildId(childId).orElseThrow();
+        assertThat(portfolio.getPortfolioType()).isEqualTo(InvestmentPortfolio.PortfolioType.GROWTH);
+        assertThat(portfolio.getAllocationPercentage()).isEqualTo(40);
+        assertThat(portfolio.getCurrentValue()).isEqualTo(Money.ZERO);
+    }
+
+    @Test
+    void upsertAllocation_keepsValueAddedByConcurrentContributions() throws Exception {
+        UUID childId = child();
+        portfolioRepository.upsertAllocation(childId, "BALANCED", 30);
+
+        // 10.000 at 30% invests 3.000 whichever type the portfolio has at that moment
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < CONTRIBUTIONS; i++) {
+                String type = i % 2 == 0 ? "GROWTH" : "BALANCED";
+                results.add(pool.submit(() -> ledgerRepository.contribute(childId, Money.of("10.000"), Transaction.TransactionType.MANUAL)));
+                results.add(pool.submit(() -> portfolioRepository.upsertAllocation(childId, type, 30)));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(jdbcTemplate.queryForObject("SELECT current_value FROM investment_portfolios WHERE child_id = ?",
+                BigDecimal.class, childId)).isEqualByComparingTo(new BigDecimal("3.000").multiply(BigDecimal.valueOf(CONTRIBUTIONS)));
+    }
+
+    private UUID child() {
+        UUID parentId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, email, role) VALUES (?, ?, 'parent')", parentId, parentId + "@example.com");
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO children (parent_id, name) VALUES (?, 'Child') RETURNING id", UUID.class, parentId);
+    }
+}
@@ -0,0 +1,100 @@
+package com.amanah.service;
+
+import com.amanah.dto.BalanceHistory;
+import com.amanah.dto.BalanceHistory.Point;
+import com.amanah.entity.Money;
+import com.amanah.repository.BalanceHistoryRepository;
+import com.amanah.repository.BalanceHistoryRepository.DailyBalance;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceHistoryServiceTest {
+
+    @Mock
+    private BalanceHistoryRepository historyRepository;
+
+    @InjectMocks
+    private BalanceHistoryService service;
+
+    private final List<UUID> accounts = List.of(UUID.randomUUID());
+
+    @Test
+    void explicitRangeStartsAtTheCarriedBalanceAndRunsToTheEnd() {
+        LocalDate from = LocalDate.of(2026, 1, 1);
+        LocalDate to = LocalDate.of(2026, 1, 31);
+        when(historyRepository.findDailyBalances(accounts, from, to)).thenReturn(List.of(
+                new DailyBalance(from.minusDays(1), Money.of("100.000")),
+                new DailyBalance(LocalDate.of(2026, 1, 10), Money.of("125.000"))));
+
+        BalanceHistory history = service.history(accounts, from, to, null);
+
+        assertThat(history.points()).containsExactly(
+                new Point(from, Money.of("100.000")),
+                new Point(LocalDate.of(2026, 1, 10), Money.of("125.000")),
+                new Point(to, Money.of("125.000")));
+        assertThat(history.from()).isEqualTo(from);
+        assertThat(history.days()).isEqualTo(3);
+    }
+
+    @Test
+    void wholeHistoryStartsAtTheFirstActivity() {
+        LocalDate first = LocalDate.of(2020, 5, 3);
+        LocalDate to = LocalDate.of(2020, 5, 3);
+        when(historyRepository.findDailyBalances(accounts, LocalDate.EPOCH, to)).thenReturn(List.of(
+                new DailyBalance(LocalDate.EPOCH.minusDays(1), Money.ZERO),
+                new DailyBalance(first, Money.of("10.000"))));
+
+        BalanceHistory history = service.history(accounts, null, to, null);
+
+        assertThat(history.from()).isEqualTo(first);
+        assertThat(history.points()).containsExactly(new Point(first, Money.of("10.000")));
+    }
+
+    @Test
+    void longSeriesAreDownsampledToTheRequestedPoints() {
+        LocalDate from = LocalDate.of(2016, 1, 1);
+        List<DailyBalance> rows = new ArrayList<>();
+        rows.add(new DailyBalance(from.minusDays(1), Money.ZERO));
+        for (int day = 0; day < 3650; day++) {
+            rows.add(new DailyBalance(from.plusDays(day), Money.ofFils(day * 1000L)));
+        }
+        when(historyRepository.findDailyBalances(eq(accounts), eq(from), any())).thenReturn(rows);
+
+        BalanceHistory history = service.history(accounts, from, from.plusDays(3649), 150);
+
+        assertThat(history.days()).isEqualTo(3650);
+        assertThat(history.points()).hasSize(150);
+        assertThat(history.points().get(149).balance()).isEqualTo(Money.ofFils(3649_000L));
+    }
+
+    @Test
+    void rejectsAnInvertedRange() {
+        assertThatThrownBy(() -> service.history(accounts, LocalDate.of(2026, 2, 1), LocalDate.of(2026, 1, 1), null))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    void aFamilyWithoutChildrenHasAnEmptyLine() {
+        when(historyRepository.findDailyBalances(anyList(), any(), any()))
+                .thenReturn(List.of(new DailyBalance(LocalDate.EPOCH.minusDays(1), Money.ZERO)));
+
+        assertThat(service.history(List.of(), null, null, null).points()).isEmpty();
+    }
+}
@@ -0,0 +1,49 @@
+package com.amanah.service;
+
+import com.amanah.entity.ChildBalance;
+import com.amanah.entity.Money;
+import com.amanah.repository.ChildBalanceRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceServiceTest {
+
+    @Mock
+    private ChildBalanceRepository balanceRepository;
+
+    @InjectMocks
+    private BalanceService balanceService;
+
+    @Test
+    void getBalance_defaultsToZeroWhenNoLedgerRowExists() {
+        UUID childId = UUID.randomUUID();
+        when(balanceRepository.findBalanceByChildId(childId)).thenReturn(Optional.empty());
+
+        assertThat(balanceService.getBalance(childId)).isEqualTo(Money.ZERO);
+    }
+
+    @Test
+    void getBalances_fillsMissingAccountsWithZero() {
+        UUID funded = UUID.randomUUID();
+        UUID empty = UUID.randomUUID();
+        when(balanceRepository.findAllByChildIdIn(List.of(funded, empty)))
+                .thenReturn(List.of(ChildBalance.builder().childId(funded).balance(Money.of("42.50")).build()));
+
+        Map<UUID, Money> balances = balanceService.getBalances(List.of(funded, empty));
+
+        assertThat(balances.get(funded)).isEqualTo(Money.of("42.50"));
+        assertThat(balances.get(empty)).isEqualTo(Money.ZERO);
+    }
+}
@@ -0,0 +1,55 @@
+package com.amanah.service;
+
+import com.amanah.entity.InvestmentPortfolio;
+import com.amanah.entity.Money;
+import com.amanah.entity.Transaction;
+import com.amanah.repository.SimulationBatchRepository.ActiveGoalRow;
+import com.amanah.repository.SimulationBatchRepository.PortfolioRow;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchSimulationServiceTest {
+
+    @Test
+    void plan_contributesThenGrowsLikeThePerParentSimulation() {
+        UUID investingChild = UUID.randomUUID();
+        UUID savingsChild = UUID.randomUUID();
+        UUID portfolioId = UUID.randomUUID();
+
+        BatchSimulationService.ChunkPlan plan = BatchSimulationService.plan(
+                List.of(
+                        new ActiveGoalRow(UUID.randomUUID(), investingChild, Money.of("100.00")),
+                        new ActiveGoalRow(UUID.randomUUID(), savingsChild, Money.of("50.00"))),
+                List.of(new PortfolioRow(portfolioId, investingChild, InvestmentPortfolio.PortfolioType.BALANCED,
+                        20, Money.of("1000.00"))));
+
+        assertThat(plan.entries()).hasSize(2);
+        assertThat(plan.entries().get(0).amount()).isEqualTo(Money.of("80.00"));
+        assertThat(plan.entries().get(0).type()).isEqualTo(Transaction.TransactionType.AUTO);
+        assertThat(plan.entries().get(1).amount()).isEqualTo(Money.of("50.00"));
+        assertThat(plan.balanceDeltas().get(investingChild)).isEqualTo(Money.of("80.00"));
+        assertThat(plan.balanceDeltas().get(savingsChild)).isEqualTo(Money.of("50.00"));
+        assertThat(plan.portfolioValues().get(portfolioId)).isEqualTo(Money.of("1025.95"));
+    }
+
+    @Test
+    void plan_accumulatesMultipleGoalsForTheSameChild() {
+        UUID childId = UUID.randomUUID();
+        UUID portfolioId = UUID.randomUUID();
+
+        BatchSimulationService.ChunkPlan plan = BatchSimulationService.plan(
+                List.of(
+                        new ActiveGoalRow(UUID.randomUUID(), childId, Money.of("10.00")),
+                        new ActiveGoalRow(UUID.randomUUID(), childId, Money.of("30.00"))),
+                List.of(new PortfolioRow(portfolioId, childId, InvestmentPortfolio.PortfolioType.CONSERVATIVE,
+                        50, Money.ZERO)));
+
+        assertThat(plan.balanceDeltas().get(childId)).isEqualTo(Money.of("20.00"));
+        // (0 + 5.000) * 120400 / 120000 = 5.017, then (5.017 + 15.000) * 120400 / 120000 = 20.084
+        assertThat(plan.portfolioValues().get(portfolioId)).isEqualTo(Money.of("20.084"));
+    }
+}
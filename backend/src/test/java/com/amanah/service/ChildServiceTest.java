@@ -1,24 +1,26 @@
 package com.amanah.service;
 
-import java.util.Optional;
+import java.util.List;
 import java.util.UUID;
 
-import static org.assertj.core.api.Assertions.assertThat;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
-import com.amanah.entity.Child;
-import com.amanah.entity.Goal;
+import com.amanah.event.DashboardInvalidationEvent;
+import com.amanah.event.SubscriptionCancellationEvent;
+import com.amanah.repository.AccountDeletionRepository;
+import com.amanah.repository.AccountDeletionRepository.Deleted;
 import com.amanah.repository.ChildRepository;
-import com.amanah.repository.FundDirectiveRepository;
-import com.amanah.repository.GoalRepository;
-import com.amanah.repository.InvestmentPortfolioRepository;
-import com.amanah.repository.TransactionRepository;
 
 @ExtendWith(MockitoExtension.class)
 class ChildServiceTest {
@@ -27,80 +29,56 @@ class ChildServiceTest {
     private ChildRepository childRepository;
 
     @Mock
-    private TransactionRepository transactionRepository;
+    private AccountDeletionRepository accountDeletionRepository;
 
     @Mock
-    private InvestmentPortfolioRepository investmentPortfolioRepository;
-
-    @Mock
-    private FundDirectiveRepository fundDirectiveRepository;
-
-    @Mock
-    private GoalRepository goalRepository;
+    private ApplicationEventPublisher eventPublisher;
 
     private ChildService childService;
 
-    private RecordingStripeService recordingStripeService;
-
     @BeforeEach
     void setUp() {
-        recordingStripeService = new RecordingStripeService();
         childService = new ChildService(
                 childRepository,
-                transactionRepository,
-                investmentPortfolioRepository,
-                fundDirectiveRepository,
-                goalRepository,
-                recordingStripeService
+                accountDeletionRepository,
+                eventPublisher
         );
     }
 
     @Test
-    void deleteChild_removesRelatedDataAndCancelsSubscriptionWhenPresent() {
+    void deleteChild_removesRelatedDataAndSchedulesSubscriptionCancellation() {
         UUID childId = UUID.randomUUID();
         UUID parentId = UUID.randomUUID();
-        Child child = Child.builder().id(childId).parentId(parentId).name("Aisha").build();
-        Goal goal = Goal.builder().childId(childId).stripeSubscriptionId("sub_123").build();
-
-        when(childRepository.findByIdAndParentId(childId, parentId)).thenReturn(Optional.of(child));
-        when(goalRepository.findByChildId(childId)).thenReturn(Optional.of(goal));
+        when(accountDeletionRepository.deleteChild(childId, parentId))
+                .thenReturn(new Deleted(0, 1, List.of("sub_123")));
 
         childService.deleteChild(childId, parentId);
 
-        verify(transactionRepository).deleteAllByChildId(childId);
-        verify(investmentPortfolioRepository).deleteByChildId(childId);
-        verify(fundDirectiveRepository).deleteByChildId(childId);
-        verify(goalRepository).deleteByChildId(childId);
-        verify(childRepository).delete(child);
-        assertThat(recordingStripeService.cancelCalls).isEqualTo(1);
-        assertThat(recordingStripeService.lastCancelledSubscriptionId).isEqualTo("sub_123");
+        verify(eventPublisher).publishEvent(new SubscriptionCancellationEvent(List.of("sub_123")));
+        verify(eventPublisher).publishEvent(DashboardInvalidationEvent.forParent(parentId));
     }
 
     @Test
     void deleteChild_skipsStripeCancellationWhenNoSubscriptionExists() {
         UUID childId = UUID.randomUUID();
         UUID parentId = UUID.randomUUID();
-        Child child = Child.builder().id(childId).parentId(parentId).name("Omar").build();
-        Goal goal = Goal.builder().childId(childId).stripeSubscriptionId(null).build();
-
-        when(childRepository.findByIdAndParentId(childId, parentId)).thenReturn(Optional.of(child));
-        when(goalRepository.findByChildId(childId)).thenReturn(Optional.of(goal));
+        when(accountDeletionRepository.deleteChild(childId, parentId)).thenReturn(new Deleted(0, 1, List.of()));
 
         childService.deleteChild(childId, parentId);
 
-        verify(goalRepository).deleteByChildId(childId);
-        verify(childRepository).delete(child);
-        assertThat(recordingStripeService.cancelCalls).isZero();
+        verify(eventPublisher, never()).publishEvent(any(SubscriptionCancellationEvent.class));
+        verify(eventPublisher).publishEvent(DashboardInvalidationEvent.forParent(parentId));
     }
 
-    private static class RecordingStripeService extends StripeService {
-        private int cancelCalls;
-        private String lastCancelledSubscriptionId;
+    @Test
+    void deleteChild_failsWhenTheChildIsNotTheParents() {
+        UUID childId = UUID.randomUUID();
+        UUID parentId = UUID.randomUUID();
+        when(accountDeletionRepository.deleteChild(childId, parentId)).thenReturn(new Deleted(0, 0, List.of()));
 
-        @Override
-        public void cancelSubscription(String subscriptionId) {
-            cancelCalls++;
-            lastCancelledSubscriptionId = subscriptionId;
-        }
+        assertThatThrownBy(() -> childService.deleteChild(childId, parentId))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Child not found");
+        verifyNoInteractions(eventPublisher);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,126 @@
+package com.amanah.service;
+
+import com.amanah.config.QueryCountingConfig;
+import com.amanah.entity.Money;
+import com.amanah.entity.Transaction;
+import com.amanah.repository.LedgerJdbcRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.amanah.filter.QueryCountAssertions.assertQueryCount;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/** Hammers one child with parallel contributions against a real Postgres and checks nothing is lost. */
+@Testcontainers(disabledWithoutDocker = true)
+class ContributionConcurrencyTest {
+
+    private static final int CONTRIBUTIONS = 4000;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static HikariDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+    private static ContributionService contributionService;
+
+    @BeforeAll
+    static void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(POSTGRES.getJdbcUrl() + "&stringtype=unspecified");
+        dataSource.setUsername(POSTGRES.getUsername());
+        dataSource.setPassword(POSTGRES.getPassword());
+        dataSource.setMaximumPoolSize(20);
+        new ResourceDatabasePopulator(new ClassPathResource("db/ledger-schema.sql")).execute(dataSource);
+
+        jdbcTemplate = new JdbcTemplate(QueryCountingConfig.countingProxy(dataSource, "ledger"));
+        LedgerJdbcRepository ledgerRepository =
+                new LedgerJdbcRepository(jdbcTemplate, new NamedParameterJdbcTemplate(jdbcTemplate));
+        contributionService = new ContributionService(ledgerRepository, mock(ApplicationEventPublisher.class),
+                new SimpleMeterRegistry());
+    }
+
+    @AfterAll
+    static void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void parallelContributionsToOneChildKeepExactTotals() throws Exception {
+        UUID childId = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO investment_portfolios (child_id, portfolio_type, allocation_percentage, current_value)
+                VALUES (?, 'BALANCED', 30, 100.00)
+                """, childId);
+
+        // 12.345 splits into 3.704 invested (30%, rounded half-up to the fil) and 8.641 saved
+        Money amount = Money.of("12.345");
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        List<Future<Transaction>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < CONTRIBUTIONS; i++) {
+                Transaction.TransactionType type = i % 2 == 0 ? Transaction.TransactionType.MANUAL : Transaction.TransactionType.AUTO;
+                results.add(pool.submit(() -> contributionService.contribute(childId, amount, type)));
+            }
+            for (Future<Transaction> result : results) {
+                Transaction tx = result.get();
+                assertThat(tx.getId()).isNotNull();
+                assertThat(tx.getAmount()).isEqualByComparingTo("8.641");
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        BigDecimal expectedSavings = new BigDecimal("8.641").multiply(BigDecimal.valueOf(CONTRIBUTIONS));
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM transactions WHERE child_id = ?", Long.class, childId))
+                .isEqualTo(CONTRIBUTIONS);
+        assertThat(jdbcTemplate.queryForObject("SELECT sum(amount) FROM transactions WHERE child_id = ?", BigDecimal.class, childId))
+                .isEqualByComparingTo(expectedSavings);
+        assertThat(jdbcTemplate.queryForObject("SELECT balance FROM child_balances WHERE child_id = ?", BigDecimal.class, childId))
+                .isEqualByComparingTo(expectedSavings);
+        assertThat(jdbcTemplate.queryForObject("SELECT current_value FROM investment_portfolios WHERE child_id = ?", BigDecimal.class, childId))
+                .isEqualByComparingTo(new BigDecimal("100.00").add(new BigDecimal("3.704").multiply(BigDecimal.valueOf(CONTRIBUTIONS))));
+    }
+
+    @Test
+    void contributionIsASingleStatement() throws Exception {
+        UUID childId = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO investment_portfolios (child_id, portfolio_type, allocation_percentage, current_value)
+                VALUES (?, 'GROWTH', 50, 0)""", childId);
+
+        assertQueryCount(1, () -> contributionService.contribute(childId, Money.of("10.000"), Transaction.TransactionType.MANUAL));
+    }
+
+    @Test
+    void contributionWithoutPortfolioIsSavedInFull() {
+        UUID childId = UUID.randomUUID();
+
+        Transaction tx = contributionService.contribute(childId, Money.of("5.500"), Transaction.TransactionType.MANUAL);
+
+        assertThat(tx.getAmount()).isEqualByComparingTo("5.500");
+        assertThat(tx.getType()).isEqualTo(Transaction.TransactionType.MANUAL);
+        assertThat(tx.getDate()).isNotNull();
+        assertThat(jdbcTemplate.queryForObject("SELECT balance FROM child_balances WHERE child_id = ?", BigDecimal.class, childId))
+                .isEqualByComparingTo("5.500");
+    }
+}
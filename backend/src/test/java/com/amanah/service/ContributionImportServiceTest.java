@@ -0,0 +1,155 @@
+package com.amanah.service;
+
+import com.amanah.dto.ImportResult;
+import com.amanah.entity.InvestmentPortfolio;
+import com.amanah.entity.Money;
+import com.amanah.entity.Transaction;
+import com.amanah.event.DashboardInvalidationEvent;
+import com.amanah.repository.ChildRepository;
+import com.amanah.repository.InvestmentPortfolioRepository;
+import com.amanah.repository.LedgerJdbcRepository;
+import com.amanah.repository.LedgerJdbcRepository.LedgerEntry;
+import com.amanah.repository.LedgerJdbcRepository.ReferencedEntry;
+import com.amanah.service.ContributionImportService.Format;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.StringReader;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ContributionImportServiceTest {
+
+    private final ChildRepository childRepository = mock(ChildRepository.class);
+    private final InvestmentPortfolioRepository portfolioRepository = mock(InvestmentPortfolioRepository.class);
+    private final LedgerJdbcRepository ledgerRepository = mock(LedgerJdbcRepository.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    private final UUID parentId = UUID.randomUUID();
+    private final UUID investingChild = UUID.randomUUID();
+    private final UUID savingsChild = UUID.randomUUID();
+
+    private ContributionImportService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ContributionImportService(childRepository, portfolioRepository, ledgerRepository,
+                transactionTemplate, eventPublisher, new ObjectMapper(), 2, 100);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(childRepository.findOwnedIds(eq(parentId), anyCollection()))
+                .thenAnswer(inv -> new HashSet<>(inv.<Collection<UUID>>getArgument(1)).stream()
+                        .filter(id -> id.equals(investingChild) || id.equals(savingsChild))
+                        .collect(java.util.stream.Collectors.toSet()));
+        InvestmentPortfolio portfolio = new InvestmentPortfolio();
+        portfolio.setChildId(investingChild);
+        portfolio.setAllocationPercentage(20);
+        when(portfolioRepository.findAllByChildIdIn(anyCollection())).thenReturn(List.of(portfolio));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importContributions_splitsRowsAndCreditsOnlyInsertedOnes() {
+        when(ledgerRepository.insertTransactionsSkippingDuplicates(anyList()))
+                .thenAnswer(inv -> new boolean[]{true, false})
+                .thenAnswer(inv -> new boolean[]{true});
+
+        ImportResult result = service.importContributions(parentId, new StringReader("""
+                {"childId":"%s","amount":100.00,"externalRef":"a"}
+                {"childId":"%s","amount":50,"type":"auto","externalRef":"b"}
+
+                {"childId":"%s","amount":"10.00"}
+                """.formatted(investingChild, investingChild, savingsChild)), Format.NDJSON);
+
+        assertThat(result.rows()).isEqualTo(3);
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.duplicates()).isEqualTo(1);
+        assertThat(result.failed()).isZero();
+
+        ArgumentCaptor<List<ReferencedEntry>> entries = ArgumentCaptor.forClass(List.class);
+        verify(ledgerRepository, times(2)).insertTransactionsSkippingDuplicates(entries.capture());
+        ReferencedEntry first = entries.getAllValues().get(0).get(0);
+        assertThat(first.amount()).isEqualTo(Money.of("80.00"));
+        assertThat(entries.getAllValues().get(0).get(1).type()).isEqualTo(Transaction.TransactionType.AUTO);
+
+        ArgumentCaptor<Map<UUID, Money>> portfolioDeltas = ArgumentCaptor.forClass(Map.class);
+        verify(ledgerRepository, times(2)).incrementPortfolioValues(portfolioDeltas.capture());
+        // The skipped duplicate contributes neither savings nor invested value
+        assertThat(portfolioDeltas.getAllValues().get(0)).containsOnlyKeys(investingChild);
+        assertThat(portfolioDeltas.getAllValues().get(0).get(investingChild)).isEqualTo(Money.of("20.00"));
+        assertThat(portfolioDeltas.getAllValues().get(1)).isEmpty();
+
+        ArgumentCaptor<List<LedgerEntry>> summarized = ArgumentCaptor.forClass(List.class);
+        verify(ledgerRepository, times(2)).addToMonthlySummaries(summarized.capture());
+        assertThat(summarized.getAllValues().get(0))
+                .containsExactly(new LedgerEntry(investingChild, Money.of("80.00"), Transaction.TransactionType.MANUAL));
+        verify(childRepository, times(2)).findOwnedIds(eq(parentId), anyCollection());
+        verify(eventPublisher).publishEvent(DashboardInvalidationEvent.forParent(parentId));
+    }
+
+    @Test
+    void importContributions_reportsInvalidAndForeignRowsByLine() {
+        UUID stranger = UUID.randomUUID();
+        when(ledgerRepository.insertTransactionsSkippingDuplicates(anyList())).thenReturn(new boolean[]{true});
+
+        ImportResult result = service.importContributions(parentId, new StringReader("""
+                childId,amount,externalRef
+                %s,"12.50","ref,1"
+                %s,1.005,x
+                %s,5.00,
+                %s,7.00,"ref,1"
+                """.formatted(investingChild, investingChild, stranger, investingChild)), Format.CSV);
+
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(result.failed()).isEqualTo(3);
+        assertThat(result.errors()).extracting(ImportResult.RowError::line).containsExactly(3L, 4L, 5L);
+        assertThat(result.errors().get(0).message()).contains("2 fraction digits");
+        assertThat(result.errors().get(1).message()).isEqualTo("Child not found");
+        assertThat(result.errors().get(2).message()).contains("Duplicate externalRef");
+    }
+
+    @Test
+    void importContributions_failsEveryRowOfAChunkWhoseWriteFails() {
+        when(ledgerRepository.insertTransactionsSkippingDuplicates(anyList()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint \"transactions_pkey\""));
+
+        ImportResult result = service.importContributions(parentId, new StringReader("""
+                {"childId":"%s","amount":1}
+                {"childId":"%s","amount":2}
+                """.formatted(savingsChild, savingsChild)), Format.NDJSON);
+
+        assertThat(result.imported()).isZero();
+        assertThat(result.failed()).isEqualTo(2);
+        assertThat(result.errors()).allSatisfy(error -> assertThat(error.message())
+                .startsWith("Not imported").doesNotContain("constraint", "transactions_pkey"));
+        verify(ledgerRepository, never()).creditBalances(anyMap());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void importContributions_rejectsACsvBodyWithoutAUsableHeaderAsABadRequest() {
+        assertThatThrownBy(() -> service.importContributions(parentId, new StringReader(""), Format.CSV))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        assertThatThrownBy(() -> service.importContributions(parentId, new StringReader("""
+                child,value
+                %s,1.00
+                """.formatted(savingsChild)), Format.CSV))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        verifyNoInteractions(ledgerRepository);
+    }
+}
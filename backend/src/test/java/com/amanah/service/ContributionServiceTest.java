@@ -1,23 +1,23 @@
 package com.amanah.service;
 
-import com.amanah.entity.InvestmentPortfolio;
+import com.amanah.entity.Money;
 import com.amanah.entity.Transaction;
-import com.amanah.repository.InvestmentPortfolioRepository;
-import com.amanah.repository.TransactionRepository;
+import com.amanah.event.DashboardInvalidationEvent;
+import com.amanah.repository.LedgerJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
-import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.never;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -25,48 +25,47 @@ import static org.mockito.Mockito.when;
 class ContributionServiceTest {
 
     @Mock
-    private TransactionRepository transactionRepository;
+    private LedgerJdbcRepository ledgerRepository;
 
     @Mock
-    private InvestmentPortfolioRepository portfolioRepository;
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @InjectMocks
     private ContributionService contributionService;
 
     @Test
-    void contribute_savesFullAmountWhenNoPortfolioExists() {
+    void contribute_returnsTheInsertedSavingsTransactionAndInvalidatesTheDashboard() {
         UUID childId = UUID.randomUUID();
-        when(portfolioRepository.findByChildId(childId)).thenReturn(Optional.empty());
-        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        Transaction inserted = Transaction.builder()
+                .id(UUID.randomUUID()).childId(childId).amount(new BigDecimal("75.00"))
+                .type(Transaction.TransactionType.AUTO).build();
+        when(ledgerRepository.contribute(childId, Money.of("100.00"), Transaction.TransactionType.AUTO))
+                .thenReturn(inserted);
 
-        Transaction saved = contributionService.contribute(childId, new BigDecimal("100.00"), Transaction.TransactionType.MANUAL);
+        Transaction saved = contributionService.contribute(childId, Money.of("100.00"), Transaction.TransactionType.AUTO);
 
-        assertThat(saved.getChildId()).isEqualTo(childId);
-        assertThat(saved.getAmount()).isEqualByComparingTo("100.00");
-        assertThat(saved.getType()).isEqualTo(Transaction.TransactionType.MANUAL);
-        verify(portfolioRepository, never()).save(any(InvestmentPortfolio.class));
+        assertThat(saved).isSameAs(inserted);
+        verify(eventPublisher).publishEvent(DashboardInvalidationEvent.forChild(childId));
+        assertThat(meterRegistry.get("amanah.contributions").tags("type", "AUTO", "outcome", "success").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("amanah.contributions.amount").tag("type", "AUTO").counter().count())
+                .isEqualTo(100_000);
     }
 
     @Test
-    void contribute_splitsAmountAndUpdatesPortfolioWhenAllocationExists() {
+    void contribute_timesFailedContributionsWithoutCountingTheirAmount() {
         UUID childId = UUID.randomUUID();
-        InvestmentPortfolio portfolio = InvestmentPortfolio.builder()
-                .childId(childId)
-                .allocationPercentage(25)
-                .portfolioType(InvestmentPortfolio.PortfolioType.BALANCED)
-                .currentValue(new BigDecimal("10.00"))
-                .build();
-
-        when(portfolioRepository.findByChildId(childId)).thenReturn(Optional.of(portfolio));
-        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
-
-        Transaction saved = contributionService.contribute(childId, new BigDecimal("100.00"), Transaction.TransactionType.AUTO);
+        when(ledgerRepository.contribute(childId, Money.of("5.000"), Transaction.TransactionType.MANUAL))
+                .thenThrow(new RuntimeException("Child not found"));
 
-        ArgumentCaptor<InvestmentPortfolio> portfolioCaptor = ArgumentCaptor.forClass(InvestmentPortfolio.class);
-        verify(portfolioRepository).save(portfolioCaptor.capture());
+        assertThatThrownBy(() -> contributionService.contribute(childId, Money.of("5.000"), Transaction.TransactionType.MANUAL))
+                .hasMessage("Child not found");
 
-        assertThat(saved.getAmount()).isEqualByComparingTo("75.00");
-        assertThat(saved.getType()).isEqualTo(Transaction.TransactionType.AUTO);
-        assertThat(portfolioCaptor.getValue().getCurrentValue()).isEqualByComparingTo("35.00");
+        assertThat(meterRegistry.get("amanah.contributions").tags("type", "MANUAL", "outcome", "error").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.find("amanah.contributions.amount").counter()).isNull();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,79 @@
+package com.amanah.service;
+
+import com.amanah.config.CacheConfig;
+import com.amanah.entity.Child;
+import com.amanah.event.DashboardInvalidationEvent;
+import com.amanah.repository.ChildRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardCacheInvalidatorTest {
+
+    @Mock
+    private ChildRepository childRepository;
+
+    private Cache dashboards;
+    private DashboardCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        CacheManager cacheManager = new CacheConfig().cacheManager(100, Duration.ofMinutes(5), 100, Duration.ofMinutes(5));
+        dashboards = cacheManager.getCache(CacheConfig.DASHBOARD);
+        invalidator = new DashboardCacheInvalidator(cacheManager, childRepository);
+    }
+
+    @Test
+    void onInvalidate_evictsOnlyTheAffectedParent() {
+        UUID parentId = UUID.randomUUID();
+        UUID otherParentId = UUID.randomUUID();
+        dashboards.put(parentId, Map.of());
+        dashboards.put(otherParentId, Map.of());
+
+        invalidator.onInvalidate(DashboardInvalidationEvent.forParent(parentId));
+
+        assertThat(dashboards.get(parentId)).isNull();
+        assertThat(dashboards.get(otherParentId)).isNotNull();
+    }
+
+    @Test
+    void onInvalidate_resolvesChildToParentOnceAndRemembersIt() {
+        UUID parentId = UUID.randomUUID();
+        UUID childId = UUID.randomUUID();
+        when(childRepository.findById(childId))
+                .thenReturn(Optional.of(Child.builder().id(childId).parentId(parentId).name("Aisha").build()));
+
+        dashboards.put(parentId, Map.of());
+        invalidator.onInvalidate(DashboardInvalidationEvent.forChild(childId));
+        assertThat(dashboards.get(parentId)).isNull();
+
+        dashboards.put(parentId, Map.of());
+        invalidator.onInvalidate(DashboardInvalidationEvent.forChild(childId));
+        assertThat(dashboards.get(parentId)).isNull();
+
+        verify(childRepository, times(1)).findById(childId);
+    }
+
+    @Test
+    void onlyTheExplicitFactoryClearsEveryDashboard() {
+        assertThat(DashboardInvalidationEvent.all().isAll()).isTrue();
+        assertThatThrownBy(() -> DashboardInvalidationEvent.forChild(null)).isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> DashboardInvalidationEvent.forParent(null)).isInstanceOf(NullPointerException.class);
+    }
+}
@@ -0,0 +1,113 @@
+package com.amanah.service;
+
+import com.amanah.dto.Dashboard;
+import com.amanah.entity.Child;
+import com.amanah.entity.Goal;
+import com.amanah.entity.InvestmentPortfolio;
+import com.amanah.entity.Money;
+import com.amanah.repository.ChildRepository;
+import com.amanah.repository.InvestmentPortfolioRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceTest {
+
+    @Mock
+    private ChildRepository childRepository;
+
+    @Mock
+    private GoalService goalService;
+
+    @Mock
+    private BalanceService balanceService;
+
+    @Mock
+    private InvestmentPortfolioRepository portfolioRepository;
+
+    @Spy
+    private ForecastService forecastService = new ForecastService(600);
+
+    @InjectMocks
+    private DashboardService dashboardService;
+
+    @Test
+    void getDashboard_combinesBalancesPortfoliosAndGoalsPerChild() {
+        UUID parentId = UUID.randomUUID();
+        UUID withGoal = UUID.randomUUID();
+        UUID withoutGoal = UUID.randomUUID();
+
+        when(childRepository.findAllByParentId(parentId)).thenReturn(List.of(
+                Child.builder().id(withGoal).parentId(parentId).name("Aisha").build(),
+                Child.builder().id(withoutGoal).parentId(parentId).name("Omar").build()));
+        when(balanceService.getBalances(List.of(withGoal, withoutGoal))).thenReturn(Map.of(
+                withGoal, Money.of("250.00"),
+                withoutGoal, Money.ZERO));
+        when(portfolioRepository.findAllByChildIdIn(List.of(withGoal, withoutGoal))).thenReturn(List.of(
+                InvestmentPortfolio.builder().childId(withGoal).allocationPercentage(20)
+                        .portfolioType(InvestmentPortfolio.PortfolioType.GROWTH)
+                        .currentValue(Money.of("50.00")).build()));
+        when(goalService.findByChildren(List.of(withGoal, withoutGoal))).thenReturn(Map.of(
+                withGoal, Goal.builder().childId(withGoal).goalType("University")
+                        .targetAmount(new BigDecimal("1000.00"))
+                        .targetDate(LocalDate.now().plusYears(2))
+                        .monthlyContribution(new BigDecimal("10.00")).build()));
+
+        Dashboard dashboard = dashboardService.getDashboard(parentId);
+
+        List<Dashboard.ChildSummary> children = dashboard.children();
+        assertThat(children).hasSize(2);
+        assertThat(children.get(0).totalValue()).isEqualTo(Money.of("300.00"));
+        assertThat(children.get(0).progressPercent()).isEqualTo(new BigDecimal("25.00"));
+        assertThat(children.get(0).goalType()).isEqualTo("University");
+        // 250 saved + 50 invested at 10/month (8 saved, 2 invested) stays short of 1000 by the target date
+        assertThat(children.get(0).onTrack()).isFalse();
+        assertThat(children.get(0).projectedCompletion()).isNotNull();
+        assertThat(children.get(1).goalType()).isNull();
+        assertThat(children.get(1).investmentBalance()).isEqualTo(Money.ZERO);
+        assertThat(dashboard.totalFamilySavings()).isEqualTo(Money.of("300.00"));
+    }
+
+    @Test
+    void getDashboard_issuesOneLookupPerDataSetRegardlessOfFamilySize() {
+        UUID parentId = UUID.randomUUID();
+        List<Child> children = new ArrayList<>();
+        Map<UUID, Money> balances = new HashMap<>();
+        for (int i = 0; i < 6; i++) {
+            UUID id = UUID.randomUUID();
+            children.add(Child.builder().id(id).parentId(parentId).name("Child " + i).build());
+            balances.put(id, Money.of("10"));
+        }
+        when(childRepository.findAllByParentId(parentId)).thenReturn(children);
+        when(balanceService.getBalances(anyCollection())).thenReturn(balances);
+        when(portfolioRepository.findAllByChildIdIn(anyCollection())).thenReturn(List.of());
+        when(goalService.findByChildren(anyCollection())).thenReturn(Map.of());
+
+        dashboardService.getDashboard(parentId);
+
+        verify(childRepository).findAllByParentId(parentId);
+        verify(balanceService, times(1)).getBalances(anyCollection());
+        verify(portfolioRepository, times(1)).findAllByChildIdIn(anyCollection());
+        verify(goalService, times(1)).findByChildren(anyCollection());
+        verifyNoMoreInteractions(childRepository, balanceService, portfolioRepository, goalService);
+    }
+}
@@ -0,0 +1,139 @@
+package com.amanah.service;
+
+import com.amanah.config.CacheConfig;
+import com.amanah.dto.Forecast;
+import com.amanah.entity.Goal;
+import com.amanah.entity.InvestmentPortfolio;
+import com.amanah.entity.InvestmentPortfolio.PortfolioType;
+import com.amanah.entity.Money;
+import com.amanah.service.ForecastService.ForecastInput;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ForecastServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 1, 15);
+
+    private final ForecastService forecastService = new ForecastService(600);
+
+    @Test
+    void forecast_savingsOnlyGoalCompletesAfterTheRemainderOverTheContribution() {
+        Forecast forecast = forecastService.forecast(new ForecastInput(START, Money.of("100"), Money.ZERO, null, 0,
+                Money.of("50"), Money.of("1000"), START.plusMonths(24)));
+
+        assertThat(forecast.monthsToTarget()).isEqualTo(18);
+        assertThat(forecast.projectedCompletion()).isEqualTo(START.plusMonths(18));
+        assertThat(forecast.onTrack()).isTrue();
+        assertThat(forecast.projectedAtTargetDate()).isEqualTo(Money.of("1300"));
+        assertThat(forecast.series()).hasSize(25);
+        assertThat(forecast.series().get(18).total()).isEqualTo(Money.of("1000"));
+    }
+
+    @Test
+    void forecast_closedFormAgreesWithStepwiseSimulation() {
+        for (PortfolioType type : PortfolioType.values()) {
+            for (int allocation : new int[]{0, 35, 100}) {
+                ForecastInput input = new ForecastInput(START, Money.of("40"), Money.of("250"), type, allocation,
+                        Money.of("75.50"), Money.of("20000"), START.plusYears(10));
+
+                Forecast forecast = forecastService.forecast(input);
+
+                assertThat(forecast.monthsToTarget()).as("%s %d%%", type, allocation)
+                        .isEqualTo(stepwiseMonthsToTarget(input));
+            }
+        }
+    }
+
+    @Test
+    void forecast_pausedGoalWithoutGrowthNeverCompletes() {
+        Goal goal = Goal.builder().targetAmount(new BigDecimal("500.00")).monthlyContribution(new BigDecimal("25.00"))
+                .targetDate(START.plusMonths(6)).paused(true).build();
+
+        Forecast forecast = forecastService.forecast(ForecastInput.of(goal, Money.of("100"), null, START));
+
+        assertThat(forecast.projectedCompletion()).isNull();
+        assertThat(forecast.onTrack()).isFalse();
+        assertThat(forecast.series()).hasSize(7)
+                .allSatisfy(point -> assertThat(point.total()).isEqualTo(Money.of("100")));
+    }
+
+    @Test
+    void forecast_pausedGoalStillCompletesThroughPortfolioGrowth() {
+        Goal goal = Goal.builder().targetAmount(new BigDecimal("1100.00")).monthlyContribution(new BigDecimal("25.00"))
+                .targetDate(START.plusYears(1)).paused(true).build();
+        InvestmentPortfolio portfolio = InvestmentPortfolio.builder().portfolioType(PortfolioType.GROWTH)
+                .allocationPercentage(50).currentValue(Money.of("1000")).build();
+
+        Forecast forecast = forecastService.forecast(ForecastInput.of(goal, Money.ZERO, portfolio, START));
+
+        // 1000 * (121000 / 120000)^n reaches 1100 after 12 months (1104.71)
+        assertThat(forecast.monthsToTarget()).isEqualTo(12);
+        assertThat(forecast.onTrack()).isTrue();
+    }
+
+    @Test
+    void forecast_alreadyReachedTargetCompletesToday() {
+        Forecast forecast = forecastService.forecast(new ForecastInput(START, Money.of("600"), Money.of("400"),
+                PortfolioType.BALANCED, 20, Money.of("10"), Money.of("1000"), START.minusMonths(1)));
+
+        assertThat(forecast.monthsToTarget()).isZero();
+        assertThat(forecast.projectedCompletion()).isEqualTo(START);
+        assertThat(forecast.series()).hasSize(1);
+    }
+
+    @Test
+    void summarize_matchesTheFullForecastWithoutItsSeries() {
+        ForecastInput input = new ForecastInput(START, Money.of("40"), Money.of("250"), PortfolioType.GROWTH, 35,
+                Money.of("75.50"), Money.of("20000"), START.plusYears(10));
+
+        Forecast forecast = forecastService.forecast(input);
+
+        assertThat(forecastService.summarize(input)).isEqualTo(new Forecast.Summary(forecast.projectedCompletion(),
+                forecast.monthsToTarget(), forecast.projectedAtTargetDate(), forecast.onTrack()));
+    }
+
+    @Test
+    void cache_keepsSummariesAndSeriesApartAndWeighsBySeriesLength() {
+        try (var context = new AnnotationConfigApplicationContext()) {
+            context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance());
+            context.register(CacheConfig.class, ForecastService.class);
+            context.refresh();
+            ForecastService cached = context.getBean(ForecastService.class);
+            ForecastInput input = new ForecastInput(START, Money.of("100"), Money.ZERO, null, 0,
+                    Money.of("50"), Money.of("1000"), START.plusMonths(24));
+
+            Forecast.Summary summary = cached.summarize(input);
+            Forecast forecast = cached.forecast(input);
+
+            assertThat(cached.summarize(input)).isSameAs(summary);
+            assertThat(cached.forecast(input)).isSameAs(forecast);
+            var caffeine = ((CaffeineCache) context.getBean(CacheManager.class).getCache(CacheConfig.FORECASTS))
+                    .getNativeCache();
+            assertThat(caffeine.policy().eviction().orElseThrow().weightedSize()).hasValue(1 + 1 + 25);
+        }
+    }
+
+    /** The monthly simulation's own order of operations: contribute, then grow the portfolio. */
+    private static int stepwiseMonthsToTarget(ForecastInput input) {
+        ContributionSplit split = ContributionSplit.of(input.monthlyContribution(), input.allocationPercentage());
+        double growth = 1 + input.portfolioType().annualRateBasisPoints() / 120_000.0;
+        double savings = input.savings().fils() / 1000.0;
+        double investment = input.investment().fils() / 1000.0;
+        double target = input.target().fils() / 1000.0;
+        int months = 0;
+        while (savings + investment < target) {
+            savings += split.savings().fils() / 1000.0;
+            investment = (investment + split.invested().fils() / 1000.0) * growth;
+            months++;
+        }
+        return months;
+    }
+}
@@ -1,12 +1,14 @@
 package com.amanah.service;
 
 import com.amanah.entity.Goal;
+import com.amanah.event.DashboardInvalidationEvent;
 import com.amanah.repository.GoalRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -16,6 +18,7 @@ import java.util.UUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -24,6 +27,9 @@ class GoalServiceTest {
     @Mock
     private GoalRepository goalRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private GoalService goalService;
 
@@ -48,6 +54,7 @@ class GoalServiceTest {
         assertThat(saved.getMonthlyContribution()).isEqualByComparingTo("0");
         assertThat(saved.isPaused()).isFalse();
         verify(goalRepository).save(saved);
+        verify(eventPublisher).publishEvent(DashboardInvalidationEvent.forChild(childId));
     }
 
     @Test
@@ -78,4 +85,28 @@ class GoalServiceTest {
         assertThat(saved.isPaused()).isTrue();
         assertThat(saved.getStripeSubscriptionId()).isEqualTo("sub_123");
     }
-}
\ No newline at end of file
+
+    @Test
+    void pauseForCancelledSubscription_invalidatesOnlyThatChildsDashboard() {
+        UUID childId = UUID.randomUUID();
+        Goal goal = Goal.builder().childId(childId).stripeSubscriptionId("sub_1").build();
+        when(goalRepository.findByStripeSubscriptionId("sub_1")).thenReturn(Optional.of(goal));
+
+        goalService.pauseForCancelledSubscription("sub_1");
+
+        assertThat(goal.isPaused()).isTrue();
+        verify(eventPublisher).publishEvent(DashboardInvalidationEvent.forChild(childId));
+    }
+
+    @Test
+    void pauseForCancelledSubscription_ofAGoalWithoutChildInvalidatesNoDashboard() {
+        Goal goal = Goal.builder().stripeSubscriptionId("sub_orphan").build();
+        when(goalRepository.findByStripeSubscriptionId("sub_orphan")).thenReturn(Optional.of(goal));
+
+        goalService.pauseForCancelledSubscription("sub_orphan");
+
+        assertThat(goal.isPaused()).isTrue();
+        verify(goalRepository).save(goal);
+        verifyNoInteractions(eventPublisher);
+    }
+}
@@ -0,0 +1,81 @@
+package com.amanah.service;
+
+import com.amanah.entity.User;
+import com.amanah.event.TokenRevocationEvent;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret-0123";
+
+    private final JwtService jwtService = new JwtService(SECRET, 100);
+
+    @Test
+    void verify_returnsSubjectOfIssuedToken_onFirstAndCachedCalls() {
+        UUID userId = UUID.randomUUID();
+        String token = jwtService.issue(User.builder().id(userId).email("a@b.c").role(User.UserRole.parent).build());
+
+        assertThat(jwtService.verify(token)).isEqualTo(userId);
+        assertThat(jwtService.verify(token)).isEqualTo(userId);
+    }
+
+    @Test
+    void revoke_rejectsCachedAndFreshTokensOfThatUserOnly() {
+        UUID erased = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        String cached = jwtService.issue(User.builder().id(erased).email("a@b.c").role(User.UserRole.parent).build());
+        String otherToken = jwtService.issue(User.builder().id(other).email("d@e.f").role(User.UserRole.parent).build());
+        jwtService.verify(cached);
+        jwtService.verify(otherToken);
+
+        jwtService.revoke(erased);
+
+        String fresh = jwtService.issue(User.builder().id(erased).email("a@b.c").role(User.UserRole.parent).build());
+        assertThatThrownBy(() -> jwtService.verify(cached)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> jwtService.verify(fresh)).isInstanceOf(JwtException.class);
+        assertThat(jwtService.verify(otherToken)).isEqualTo(other);
+    }
+
+    @Test
+    void onRevocation_revokesTheEventsUser() {
+        UUID erased = UUID.randomUUID();
+        String token = jwtService.issue(User.builder().id(erased).email("a@b.c").role(User.UserRole.parent).build());
+
+        jwtService.onRevocation(new TokenRevocationEvent(erased));
+
+        assertThatThrownBy(() -> jwtService.verify(token)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void verify_rejectsTokenSignedWithAnotherKey() {
+        String forged = Jwts.builder()
+                .subject(UUID.randomUUID().toString())
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(new SecretKeySpec("another-secret-another-secret-another-0123"
+                        .getBytes(StandardCharsets.UTF_8), "HmacSHA256"))
+                .compact();
+
+        assertThatThrownBy(() -> jwtService.verify(forged)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void verify_rejectsExpiredToken() {
+        String expired = Jwts.builder()
+                .subject(UUID.randomUUID().toString())
+                .expiration(new Date(System.currentTimeMillis() - 5 * 60_000))
+                .signWith(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"))
+                .compact();
+
+        assertThatThrownBy(() -> jwtService.verify(expired)).isInstanceOf(JwtException.class);
+    }
+}
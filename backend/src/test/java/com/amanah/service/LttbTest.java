@@ -0,0 +1,41 @@
+package com.amanah.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LttbTest {
+
+    private record P(double x, double y) {}
+
+    @Test
+    void returnsShortSeriesUnchanged() {
+        List<P> points = List.of(new P(0, 1), new P(1, 2), new P(2, 3));
+
+        assertThat(Lttb.downsample(points, 200, P::x, P::y)).isSameAs(points);
+    }
+
+    @Test
+    void keepsEndpointsOrderAndTheRequestedSize() {
+        List<P> points = IntStream.range(0, 10_000).mapToObj(i -> new P(i, Math.sin(i / 100.0))).toList();
+
+        List<P> sampled = Lttb.downsample(points, 200, P::x, P::y);
+
+        assertThat(sampled).hasSize(200);
+        assertThat(sampled.get(0)).isEqualTo(points.get(0));
+        assertThat(sampled.get(199)).isEqualTo(points.get(9_999));
+        assertThat(sampled).isSortedAccordingTo((a, b) -> Double.compare(a.x(), b.x()));
+    }
+
+    @Test
+    void keepsASingleSpikeThatEveryNthSamplingWouldDrop() {
+        List<P> points = IntStream.range(0, 1_000).mapToObj(i -> new P(i, i == 503 ? 100 : 0)).toList();
+
+        List<P> sampled = Lttb.downsample(points, 20, P::x, P::y);
+
+        assertThat(sampled).contains(new P(503, 100));
+    }
+}
@@ -0,0 +1,105 @@
+package com.amanah.service;
+
+import com.amanah.dto.SavingsByMonth;
+import com.amanah.entity.Money;
+import com.amanah.entity.Transaction.TransactionType;
+import com.amanah.entity.TransactionMonthlySummary;
+import com.amanah.repository.ChildBalanceRepository;
+import com.amanah.repository.MonthlySummaryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MonthlySummaryServiceTest {
+
+    @Mock
+    private MonthlySummaryRepository summaryRepository;
+
+    @Mock
+    private ChildBalanceRepository balanceRepository;
+
+    @InjectMocks
+    private MonthlySummaryService service;
+
+    private final UUID childId = UUID.randomUUID();
+
+    @Test
+    void byMonth_pivotsTypesAndFillsMonthsWithoutActivity() {
+        when(summaryRepository.findAllByChildIdAndMonthBetweenOrderByMonth(
+                childId, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 4, 1))).thenReturn(List.of(
+                row(LocalDate.of(2026, 1, 1), TransactionType.AUTO, "50.000", 1),
+                row(LocalDate.of(2026, 1, 1), TransactionType.MANUAL, "20.500", 3),
+                row(LocalDate.of(2026, 3, 1), TransactionType.MANUAL, "5.000", 1)));
+
+        SavingsByMonth chart = service.byMonth(childId, YearMonth.of(2026, 1), YearMonth.of(2026, 4));
+
+        assertThat(chart.months()).containsExactly(
+                new SavingsByMonth.Month(YearMonth.of(2026, 1), Money.of("20.500"), Money.of("50.000"), Money.of("70.500"), 4),
+                new SavingsByMonth.Month(YearMonth.of(2026, 2), Money.ZERO, Money.ZERO, Money.ZERO, 0),
+                new SavingsByMonth.Month(YearMonth.of(2026, 3), Money.of("5.000"), Money.ZERO, Money.of("5.000"), 1),
+                new SavingsByMonth.Month(YearMonth.of(2026, 4), Money.ZERO, Money.ZERO, Money.ZERO, 0));
+    }
+
+    @Test
+    void byMonth_defaultsToTheLastTwelveMonths() {
+        YearMonth now = YearMonth.now(ZoneOffset.UTC);
+        when(summaryRepository.findAllByChildIdAndMonthBetweenOrderByMonth(eq(childId), any(), any())).thenReturn(List.of());
+
+        SavingsByMonth chart = service.byMonth(childId, null, null);
+
+        assertThat(chart.from()).isEqualTo(now.minusMonths(11));
+        assertThat(chart.to()).isEqualTo(now);
+        assertThat(chart.months()).hasSize(12);
+    }
+
+    @Test
+    void byMonth_rejectsInvertedAndOversizedRanges() {
+        assertThatThrownBy(() -> service.byMonth(childId, YearMonth.of(2026, 5), YearMonth.of(2026, 4)))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> service.byMonth(childId, YearMonth.of(2000, 1), YearMonth.of(2026, 1)))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    void record_addsOneTransactionOfItsType() {
+        service.record(childId, Money.of("12.345"), TransactionType.MANUAL);
+
+        verify(summaryRepository).addTransaction(childId, "MANUAL", Money.of("12.345").toBigDecimal());
+    }
+
+    @Test
+    void rebuild_locksLedgerWritersBeforeReplacingTheRollup() {
+        when(summaryRepository.insertFromTransactions()).thenReturn(42);
+
+        assertThat(service.rebuild()).isEqualTo(42);
+
+        var order = inOrder(balanceRepository, summaryRepository);
+        order.verify(balanceRepository).lockTransactions();
+        order.verify(summaryRepository).deleteAllRows();
+        order.verify(summaryRepository).insertFromTransactions();
+    }
+
+    private TransactionMonthlySummary row(LocalDate month, TransactionType type, String amount, int count) {
+        return TransactionMonthlySummary.builder()
+                .childId(childId).month(month).type(type).amount(Money.of(amount)).transactionCount(count)
+                .build();
+    }
+}
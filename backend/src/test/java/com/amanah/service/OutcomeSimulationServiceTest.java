@@ -0,0 +1,108 @@
+package com.amanah.service;
+
+import com.amanah.dto.Forecast;
+import com.amanah.dto.OutcomeSimulation;
+import com.amanah.entity.InvestmentPortfolio.PortfolioType;
+import com.amanah.entity.Money;
+import com.amanah.service.ForecastService.ForecastInput;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class OutcomeSimulationServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 1, 15);
+    private static final ForecastInput UNIVERSITY = new ForecastInput(START, Money.of("500"), Money.of("2000"),
+            PortfolioType.GROWTH, 60, Money.of("100"), Money.of("40000"), START.plusYears(18));
+
+    private final Bulkhead bulkhead = Bulkhead.of("outcomes", BulkheadConfig.custom()
+            .maxConcurrentCalls(2)
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+    private final OutcomeSimulationService fourThreads = service(4, 0.15);
+    private final OutcomeSimulationService oneThread = service(1, 0.15);
+
+    @AfterEach
+    void tearDown() {
+        fourThreads.shutdown();
+        oneThread.shutdown();
+    }
+
+    @Test
+    void simulate_isReproducibleFromTheSeedWhateverThePoolSize() {
+        OutcomeSimulation first = fourThreads.simulate(UNIVERSITY, 5_000, 42L);
+
+        assertThat(fourThreads.simulate(UNIVERSITY, 5_000, 42L)).isEqualTo(first);
+        assertThat(oneThread.simulate(UNIVERSITY, 5_000, 42L)).isEqualTo(first);
+        assertThat(fourThreads.simulate(UNIVERSITY, 5_000, 43L)).isNotEqualTo(first);
+    }
+
+    @Test
+    void simulate_reportsOrderedBandsAtEachYearEndAndTheTargetDate() {
+        OutcomeSimulation result = fourThreads.simulate(UNIVERSITY, 10_000, 7L);
+
+        assertThat(result.bands()).hasSize(19);
+        assertThat(result.bands().get(0).month()).isEqualTo(START);
+        assertThat(result.bands().get(18).month()).isEqualTo(START.plusYears(18));
+        assertThat(result.bands()).allSatisfy(band -> {
+            assertThat(band.p10()).isLessThanOrEqualTo(band.p25());
+            assertThat(band.p25()).isLessThanOrEqualTo(band.p50());
+            assertThat(band.p50()).isLessThanOrEqualTo(band.p75());
+            assertThat(band.p75()).isLessThanOrEqualTo(band.p90());
+        });
+        assertThat(result.bands().get(18).p90()).isGreaterThan(result.bands().get(18).p10());
+        assertThat(result.probabilityOfReachingTarget()).isBetween(0.0, 1.0);
+    }
+
+    @Test
+    void simulate_withoutVolatilityCollapsesToTheDeterministicForecast() {
+        OutcomeSimulationService flat = service(2, 0);
+        try {
+            OutcomeSimulation result = flat.simulate(UNIVERSITY, 100, 1L);
+            Forecast forecast = new ForecastService(600).forecast(UNIVERSITY);
+
+            OutcomeSimulation.Band last = result.bands().get(result.bands().size() - 1);
+            assertThat(last.p10()).isEqualTo(last.p90());
+            assertThat(last.p50().fils()).isCloseTo(forecast.projectedAtTargetDate().fils(), within(5L));
+            assertThat(result.probabilityOfReachingTarget()).isEqualTo(forecast.onTrack() ? 1.0 : 0.0);
+        } finally {
+            flat.shutdown();
+        }
+    }
+
+    @Test
+    void simulate_rejectsRequestsBeyondTheConcurrencyLimit() {
+        bulkhead.tryAcquirePermission();
+        bulkhead.tryAcquirePermission();
+
+        assertThatThrownBy(() -> fourThreads.simulate(UNIVERSITY, 100, 1L))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS));
+
+        bulkhead.onComplete();
+        assertThat(fourThreads.simulate(UNIVERSITY, 100, 1L).paths()).isEqualTo(100);
+        assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void checkpoints_coverYearEndsAndAPartialFinalYear() {
+        assertThat(OutcomeSimulationService.checkpoints(0)).containsExactly(0);
+        assertThat(OutcomeSimulationService.checkpoints(24)).containsExactly(0, 12, 24);
+        assertThat(OutcomeSimulationService.checkpoints(30)).containsExactly(0, 12, 24, 30);
+    }
+
+    private OutcomeSimulationService service(int parallelism, double volatility) {
+        return new OutcomeSimulationService(bulkhead, parallelism, 20_000, 50_000, volatility, volatility, volatility);
+    }
+}
@@ -0,0 +1,76 @@
+package com.amanah.service;
+
+import com.amanah.dto.PersonalGoalResponse;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static com.amanah.filter.QueryCountAssertions.assertQueryCount;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Counts the SQL statements {@link PersonalGoalService#listGoals} runs against Postgres as goals are added. */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "jwt.secret=query-count-test-secret-0123456789abcdef",
+        "stripe.secret-key=sk_test_unused",
+        "stripe.webhook-secret=whsec_unused",
+        "stripe.price-id=price_unused",
+        "amanah.stripe.prices.warm-on-startup=false",
+        "spring.sql.init.mode=always",
+        "spring.sql.init.schema-locations=classpath:db/app-schema.sql"
+})
+class PersonalGoalServiceQueryCountTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl() + "&stringtype=unspecified");
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private PersonalGoalService personalGoalService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void listGoals_runsThreeStatementsWhateverTheGoalCount(int goalCount) throws Exception {
+        UUID userId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, email, role) VALUES (?, ?, 'child')", userId, userId + "@example.com");
+        for (int i = 0; i < goalCount; i++) {
+            UUID goalId = jdbcTemplate.queryForObject("""
+                    INSERT INTO personal_goals (user_id, goal_type, target_amount, target_date)
+                    VALUES (?, ?, 100, ?) RETURNING id
+                    """, UUID.class, userId, "Goal " + i, LocalDate.now().plusMonths(6));
+            // More rows than the preview holds, so every goal also needs its next-page cursor
+            jdbcTemplate.batchUpdate("INSERT INTO transactions (child_id, amount, type) VALUES (?, 1, 'MANUAL')",
+                    Collections.nCopies(TransactionHistoryService.PREVIEW_SIZE + 2, new Object[] {goalId}));
+            jdbcTemplate.update("INSERT INTO child_balances (child_id, balance) VALUES (?, ?)",
+                    goalId, TransactionHistoryService.PREVIEW_SIZE + 2);
+        }
+
+        List<PersonalGoalResponse> goals = assertQueryCount(3, () -> personalGoalService.listGoals(userId));
+
+        assertThat(goals).hasSize(goalCount).allSatisfy(goal -> {
+            assertThat(goal.transactions()).hasSize(TransactionHistoryService.PREVIEW_SIZE);
+            assertThat(goal.transactionsNextCursor()).isNotNull();
+        });
+    }
+}
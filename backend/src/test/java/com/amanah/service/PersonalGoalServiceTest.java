@@ -0,0 +1,81 @@
+package com.amanah.service;
+
+import com.amanah.dto.PersonalGoalResponse;
+import com.amanah.entity.Money;
+import com.amanah.entity.PersonalGoal;
+import com.amanah.entity.Transaction;
+import com.amanah.repository.PersonalGoalRepository;
+import com.amanah.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PersonalGoalServiceTest {
+
+    @Mock
+    private PersonalGoalRepository personalGoalRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private BalanceService balanceService;
+
+    @InjectMocks
+    private PersonalGoalService personalGoalService;
+
+    @Test
+    void listGoals_capsEmbeddedTransactionsAndExposesCursor() {
+        UUID userId = UUID.randomUUID();
+        PersonalGoal busy = goal(userId, "Bike");
+        PersonalGoal quiet = goal(userId, "Game");
+        List<Transaction> recent = new ArrayList<>();
+        OffsetDateTime now = OffsetDateTime.now();
+        for (int i = 0; i <= TransactionHistoryService.PREVIEW_SIZE; i++) {
+            recent.add(Transaction.builder().id(UUID.randomUUID()).childId(busy.getId())
+                    .amount(BigDecimal.ONE).type(Transaction.TransactionType.MANUAL).date(now.minusDays(i)).build());
+        }
+        recent.add(Transaction.builder().id(UUID.randomUUID()).childId(quiet.getId())
+                .amount(BigDecimal.TEN).type(Transaction.TransactionType.MANUAL).date(now).build());
+
+        when(personalGoalRepository.findByUserId(userId)).thenReturn(List.of(busy, quiet));
+        when(balanceService.getBalances(anyCollection())).thenReturn(Map.of(
+                busy.getId(), Money.of("11.00"), quiet.getId(), Money.of("10.00")));
+        when(transactionRepository.findRecentForPersonalGoals(userId, TransactionHistoryService.PREVIEW_SIZE + 1))
+                .thenReturn(recent);
+
+        List<PersonalGoalResponse> result = personalGoalService.listGoals(userId);
+
+        assertThat(result.get(0).transactions()).hasSize(TransactionHistoryService.PREVIEW_SIZE);
+        assertThat(result.get(0).transactionsNextCursor()).isNotNull();
+        assertThat(result.get(0).currentAmount()).isEqualTo(Money.of("11.00"));
+        assertThat(result.get(1).transactions()).hasSize(1);
+        assertThat(result.get(1).transactionsNextCursor()).isNull();
+    }
+
+    private static PersonalGoal goal(UUID userId, String name) {
+        return PersonalGoal.builder()
+                .id(UUID.randomUUID())
+                .userId(userId)
+                .goalType(name)
+                .targetAmount(new BigDecimal("100.00"))
+                .targetDate(LocalDate.now().plusMonths(6))
+                .monthlyContribution(BigDecimal.ZERO)
+                .build();
+    }
+}
@@ -3,29 +3,35 @@ package com.amanah.service;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.Mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import com.amanah.entity.Child;
 import com.amanah.entity.Goal;
 import com.amanah.entity.InvestmentPortfolio;
+import com.amanah.entity.Money;
 import com.amanah.entity.Transaction;
 import com.amanah.repository.ChildRepository;
 import com.amanah.repository.GoalRepository;
 import com.amanah.repository.InvestmentPortfolioRepository;
-import com.amanah.repository.TransactionRepository;
+import com.amanah.repository.LedgerJdbcRepository;
+import com.amanah.repository.SimulationBatchRepository;
 
 @ExtendWith(MockitoExtension.class)
 class SimulationServiceTest {
@@ -40,14 +46,23 @@ class SimulationServiceTest {
     private InvestmentPortfolioRepository portfolioRepository;
 
     @Mock
-    private TransactionRepository transactionRepository;
+    private SimulationBatchRepository batchRepository;
+
+    @Mock
+    private LedgerJdbcRepository ledgerRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     private SimulationService simulationService;
 
     @BeforeEach
     void setUp() {
-        ContributionService contributionService = new ContributionService(transactionRepository, portfolioRepository);
-        simulationService = new SimulationService(childRepository, goalRepository, portfolioRepository, contributionService);
+        ContributionService contributionService = new ContributionService(ledgerRepository, eventPublisher, meterRegistry);
+        simulationService = new SimulationService(childRepository, goalRepository, portfolioRepository, batchRepository, contributionService,
+                eventPublisher, meterRegistry);
     }
 
     @Test
@@ -59,40 +74,60 @@ class SimulationServiceTest {
         Child activeChild = Child.builder().id(activeChildId).parentId(parentId).name("Aisha").build();
         Child pausedChild = Child.builder().id(pausedChildId).parentId(parentId).name("Omar").build();
         Goal activeGoal = Goal.builder()
+                .id(UUID.randomUUID())
                 .childId(activeChildId)
                 .monthlyContribution(new BigDecimal("100.00"))
                 .paused(false)
                 .build();
         Goal pausedGoal = Goal.builder()
+                .id(UUID.randomUUID())
                 .childId(pausedChildId)
                 .monthlyContribution(new BigDecimal("50.00"))
                 .paused(true)
                 .build();
+        // As read back after the contribution statement added the invested 20.00 to 1000.00
         InvestmentPortfolio portfolio = InvestmentPortfolio.builder()
                 .childId(activeChildId)
                 .portfolioType(InvestmentPortfolio.PortfolioType.BALANCED)
                 .allocationPercentage(20)
-                .currentValue(new BigDecimal("1000.00"))
+                .currentValue(Money.of("1020.00"))
                 .build();
 
         when(childRepository.findAllByParentId(parentId)).thenReturn(List.of(activeChild, pausedChild));
         when(goalRepository.findByChildId(activeChildId)).thenReturn(Optional.of(activeGoal));
         when(goalRepository.findByChildId(pausedChildId)).thenReturn(Optional.of(pausedGoal));
+        when(batchRepository.claimGoals(eq(List.of(activeGoal.getId())), any())).thenReturn(Set.of(activeGoal.getId()));
         when(portfolioRepository.findByChildId(activeChildId)).thenReturn(Optional.of(portfolio));
         when(portfolioRepository.save(any(InvestmentPortfolio.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         int processed = simulationService.runMonthlySimulation(parentId);
 
-        ArgumentCaptor<Transaction> transactionCaptor = ArgumentCaptor.forClass(Transaction.class);
-        verify(transactionRepository).save(transactionCaptor.capture());
-
         assertThat(processed).isEqualTo(1);
+        verify(ledgerRepository).contribute(activeChildId, Money.of("100.00"), Transaction.TransactionType.AUTO);
+        verify(ledgerRepository, never()).contribute(eq(pausedChildId), any(), any());
         verify(portfolioRepository, never()).findByChildId(pausedChildId);
-        verify(portfolioRepository, times(2)).save(any(InvestmentPortfolio.class));
-        assertThat(transactionCaptor.getValue().getChildId()).isEqualTo(activeChildId);
-        assertThat(transactionCaptor.getValue().getAmount()).isEqualByComparingTo("80.00");
-        assertThat(transactionCaptor.getValue().getType()).isEqualTo(Transaction.TransactionType.AUTO);
-        assertThat(portfolio.getCurrentValue()).isEqualByComparingTo("1025.95");
+        verify(portfolioRepository, times(1)).save(any(InvestmentPortfolio.class));
+        assertThat(portfolio.getCurrentValue()).isEqualTo(Money.of("1025.95"));
+    }
+
+    @Test
+    void runMonthlySimulation_skipsGoalsAlreadyClaimedForTheMonth() {
+        UUID parentId = UUID.randomUUID();
+        UUID childId = UUID.randomUUID();
+        Goal goal = Goal.builder()
+                .id(UUID.randomUUID())
+                .childId(childId)
+                .monthlyContribution(new BigDecimal("100.00"))
+                .build();
+
+        when(childRepository.findAllByParentId(parentId))
+                .thenReturn(List.of(Child.builder().id(childId).parentId(parentId).name("Aisha").build()));
+        when(goalRepository.findByChildId(childId)).thenReturn(Optional.of(goal));
+        when(batchRepository.claimGoals(anyCollection(), any())).thenReturn(Set.of());
+
+        assertThat(simulationService.runMonthlySimulation(parentId)).isZero();
+        verify(ledgerRepository, never()).contribute(any(), any(), any());
+        verify(portfolioRepository, never()).findByChildId(any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,100 @@
+package com.amanah.service;
+
+import com.amanah.config.StripeResilienceConfig;
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.exception.InvalidRequestException;
+import com.stripe.net.RequestOptions;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StripeGatewayTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StripeResilienceConfig config = new StripeResilienceConfig();
+    private final CircuitBreaker breaker = config.stripeCircuitBreaker(meterRegistry, 50, 4, Duration.ofMinutes(1));
+
+    private StripeGateway gateway(int maxConcurrentCalls) {
+        return new StripeGateway(breaker, config.stripeBulkhead(meterRegistry, maxConcurrentCalls, Duration.ZERO),
+                meterRegistry, Duration.ofSeconds(1), Duration.ofSeconds(2), Duration.ofSeconds(3));
+    }
+
+    @Test
+    void outagesOpenTheBreakerAndLaterCallsFailFastWithoutReachingStripe() {
+        StripeGateway gateway = gateway(10);
+        AtomicInteger attempts = new AtomicInteger();
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> gateway.read("subscription.retrieve", options -> {
+                attempts.incrementAndGet();
+                throw new ApiConnectionException("Read timed out");
+            })).isInstanceOf(ApiConnectionException.class);
+        }
+
+        assertThatThrownBy(() -> gateway.read("subscription.retrieve", options -> attempts.incrementAndGet()))
+                .isInstanceOf(PaymentProviderUnavailableException.class);
+        assertThat(attempts).hasValue(4);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(meterRegistry.timer("amanah.stripe.calls", "operation", "subscription.retrieve", "outcome", "rejected").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void clientErrorsDoNotCountTowardsTheBreaker() {
+        StripeGateway gateway = gateway(10);
+        for (int i = 0; i < 6; i++) {
+            assertThatThrownBy(() -> gateway.write("subscription.create", options -> {
+                throw new InvalidRequestException("No such price", "price", null, "resource_missing", 400, null);
+            })).isInstanceOf(InvalidRequestException.class);
+        }
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void callsBeyondTheBulkheadAreRejectedInsteadOfQueueing() throws Exception {
+        StripeGateway gateway = gateway(1);
+        CountDownLatch inFlight = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            pool.submit(() -> gateway.write("customer.create", options -> {
+                inFlight.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "cus_1";
+            }));
+            assertThat(inFlight.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> gateway.write("customer.create", options -> "cus_2"))
+                    .isInstanceOf(PaymentProviderUnavailableException.class);
+        } finally {
+            release.countDown();
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void readsAndWritesUseTheirOwnTimeouts() throws Exception {
+        StripeGateway gateway = gateway(10);
+
+        RequestOptions read = gateway.read("price.lookup", options -> options);
+        RequestOptions write = gateway.write("price.create", options -> options);
+
+        assertThat(read.getReadTimeout()).isEqualTo(2000);
+        assertThat(write.getReadTimeout()).isEqualTo(3000);
+        assertThat(write.getConnectTimeout()).isEqualTo(1000);
+    }
+}
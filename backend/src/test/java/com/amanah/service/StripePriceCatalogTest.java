@@ -0,0 +1,151 @@
+package com.amanah.service;
+
+import com.amanah.repository.StripePriceRepository;
+import com.amanah.repository.StripePriceRepository.PriceRow;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class StripePriceCatalogTest {
+
+    private final StripePriceRepository priceRepository = mock(StripePriceRepository.class);
+    private final AtomicInteger creations = new AtomicInteger();
+    private final CountDownLatch releaseCreate = new CountDownLatch(1);
+
+    /** Catalog whose Stripe calls are local: nothing exists remotely and creation blocks until released. */
+    private final StripePriceCatalog catalog = new StripePriceCatalog(priceRepository, null, false) {
+        @Override
+        Iterable<com.stripe.model.Price> listRemote() {
+            return List.of();
+        }
+
+        @Override
+        String findRemote(PriceKey key) {
+            return null;
+        }
+
+        @Override
+        String createRemote(PriceKey key) {
+            creations.incrementAndGet();
+            try {
+                releaseCreate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "price_" + key.unitAmount();
+        }
+    };
+
+    @Test
+    void monthlyPriceId_concurrentMissesCreateOnePrice() throws Exception {
+        when(priceRepository.findPriceId(anyString(), anyLong(), anyString())).thenReturn(Optional.empty());
+        when(priceRepository.saveIfAbsent(any())).thenAnswer(inv -> inv.<PriceRow>getArgument(0).priceId());
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> catalog.monthlyPriceId(25000)));
+            }
+            Thread.sleep(100);
+            releaseCreate.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("price_25000");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(creations).hasValue(1);
+        assertThat(catalog.monthlyPriceId(25000)).isEqualTo("price_25000");
+        verify(priceRepository, times(1)).saveIfAbsent(any());
+    }
+
+    @Test
+    void warm_servesStoredPricesWithoutCallingStripe() {
+        when(priceRepository.findAll()).thenReturn(List.of(new PriceRow("bhd", 10000, "month", "price_stored")));
+
+        catalog.warm();
+
+        assertThat(catalog.monthlyPriceId(10000)).isEqualTo("price_stored");
+        assertThat(creations).hasValue(0);
+        verify(priceRepository, never()).findPriceId(anyString(), anyLong(), anyString());
+    }
+
+    @Test
+    void monthlyPriceId_failedResolutionIsRetriedByTheNextCaller() {
+        when(priceRepository.findPriceId(anyString(), anyLong(), anyString()))
+                .thenThrow(new RuntimeException("db down"))
+                .thenReturn(Optional.of("price_recovered"));
+
+        assertThatThrownBy(() -> catalog.monthlyPriceId(5000)).hasMessage("db down");
+        assertThat(catalog.monthlyPriceId(5000)).isEqualTo("price_recovered");
+    }
+
+    @Test
+    void monthlyPriceId_adoptsThePriceAnotherInstanceCreatedFirst() {
+        when(priceRepository.findPriceId(anyString(), anyLong(), anyString())).thenReturn(Optional.empty());
+        when(priceRepository.saveIfAbsent(any())).thenAnswer(inv -> inv.<PriceRow>getArgument(0).priceId());
+        AtomicInteger lookups = new AtomicInteger();
+        StripePriceCatalog racing = new StripePriceCatalog(priceRepository, null, false) {
+            @Override
+            String findRemote(PriceKey key) {
+                // Absent when we look, present once the other instance's create has gone through
+                return lookups.getAndIncrement() == 0 ? null : "price_theirs";
+            }
+
+            @Override
+            String createRemote(PriceKey key) {
+                throw new RuntimeException("Failed to create Stripe price: lookup key already in use");
+            }
+        };
+
+        assertThat(racing.monthlyPriceId(25000)).isEqualTo("price_theirs");
+        assertThat(lookups).hasValue(2);
+        verify(priceRepository).saveIfAbsent(new PriceRow("bhd", 25000, "month", "price_theirs"));
+    }
+
+    @Test
+    void monthlyPriceId_propagatesACreateFailureWhenNoPriceAppeared() {
+        when(priceRepository.findPriceId(anyString(), anyLong(), anyString())).thenReturn(Optional.empty());
+        StripePriceCatalog failing = new StripePriceCatalog(priceRepository, null, false) {
+            @Override
+            String findRemote(PriceKey key) {
+                return null;
+            }
+
+            @Override
+            String createRemote(PriceKey key) {
+                throw new RuntimeException("Failed to create Stripe price: invalid currency");
+            }
+        };
+
+        assertThatThrownBy(() -> failing.monthlyPriceId(25000)).hasMessageContaining("invalid currency");
+        verify(priceRepository, never()).saveIfAbsent(any());
+    }
+
+    @Test
+    void lookupKey_isStablePerAmountAndInterval() {
+        assertThat(new StripePriceCatalog.PriceKey("bhd", 25000, "month").lookupKey()).isEqualTo("amanah_bhd_25000_month");
+    }
+
+    @Test
+    void idempotencyKey_isFreshForEveryCreateAttempt() {
+        StripePriceCatalog.PriceKey key = new StripePriceCatalog.PriceKey("bhd", 25000, "month");
+
+        assertThat(StripePriceCatalog.idempotencyKey(key))
+                .startsWith("amanah_bhd_25000_month_")
+                .isNotEqualTo(StripePriceCatalog.idempotencyKey(key));
+    }
+}
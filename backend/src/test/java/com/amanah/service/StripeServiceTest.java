@@ -0,0 +1,23 @@
+package com.amanah.service;
+
+import com.amanah.entity.Money;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class StripeServiceTest {
+
+    private final StripePriceCatalog priceCatalog = mock(StripePriceCatalog.class);
+    private final StripeGateway gateway = mock(StripeGateway.class);
+    private final StripeService stripeService = new StripeService(priceCatalog, gateway);
+
+    @Test
+    void createSubscription_rejectsAnUnchargeableAmountBeforeCallingStripe() {
+        assertThatThrownBy(() -> stripeService.createSubscription("cus_1", "pm_1", Money.of("25.125")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("25.125");
+        verifyNoInteractions(gateway, priceCatalog);
+    }
+}
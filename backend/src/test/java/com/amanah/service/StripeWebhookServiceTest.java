@@ -0,0 +1,138 @@
+package com.amanah.service;
+
+import com.amanah.entity.Goal;
+import com.amanah.entity.InvestmentPortfolio;
+import com.amanah.entity.Money;
+import com.amanah.repository.GoalRepository;
+import com.amanah.repository.LedgerJdbcRepository;
+import com.amanah.repository.LedgerJdbcRepository.LedgerEntry;
+import com.amanah.repository.SimulationBatchRepository;
+import com.amanah.repository.SimulationBatchRepository.PortfolioRow;
+import com.amanah.repository.WebhookInboxRepository;
+import com.amanah.repository.WebhookInboxRepository.InboxEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class StripeWebhookServiceTest {
+
+    private final WebhookInboxRepository inboxRepository = mock(WebhookInboxRepository.class);
+    private final GoalRepository goalRepository = mock(GoalRepository.class);
+    private final SimulationBatchRepository batchRepository = mock(SimulationBatchRepository.class);
+    private final LedgerJdbcRepository ledgerRepository = mock(LedgerJdbcRepository.class);
+    private final GoalService goalService = mock(GoalService.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private StripeWebhookService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new StripeWebhookService(inboxRepository, goalRepository, batchRepository, ledgerRepository,
+                goalService, transactionTemplate, mock(ApplicationEventPublisher.class), meterRegistry,
+                "whsec_test",
+                1, 200, 3, Duration.ofMinutes(5), Duration.ofSeconds(30), Duration.ofHours(1), false);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void process_coalescesPaidInvoicesIntoOneLedgerWriteAndMarksAllDone() {
+        UUID childId = UUID.randomUUID();
+        when(goalRepository.findAllByStripeSubscriptionIdIn(anyCollection())).thenReturn(List.of(
+                Goal.builder().childId(childId).stripeSubscriptionId("sub_1").build()));
+
+        service.process(List.of(
+                invoicePaid("evt_1", "sub_1", 25000),
+                invoicePaid("evt_2", "sub_1", 25000),
+                invoicePaid("evt_3", "sub_unknown", 10000)));
+
+        ArgumentCaptor<List<LedgerEntry>> entries = ArgumentCaptor.forClass(List.class);
+        verify(ledgerRepository).insertTransactions(entries.capture());
+        assertThat(entries.getValue()).hasSize(2)
+                .allSatisfy(e -> assertThat(e.amount()).isEqualTo(Money.ofFils(25000)));
+        verify(inboxRepository).markDone(List.of("evt_1", "evt_2", "evt_3"));
+        assertThat(eventCount("invoice.paid", "applied")).isEqualTo(3);
+    }
+
+    @Test
+    void process_pausesGoalOfDeletedSubscription() {
+        service.process(List.of(new InboxEvent("evt_9", StripeWebhookService.SUBSCRIPTION_DELETED, """
+                {"id":"evt_9","object":"event","type":"customer.subscription.deleted",
+                 "data":{"object":{"id":"sub_1","object":"subscription"}}}""", 1)));
+
+        verify(goalService).pauseForCancelledSubscription("sub_1");
+        verify(inboxRepository).markDone(List.of("evt_9"));
+    }
+
+    @Test
+    void process_retriesFailedEventWithBackoffThenParksItAsDead() {
+        when(goalRepository.findAllByStripeSubscriptionIdIn(anyCollection())).thenThrow(new IllegalStateException("db down"));
+
+        service.process(List.of(invoicePaid("evt_1", "sub_1", 1000)));
+        verify(inboxRepository).scheduleRetry(eq("evt_1"), any(), eq("IllegalStateException: db down"));
+
+        service.process(List.of(new InboxEvent("evt_2", StripeWebhookService.INVOICE_PAID,
+                invoicePaid("evt_2", "sub_1", 1000).payload(), 3)));
+        verify(inboxRepository).markDead("evt_2", "IllegalStateException: db down");
+        verify(inboxRepository, never()).markDone(anyCollection());
+        assertThat(eventCount("invoice.paid", "retry")).isEqualTo(1);
+        assertThat(eventCount("invoice.paid", "dead")).isEqualTo(1);
+        assertThat(meterRegistry.find("amanah.stripe.webhook.events").tag("outcome", "applied").counter()).isNull();
+    }
+
+    @Test
+    void backoff_doublesPerAttemptUpToTheCap() {
+        assertThat(service.backoff(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(service.backoff(3)).isEqualTo(Duration.ofMinutes(2));
+        assertThat(service.backoff(12)).isEqualTo(Duration.ofHours(1));
+    }
+
+    @Test
+    void plan_accumulatesSeveralPaymentsIntoTheSamePortfolio() {
+        UUID childId = UUID.randomUUID();
+        UUID portfolioId = UUID.randomUUID();
+
+        StripeWebhookService.PaymentPlan plan = StripeWebhookService.plan(
+                List.of(new StripeWebhookService.Payment(childId, Money.of("100.00")),
+                        new StripeWebhookService.Payment(childId, Money.of("50.00"))),
+                List.of(new PortfolioRow(portfolioId, childId, InvestmentPortfolio.PortfolioType.GROWTH,
+                        20, Money.of("500.00"))));
+
+        assertThat(plan.balanceDeltas().get(childId)).isEqualTo(Money.of("120.00"));
+        assertThat(plan.portfolioValues().get(portfolioId)).isEqualTo(Money.of("530.00"));
+    }
+
+    private double eventCount(String type, String outcome) {
+        return meterRegistry.get("amanah.stripe.webhook.events").tags("type", type, "outcome", outcome).counter().count();
+    }
+
+    private static InboxEvent invoicePaid(String eventId, String subscriptionId, long amountPaid) {
+        return new InboxEvent(eventId, StripeWebhookService.INVOICE_PAID, """
+                {"id":"%s","object":"event","type":"invoice.paid",
+                 "data":{"object":{"id":"in_%s","object":"invoice","subscription":"%s","amount_paid":%d}}}"""
+                .formatted(eventId, eventId, subscriptionId, amountPaid), 1);
+    }
+}
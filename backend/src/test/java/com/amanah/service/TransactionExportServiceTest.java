@@ -0,0 +1,115 @@
+package com.amanah.service;
+
+import com.amanah.dto.TransactionExportRow;
+import com.amanah.entity.Transaction.TransactionType;
+import com.amanah.repository.TransactionRepository;
+import com.amanah.service.TransactionExportService.Format;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TransactionExportServiceTest {
+
+    private static final OffsetDateTime DATE = OffsetDateTime.of(2026, 3, 1, 9, 30, 0, 0, ZoneOffset.UTC);
+
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final TransactionRepository transactionRepository = mock(TransactionRepository.class);
+    private final TransactionExportService exportService = new TransactionExportService(transactionRepository, mapper);
+
+    @Test
+    void csvHasAHeaderAndQuotesNamesThatNeedIt() throws Exception {
+        UUID childId = UUID.randomUUID();
+        TransactionExportRow row = new TransactionExportRow(UUID.randomUUID(), childId, "Aisha \"Ash\", Jr",
+                new BigDecimal("25.500"), TransactionType.MANUAL, DATE);
+        when(transactionRepository.streamForExportByChild(childId)).thenReturn(Stream.of(row));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = exportService.exportChild(childId, Format.CSV, out);
+
+        assertThat(count).isEqualTo(1);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                TransactionExportService.CSV_HEADER + "\r\n"
+                        + row.id() + "," + childId + ",\"Aisha \"\"Ash\"\", Jr\",25.500,MANUAL,2026-03-01T09:30Z\r\n");
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerLine() throws Exception {
+        UUID parentId = UUID.randomUUID();
+        when(transactionRepository.streamForExportByParent(parentId)).thenReturn(rows(3));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = exportService.exportFamily(parentId, Format.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertThat(count).isEqualTo(3);
+        assertThat(lines).hasSize(4);
+        assertThat(lines[3]).isEmpty();
+        JsonNode first = mapper.readTree(lines[0]);
+        assertThat(first.get("childName").asText()).isEqualTo("Child 0");
+        assertThat(first.get("amount").decimalValue()).isEqualByComparingTo("10.000");
+        assertThat(first.get("type").asText()).isEqualTo("AUTO");
+        assertThat(first.get("date").asText()).isEqualTo("2026-03-01T09:30:00Z");
+    }
+
+    @Test
+    void closesTheCursorAndLeavesTheResponseStreamOpen() throws Exception {
+        UUID childId = UUID.randomUUID();
+        AtomicBoolean cursorClosed = new AtomicBoolean();
+        when(transactionRepository.streamForExportByChild(childId))
+                .thenReturn(rows(2).onClose(() -> cursorClosed.set(true)));
+        AtomicBoolean outClosed = new AtomicBoolean();
+        OutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                outClosed.set(true);
+            }
+        };
+
+        exportService.exportChild(childId, Format.NDJSON, out);
+
+        assertThat(cursorClosed).isTrue();
+        assertThat(outClosed).isFalse();
+    }
+
+    @Test
+    void csvNeutralizesCellsThatSpreadsheetsWouldEvaluate() {
+        assertThat(TransactionExportService.csvField("=HYPERLINK(\"http://x\")")).isEqualTo("\"'=HYPERLINK(\"\"http://x\"\")\"");
+        assertThat(TransactionExportService.csvField("+1")).isEqualTo("'+1");
+        assertThat(TransactionExportService.csvField("-2")).isEqualTo("'-2");
+        assertThat(TransactionExportService.csvField("@SUM(A1)")).isEqualTo("'@SUM(A1)");
+        assertThat(TransactionExportService.csvField("Aisha-Noor")).isEqualTo("Aisha-Noor");
+    }
+
+    @Test
+    void formatIsCaseInsensitiveAndUnknownOnesAreRejected() {
+        assertThat(Format.parse("csv")).isEqualTo(Format.CSV);
+        assertThat(Format.parse("NDJSON")).isEqualTo(Format.NDJSON);
+        assertThatThrownBy(() -> Format.parse("xlsx")).isInstanceOf(ResponseStatusException.class);
+    }
+
+    private static Stream<TransactionExportRow> rows(int n) {
+        return LongStream.range(0, n).mapToObj(i -> new TransactionExportRow(UUID.randomUUID(), UUID.randomUUID(),
+                "Child " + i, new BigDecimal("10.000"), TransactionType.AUTO, DATE));
+    }
+}
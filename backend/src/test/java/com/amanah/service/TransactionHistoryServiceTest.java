@@ -0,0 +1,104 @@
+package com.amanah.service;
+
+import com.amanah.dto.TransactionFilter;
+import com.amanah.dto.TransactionPage;
+import com.amanah.dto.TransactionResponse;
+import com.amanah.entity.Transaction;
+import com.amanah.repository.TransactionRepository;
+import com.amanah.repository.TransactionTotalsRepository.Totals;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionHistoryServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @InjectMocks
+    private TransactionHistoryService historyService;
+
+    @Test
+    void page_returnsCursorOnlyWhenMoreRowsExist() {
+        UUID childId = UUID.randomUUID();
+        List<Transaction> rows = transactions(childId, 3);
+        when(transactionRepository.findBy(any(Specification.class), any())).thenReturn(rows);
+        when(transactionRepository.totals(any())).thenReturn(new Totals(12, new BigDecimal("120.00")));
+
+        TransactionPage page = historyService.page(childId, TransactionFilter.NONE, null, 2, true);
+
+        assertThat(page.items()).containsExactly(TransactionResponse.of(rows.get(0)), TransactionResponse.of(rows.get(1)));
+        assertThat(page.nextCursor()).isEqualTo(TransactionHistoryService.encode(rows.get(1)));
+        assertThat(page.count()).isEqualTo(12);
+        assertThat(page.sum()).isEqualByComparingTo("120.00");
+    }
+
+    @Test
+    void page_lastPageHasNoCursor() {
+        UUID childId = UUID.randomUUID();
+        List<Transaction> rows = transactions(childId, 2);
+        when(transactionRepository.findBy(any(Specification.class), any())).thenReturn(rows);
+
+        TransactionPage page = historyService.page(childId, TransactionFilter.NONE,
+                TransactionHistoryService.encode(rows.get(0)), 5, false);
+
+        assertThat(page.items()).hasSize(2);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void page_computesTotalsOnlyForARequestedFirstPage() {
+        UUID childId = UUID.randomUUID();
+        List<Transaction> rows = transactions(childId, 2);
+        when(transactionRepository.findBy(any(Specification.class), any())).thenReturn(rows);
+
+        TransactionPage unrequested = historyService.page(childId, TransactionFilter.NONE, null, 5, false);
+        TransactionPage laterPage = historyService.page(childId, TransactionFilter.NONE,
+                TransactionHistoryService.encode(rows.get(0)), 5, true);
+
+        assertThat(unrequested.count()).isNull();
+        assertThat(laterPage.count()).isNull();
+        assertThat(laterPage.sum()).isNull();
+        verify(transactionRepository, never()).totals(any());
+    }
+
+    @Test
+    void page_rejectsMalformedCursor() {
+        assertThatThrownBy(() -> historyService.page(UUID.randomUUID(), TransactionFilter.NONE, "not-a-cursor", 5, false))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    private static List<Transaction> transactions(UUID childId, int n) {
+        List<Transaction> rows = new ArrayList<>();
+        OffsetDateTime date = OffsetDateTime.of(2025, 3, 1, 12, 0, 0, 123_456_000, ZoneOffset.UTC);
+        for (int i = 0; i < n; i++) {
+            rows.add(Transaction.builder()
+                    .id(UUID.randomUUID())
+                    .childId(childId)
+                    .amount(BigDecimal.TEN)
+                    .type(Transaction.TransactionType.MANUAL)
+                    .date(date.minusDays(i))
+                    .build());
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,166 @@
+package com.amanah.service;
+
+import com.amanah.entity.User;
+import com.amanah.event.DashboardInvalidationEvent;
+import com.amanah.event.SubscriptionCancellationEvent;
+import com.amanah.event.TokenRevocationEvent;
+import com.amanah.repository.AccountDeletionRepository;
+import com.amanah.repository.GoalRepository;
+import com.amanah.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private GoalRepository goalRepository;
+
+    @Mock
+    private StripeService stripeService;
+
+    @Mock
+    private AccountDeletionRepository accountDeletionRepository;
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private UserService userService;
+
+    @Test
+    void getOrCreateStripeCustomer_returnsStoredCustomerWithoutCallingStripe() {
+        UUID parentId = UUID.randomUUID();
+        when(userRepository.findById(parentId))
+                .thenReturn(Optional.of(User.builder().id(parentId).stripeCustomerId("cus_stored").build()));
+
+        assertThat(userService.getOrCreateStripeCustomer(parentId)).isEqualTo("cus_stored");
+        verify(stripeService, never()).createCustomer(any(), anyString(), anyString());
+    }
+
+    @Test
+    void getOrCreateStripeCustomer_createsAndPersistsOnFirstUse() {
+        UUID parentId = UUID.randomUUID();
+        when(userRepository.findById(parentId))
+                .thenReturn(Optional.of(User.builder().id(parentId).email("p@x.bh").fullName("Parent").build()));
+        when(stripeService.createCustomer(parentId, "p@x.bh", "Parent")).thenReturn("cus_new");
+        when(userRepository.assignStripeCustomerIfAbsent(parentId, "cus_new")).thenReturn(1);
+
+        assertThat(userService.getOrCreateStripeCustomer(parentId)).isEqualTo("cus_new");
+    }
+
+    @Test
+    void getOrCreateStripeCustomer_usesConcurrentWinnerWhenAssignmentLoses() {
+        UUID parentId = UUID.randomUUID();
+        when(userRepository.findById(parentId))
+                .thenReturn(Optional.of(User.builder().id(parentId).email("p@x.bh").fullName("Parent").build()));
+        when(stripeService.createCustomer(parentId, "p@x.bh", "Parent")).thenReturn("cus_late");
+        when(userRepository.assignStripeCustomerIfAbsent(parentId, "cus_late")).thenReturn(0);
+        when(userRepository.findStripeCustomerId(parentId)).thenReturn(Optional.of("cus_first"));
+
+        assertThat(userService.getOrCreateStripeCustomer(parentId)).isEqualTo("cus_first");
+        verify(stripeService).deleteCustomer("cus_late");
+    }
+
+    @Test
+    void getOrCreateStripeCustomer_keepsTheCustomerBothRacersGotFromTheSharedIdempotencyKey() {
+        UUID parentId = UUID.randomUUID();
+        when(userRepository.findById(parentId))
+                .thenReturn(Optional.of(User.builder().id(parentId).email("p@x.bh").fullName("Parent").build()));
+        when(stripeService.createCustomer(parentId, "p@x.bh", "Parent")).thenReturn("cus_shared");
+        when(userRepository.assignStripeCustomerIfAbsent(parentId, "cus_shared")).thenReturn(0);
+        when(userRepository.findStripeCustomerId(parentId)).thenReturn(Optional.of("cus_shared"));
+
+        assertThat(userService.getOrCreateStripeCustomer(parentId)).isEqualTo("cus_shared");
+        verify(stripeService, never()).deleteCustomer(anyString());
+    }
+
+    @Test
+    void getOrCreateStripeCustomer_stillReturnsTheWinnerWhenDeletingTheDuplicateFails() {
+        UUID parentId = UUID.randomUUID();
+        when(userRepository.findById(parentId))
+                .thenReturn(Optional.of(User.builder().id(parentId).email("p@x.bh").fullName("Parent").build()));
+        when(stripeService.createCustomer(parentId, "p@x.bh", "Parent")).thenReturn("cus_late");
+        when(userRepository.assignStripeCustomerIfAbsent(parentId, "cus_late")).thenReturn(0);
+        when(userRepository.findStripeCustomerId(parentId)).thenReturn(Optional.of("cus_first"));
+        doThrow(new RuntimeException("Stripe down")).when(stripeService).deleteCustomer("cus_late");
+
+        assertThat(userService.getOrCreateStripeCustomer(parentId)).isEqualTo("cus_first");
+    }
+
+    @Test
+    void customerIdempotencyKey_isDerivedFromTheParent() {
+        UUID parentId = UUID.randomUUID();
+
+        assertThat(StripeService.customerIdempotencyKey(parentId))
+                .isEqualTo(StripeService.customerIdempotencyKey(parentId))
+                .isEqualTo("amanah_customer_" + parentId);
+    }
+
+    @Test
+    void backfillStripeCustomers_resolvesOneSubscriptionPerParent() {
+        UUID parentId = UUID.randomUUID();
+        when(goalRepository.findSubscriptionsOfParentsWithoutCustomer()).thenReturn(List.of(
+                owner(parentId, "sub_gone"), owner(parentId, "sub_live"), owner(parentId, "sub_other")));
+        when(stripeService.getSubscriptionCustomer("sub_gone")).thenThrow(new RuntimeException("No such subscription"));
+        when(stripeService.getSubscriptionCustomer("sub_live")).thenReturn("cus_live");
+        when(userRepository.assignStripeCustomerIfAbsent(parentId, "cus_live")).thenReturn(1);
+
+        assertThat(userService.backfillStripeCustomers()).isEqualTo(1);
+        verify(stripeService, never()).getSubscriptionCustomer("sub_other");
+    }
+
+    private static GoalRepository.SubscriptionOwner owner(UUID parentId, String subscriptionId) {
+        return new GoalRepository.SubscriptionOwner() {
+            public UUID getParentId() { return parentId; }
+            public String getSubscriptionId() { return subscriptionId; }
+        };
+    }
+
+    @Test
+    void deleteAccount_cancelsEveryChildsSubscriptionInOneEvent() {
+        UUID parentId = UUID.randomUUID();
+        when(accountDeletionRepository.deleteAccount(parentId)).thenReturn(Optional.of(
+                new AccountDeletionRepository.Deleted(1, 3, List.of("sub_1", "sub_2"))));
+
+        userService.deleteAccount(parentId);
+
+        verify(eventPublisher).publishEvent(new TokenRevocationEvent(parentId));
+        verifyNoInteractions(jwtService);
+        verify(eventPublisher).publishEvent(new SubscriptionCancellationEvent(List.of("sub_1", "sub_2")));
+        verify(eventPublisher).publishEvent(DashboardInvalidationEvent.forParent(parentId));
+    }
+
+    @Test
+    void deleteAccount_failsForUnknownUser() {
+        UUID userId = UUID.randomUUID();
+        when(accountDeletionRepository.deleteAccount(userId)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> userService.deleteAccount(userId)).hasMessage("User not found");
+        verifyNoInteractions(eventPublisher, jwtService);
+    }
+}
@@ -0,0 +1,126 @@
+-- schema.sql made runnable (enum types, table order) for Testcontainers-backed tests of the whole app.
+CREATE TYPE portfolio_type AS ENUM ('CONSERVATIVE', 'BALANCED', 'GROWTH');
+CREATE TYPE transaction_type AS ENUM ('MANUAL', 'AUTO');
+CREATE TYPE user_role AS ENUM ('parent', 'child');
+
+CREATE TABLE public.users (
+  id uuid NOT NULL,
+  email text,
+  full_name text,
+  phone text,
+  role user_role NOT NULL DEFAULT 'child'::user_role,
+  created_at timestamp with time zone DEFAULT now(),
+  password text DEFAULT 'pass'::text,
+  stripe_customer_id text UNIQUE,
+  CONSTRAINT users_pkey PRIMARY KEY (id)
+);
+CREATE TABLE public.children (
+  id uuid NOT NULL DEFAULT gen_random_uuid(),
+  parent_id uuid NOT NULL,
+  name text NOT NULL,
+  date_of_birth date,
+  photo_url text,
+  created_at timestamp with time zone DEFAULT now(),
+  stripe_customer_id text,
+  CONSTRAINT children_pkey PRIMARY KEY (id),
+  CONSTRAINT children_parent_id_fkey FOREIGN KEY (parent_id) REFERENCES public.users(id)
+);
+CREATE TABLE public.child_balances (
+  child_id uuid NOT NULL,
+  balance numeric NOT NULL DEFAULT 0,
+  updated_at timestamp with time zone DEFAULT now(),
+  CONSTRAINT child_balances_pkey PRIMARY KEY (child_id)
+);
+CREATE TABLE public.transaction_monthly_summary (
+  child_id uuid NOT NULL,
+  month date NOT NULL,
+  type text NOT NULL CHECK (type IN ('MANUAL', 'AUTO')),
+  amount numeric NOT NULL DEFAULT 0,
+  transaction_count integer NOT NULL DEFAULT 0,
+  updated_at timestamp with time zone DEFAULT now(),
+  CONSTRAINT transaction_monthly_summary_pkey PRIMARY KEY (child_id, month, type)
+);
+CREATE TABLE public.fund_directives (
+  id uuid NOT NULL DEFAULT gen_random_uuid(),
+  child_id uuid NOT NULL UNIQUE,
+  guardian_name text,
+  guardian_contact text,
+  instructions text,
+  last_updated timestamp with time zone DEFAULT now(),
+  CONSTRAINT fund_directives_pkey PRIMARY KEY (id),
+  CONSTRAINT fund_directives_child_id_fkey FOREIGN KEY (child_id) REFERENCES public.children(id)
+);
+CREATE TABLE public.goals (
+  id uuid NOT NULL DEFAULT gen_random_uuid(),
+  goal_type text NOT NULL,
+  target_amount numeric NOT NULL CHECK (target_amount >= 0::numeric),
+  target_date date NOT NULL,
+  monthly_contribution numeric NOT NULL CHECK (monthly_contribution >= 0::numeric),
+  is_paused boolean DEFAULT false,
+  created_at timestamp with time zone DEFAULT now(),
+  child_id uuid,
+  stripe_subscription_id text,
+  last_simulated_period date,
+  CONSTRAINT goals_pkey PRIMARY KEY (id),
+  CONSTRAINT goals_child_id_fkey FOREIGN KEY (child_id) REFERENCES public.children(id)
+);
+CREATE TABLE public.investment_portfolios (
+  id uuid NOT NULL DEFAULT gen_random_uuid(),
+  child_id uuid NOT NULL UNIQUE,
+  portfolio_type portfolio_type NOT NULL,
+  allocation_percentage integer NOT NULL CHECK (allocation_percentage >= 0 AND allocation_percentage <= 100),
+  current_value numeric DEFAULT 0 CHECK (current_value >= 0::numeric),
+  last_updated timestamp with time zone DEFAULT now(),
+  CONSTRAINT investment_portfolios_pkey PRIMARY KEY (id),
+  CONSTRAINT investment_portfolios_child_id_fkey FOREIGN KEY (child_id) REFERENCES public.children(id)
+);
+CREATE TABLE public.personal_goals (
+  id uuid NOT NULL DEFAULT gen_random_uuid(),
+  user_id uuid NOT NULL,
+  goal_type text NOT NULL,
+  target_amount numeric NOT NULL CHECK (target_amount >= 0::numeric),
+  target_date date NOT NULL,
+  monthly_contribution numeric DEFAULT 0 CHECK (monthly_contribution >= 0::numeric),
+  is_paused boolean DEFAULT false,
+  created_at timestamp with time zone DEFAULT now(),
+  CONSTRAINT personal_goals_pkey PRIMARY KEY (id),
+  CONSTRAINT personal_goals_user_id_fkey FOREIGN KEY (user_id) REFERENCES public.users(id)
+);
+CREATE TABLE public.stripe_prices (
+  currency text NOT NULL,
+  unit_amount bigint NOT NULL CHECK (unit_amount > 0),
+  interval text NOT NULL,
+  price_id text NOT NULL UNIQUE,
+  created_at timestamp with time zone DEFAULT now(),
+  CONSTRAINT stripe_prices_pkey PRIMARY KEY (currency, unit_amount, interval)
+);
+CREATE TABLE public.stripe_webhook_events (
+  event_id text NOT NULL,
+  type text NOT NULL,
+  payload text NOT NULL,
+  status text NOT NULL DEFAULT 'PENDING' CHECK (status IN ('PENDING', 'PROCESSING', 'DONE', 'DEAD')),
+  attempts integer NOT NULL DEFAULT 0,
+  next_attempt_at timestamp with time zone NOT NULL DEFAULT now(),
+  last_error text,
+  received_at timestamp with time zone DEFAULT now(),
+  processed_at timestamp with time zone,
+  CONSTRAINT stripe_webhook_events_pkey PRIMARY KEY (event_id)
+);
+CREATE TABLE public.transactions (
+  id uuid NOT NULL DEFAULT gen_random_uuid(),
+  child_id uuid NOT NULL,
+  amount numeric NOT NULL,
+  date timestamp with time zone DEFAULT now(),
+  type transaction_type NOT NULL,
+  external_ref text,
+  CONSTRAINT transactions_pkey PRIMARY KEY (id)
+);
+CREATE INDEX transactions_child_id_date_id_idx
+  ON public.transactions (child_id, date DESC, id DESC) INCLUDE (amount, type);
+CREATE INDEX stripe_webhook_events_due_idx
+  ON public.stripe_webhook_events (next_attempt_at) WHERE status IN ('PENDING', 'PROCESSING');
+CREATE UNIQUE INDEX transactions_child_id_external_ref_key
+  ON public.transactions (child_id, external_ref) WHERE external_ref IS NOT NULL;
+CREATE INDEX children_parent_id_idx ON public.children (parent_id);
+CREATE INDEX goals_child_id_idx ON public.goals (child_id);
+CREATE INDEX personal_goals_user_id_idx ON public.personal_goals (user_id);
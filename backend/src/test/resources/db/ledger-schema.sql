@@ -0,0 +1,27 @@
+-- Ledger tables as in schema.sql, for Testcontainers-backed tests.
+CREATE TYPE portfolio_type AS ENUM ('CONSERVATIVE', 'BALANCED', 'GROWTH');
+CREATE TYPE transaction_type AS ENUM ('MANUAL', 'AUTO');
+
+CREATE TABLE investment_portfolios (
+  id uuid NOT NULL DEFAULT gen_random_uuid() PRIMARY KEY,
+  child_id uuid NOT NULL UNIQUE,
+  portfolio_type portfolio_type NOT NULL,
+  allocation_percentage integer NOT NULL CHECK (allocation_percentage >= 0 AND allocation_percentage <= 100),
+  current_value numeric DEFAULT 0 CHECK (current_value >= 0::numeric),
+  last_updated timestamp with time zone DEFAULT now()
+);
+CREATE TABLE transactions (
+  id uuid NOT NULL DEFAULT gen_random_uuid() PRIMARY KEY,
+  child_id uuid NOT NULL,
+  amount numeric NOT NULL,
+  date timestamp with time zone DEFAULT now(),
+  type transaction_type NOT NULL,
+  external_ref text
+);
+CREATE UNIQUE INDEX transactions_child_id_external_ref_key
+  ON transactions (child_id, external_ref) WHERE external_ref IS NOT NULL;
+CREATE TABLE child_balances (
+  child_id uuid NOT NULL PRIMARY KEY,
+  balance numeric NOT NULL DEFAULT 0,
+  updated_at timestamp with time zone DEFAULT now()
+);
@@ -1,6 +1,8 @@
 "use client"
 
+import { useEffect, useState } from "react"
 import { Card, CardContent, CardHeader, CardTitle } from "@/components/ui/card"
+import { Button } from "@/components/ui/button"
 import {
   Table,
   TableBody,
@@ -10,6 +12,7 @@ import {
   TableRow,
 } from "@/components/ui/table"
 import type { Contribution } from "@/lib/types"
+import { useApp } from "@/lib/app-context"
 import { History } from "lucide-react"
 
 function formatCurrency(amount: number) {
@@ -29,7 +32,37 @@ function formatDate(dateStr: string) {
   })
 }
 
-export function ContributionHistory({ contributions }: { contributions: Contribution[] }) {
+interface ContributionHistoryProps {
+  childId: string
+  contributions: Contribution[]
+  totalCount?: number
+  nextCursor?: string
+}
+
+export function ContributionHistory({ childId, contributions, totalCount, nextCursor }: ContributionHistoryProps) {
+  const { loadContributions } = useApp()
+  // Pages after the first one, fetched on demand and kept below the child's own contributions
+  const [older, setOlder] = useState<Contribution[]>([])
+  const [cursor, setCursor] = useState(nextCursor)
+  const [loading, setLoading] = useState(false)
+
+  useEffect(() => {
+    setOlder([])
+    setCursor(nextCursor)
+  }, [childId, nextCursor])
+
+  async function showMore() {
+    if (!cursor) return
+    setLoading(true)
+    const page = await loadContributions(childId, cursor)
+    setLoading(false)
+    if (!page) return
+    setOlder((prev) => [...prev, ...page.contributions])
+    setCursor(page.nextCursor)
+  }
+
+  const rows = [...contributions, ...older]
+
   return (
     <Card className="border-0 bg-card shadow-md">
       <CardHeader>
@@ -39,7 +72,7 @@ export function ContributionHistory({ contributions }: { contributions: Contribu
         </CardTitle>
       </CardHeader>
       <CardContent>
-        {contributions.length === 0 ? (
+        {rows.length === 0 ? (
           <p className="py-8 text-center text-base text-amanah-sage">
             No contributions recorded yet.
           </p>
@@ -53,7 +86,7 @@ export function ContributionHistory({ contributions }: { contributions: Contribu
               </TableRow>
             </TableHeader>
             <TableBody>
-              {contributions.map((c) => (
+              {rows.map((c) => (
                 <TableRow key={c.id} className="border-amanah-peach/50">
                   <TableCell className="py-4 text-base text-amanah-plum">
                     {formatDate(c.date)}
@@ -69,6 +102,18 @@ export function ContributionHistory({ contributions }: { contributions: Contribu
             </TableBody>
           </Table>
         )}
+        {cursor && (
+          <div className="flex flex-col items-center gap-2 pt-4">
+            {totalCount !== undefined && (
+              <p className="text-sm text-amanah-sage">
+                Showing {rows.length} of {totalCount} contributions
+              </p>
+            )}
+            <Button variant="outline" onClick={showMore} disabled={loading}>
+              {loading ? "Loading..." : "Show more"}
+            </Button>
+          </div>
+        )}
       </CardContent>
     </Card>
   )
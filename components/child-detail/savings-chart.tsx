@@ -1,8 +1,10 @@
 "use client"
 
+import { useEffect, useState } from "react"
 import { Card, CardContent, CardHeader, CardTitle } from "@/components/ui/card"
 import { LineChart, Line, XAxis, YAxis, CartesianGrid, Tooltip, ResponsiveContainer } from "recharts"
-import type { Contribution } from "@/lib/types"
+import type { BalancePoint, Contribution } from "@/lib/types"
+import { useApp } from "@/lib/app-context"
 import { BarChart3 } from "lucide-react"
 
 function formatCurrency(amount: number) {
@@ -14,28 +16,51 @@ function formatCurrency(amount: number) {
   }).format(amount)
 }
 
+function monthLabel(dateStr: string) {
+  return new Date(dateStr).toLocaleDateString("en-US", { month: "short", year: "2-digit" })
+}
+
 interface SavingsChartProps {
+  childId: string
   contributions: Contribution[]
   currentAmount: number
 }
 
-export function SavingsChart({ contributions, currentAmount }: SavingsChartProps) {
-  // Build cumulative data from oldest to newest
-  const sorted = [...contributions].reverse()
-  let cumulative = currentAmount
-  // Walk backwards from current to rebuild history
-  for (const c of [...contributions]) {
-    cumulative -= c.amount
-  }
+export function SavingsChart({ childId, contributions, currentAmount }: SavingsChartProps) {
+  const { loadBalanceHistory } = useApp()
+  // The child only carries the newest page of contributions, so the line comes from the balance history
+  const [history, setHistory] = useState<BalancePoint[] | undefined>(undefined)
 
-  const data = sorted.map((c) => {
-    cumulative += c.amount
-    const date = new Date(c.date)
-    return {
-      month: date.toLocaleDateString("en-US", { month: "short", year: "2-digit" }),
-      total: cumulative,
+  useEffect(() => {
+    let cancelled = false
+    loadBalanceHistory(childId).then((points) => {
+      if (!cancelled) setHistory(points)
+    })
+    return () => {
+      cancelled = true
     }
-  })
+  }, [childId, currentAmount, loadBalanceHistory])
+
+  let data: { month: string; total: number }[]
+  if (history) {
+    data = history.map((p) => ({ month: monthLabel(p.date), total: p.balance }))
+  } else {
+    // Without the backend (demo data) every contribution is at hand: rebuild the line from them
+    const sorted = [...contributions].reverse()
+    let cumulative = currentAmount
+    // Walk backwards from current to rebuild history
+    for (const c of [...contributions]) {
+      cumulative -= c.amount
+    }
+
+    data = sorted.map((c) => {
+      cumulative += c.amount
+      return {
+        month: monthLabel(c.date),
+        total: cumulative,
+      }
+    })
+  }
 
   if (data.length === 0) {
     return (
@@ -1,7 +1,7 @@
 "use client"
 
 import { createContext, useContext, useState, useCallback, useEffect, type ReactNode } from "react"
-import type { Child, Investment, FutureInstructions } from "./types"
+import type { Child, Contribution, ContributionPage, BalancePoint, Investment, FutureInstructions } from "./types"
 import { mockChildren, mockUser } from "./mock-data"
 import { useAuth } from "./auth-context"
 
@@ -31,6 +31,15 @@ interface BackendTransaction {
   type: string
 }
 
+interface BackendTransactionPage {
+  items: BackendTransaction[]
+  nextCursor: string | null
+}
+
+interface BackendBalanceHistory {
+  points: { date: string; balance: string | number }[]
+}
+
 interface BackendInvestmentPortfolio {
   portfolioType: string
   allocationPercentage: number
@@ -47,6 +56,8 @@ interface BackendChildDetail {
   child: BackendChild
   goal?: BackendGoal
   transactions?: BackendTransaction[]
+  transactionCount?: number
+  transactionsNextCursor?: string
   savingsBalance?: string | number
   investment?: BackendInvestmentPortfolio
   fundDirective?: BackendFundDirective
@@ -58,6 +69,9 @@ interface BackendUser {
   role: "parent" | "child" | null
 }
 
+// Rows fetched per "Show more" in the contribution history (the backend caps pages at 100)
+const CONTRIBUTION_PAGE_SIZE = 50
+
 // Maps a backend portfolio type string to the display allocation buckets
 // used by the investment UI. Keeps UI consistent with PROFILES in investment/page.tsx.
 const PORTFOLIO_ALLOCATIONS: Record<string, { label: string; percentage: number }[]> = {
@@ -98,6 +112,15 @@ function mapBackendInvestment(portfolio: BackendInvestmentPortfolio): Investment
   }
 }
 
+function mapBackendTransaction(tx: BackendTransaction): Contribution {
+  return {
+    id: tx.id,
+    date: new Date(tx.date).toISOString().split("T")[0],
+    amount: parseFloat(tx.amount),
+    note: tx.type,
+  }
+}
+
 // ----- Child user personal goal types -----
 
 export interface PersonalGoal {
@@ -133,6 +156,9 @@ interface AppContextType {
   getChild: (id: string) => Child | undefined
   setStripeSubscriptionId: (childId: string, subscriptionId: string) => void
   recordAutoContribution: (childId: string, amount: number) => void
+  // Contribution history beyond the first page embedded in the child, and the balance line for charts
+  loadContributions: (childId: string, cursor: string) => Promise<ContributionPage | undefined>
+  loadBalanceHistory: (childId: string) => Promise<BalancePoint[] | undefined>
   totalSavings: number
   // Child user personal goals
   personalGoals: PersonalGoal[]
@@ -287,12 +313,9 @@ export function AppProvider({ children: childrenNode }: { children: ReactNode })
               paused: goal?.isPaused ?? false,
               stripeSubscriptionId: goal?.stripeSubscriptionId ?? undefined,
             },
-            contributions: transactions.map((tx) => ({
-              id: tx.id,
-              date: new Date(tx.date).toISOString().split("T")[0],
-              amount: parseFloat(tx.amount),
-              note: tx.type,
-            })),
+            contributions: transactions.map(mapBackendTransaction),
+            contributionCount: details.transactionCount,
+            contributionsNextCursor: details.transactionsNextCursor,
             investment: details.investment ? mapBackendInvestment(details.investment) : undefined,
             futureInstructions: details.fundDirective
               ? {
@@ -522,6 +545,7 @@ export function AppProvider({ children: childrenNode }: { children: ReactNode })
             ? {
                 ...c,
                 goal: { ...c.goal, currentAmount: c.goal.currentAmount + amount },
+                contributionCount: c.contributionCount !== undefined ? c.contributionCount + 1 : undefined,
                 contributions: [
                   {
                     id: tx.id ?? String(Date.now()),
@@ -614,6 +638,7 @@ export function AppProvider({ children: childrenNode }: { children: ReactNode })
             ? {
                 ...c,
                 goal: { ...c.goal, currentAmount: c.goal.currentAmount + amount },
+                contributionCount: c.contributionCount !== undefined ? c.contributionCount + 1 : undefined,
                 contributions: [
                   {
                     id: String(Date.now()),
@@ -630,6 +655,42 @@ export function AppProvider({ children: childrenNode }: { children: ReactNode })
     []
   )
 
+  const loadContributions = useCallback(
+    async (childId: string, cursor: string): Promise<ContributionPage | undefined> => {
+      if (!token) return undefined
+      const params = new URLSearchParams({ cursor, limit: String(CONTRIBUTION_PAGE_SIZE) })
+      const res = await fetch(apiUrl(`/api/children/${childId}/transactions?${params}`), {
+        headers: apiHeaders(),
+      })
+      if (!res.ok) {
+        console.error("[AppContext] loadContributions failed:", await res.text())
+        return undefined
+      }
+      const page = (await res.json()) as BackendTransactionPage
+      return {
+        contributions: page.items.map(mapBackendTransaction),
+        nextCursor: page.nextCursor ?? undefined,
+      }
+    },
+    [token]
+  )
+
+  const loadBalanceHistory = useCallback(
+    async (childId: string): Promise<BalancePoint[] | undefined> => {
+      if (!token) return undefined
+      const res = await fetch(apiUrl(`/api/children/${childId}/balance-history`), {
+        headers: apiHeaders(),
+      })
+      if (!res.ok) {
+        console.error("[AppContext] loadBalanceHistory failed:", await res.text())
+        return undefined
+      }
+      const history = (await res.json()) as BackendBalanceHistory
+      return history.points.map((p) => ({ date: p.date, balance: parseFloat(String(p.balance)) }))
+    },
+    [token]
+  )
+
   const totalSavings = childrenData.reduce(
     (sum, c) => sum + c.goal.currentAmount,
     0
@@ -727,6 +788,8 @@ export function AppProvider({ children: childrenNode }: { children: ReactNode })
         getChild,
         setStripeSubscriptionId,
         recordAutoContribution,
+        loadContributions,
+        loadBalanceHistory,
         totalSavings,
         personalGoals,
         createPersonalGoal,
@@ -4,7 +4,10 @@ export interface Child {
   dateOfBirth: string
   photoUrl?: string
   goal: SavingsGoal
+  // Newest contributions first; from the backend this is only the first page of the history
   contributions: Contribution[]
+  contributionCount?: number
+  contributionsNextCursor?: string
   investment?: Investment
   futureInstructions?: FutureInstructions
 }
@@ -27,6 +30,16 @@ export interface Contribution {
   note?: string
 }
 
+export interface ContributionPage {
+  contributions: Contribution[]
+  nextCursor?: string
+}
+
+export interface BalancePoint {
+  date: string
+  balance: number
+}
+
 export interface Investment {
   active: boolean
   portfolioType: string
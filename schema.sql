@@ -12,6 +12,21 @@ CREATE TABLE public.children (
   CONSTRAINT children_pkey PRIMARY KEY (id),
   CONSTRAINT children_parent_id_fkey FOREIGN KEY (parent_id) REFERENCES public.users(id)
 );
+CREATE TABLE public.child_balances (
+  child_id uuid NOT NULL,
+  balance numeric NOT NULL DEFAULT 0,
+  updated_at timestamp with time zone DEFAULT now(),
+  CONSTRAINT child_balances_pkey PRIMARY KEY (child_id)
+);
+CREATE TABLE public.transaction_monthly_summary (
+  child_id uuid NOT NULL,
+  month date NOT NULL,
+  type text NOT NULL CHECK (type IN ('MANUAL', 'AUTO')),
+  amount numeric NOT NULL DEFAULT 0,
+  transaction_count integer NOT NULL DEFAULT 0,
+  updated_at timestamp with time zone DEFAULT now(),
+  CONSTRAINT transaction_monthly_summary_pkey PRIMARY KEY (child_id, month, type)
+);
 CREATE TABLE public.fund_directives (
   id uuid NOT NULL DEFAULT uuid_generate_v4(),
   child_id uuid NOT NULL UNIQUE,
@@ -32,6 +47,7 @@ CREATE TABLE public.goals (
   created_at timestamp with time zone DEFAULT now(),
   child_id uuid,
   stripe_subscription_id text,
+  last_simulated_period date,
   CONSTRAINT goals_pkey PRIMARY KEY (id),
   CONSTRAINT goals_child_id_fkey FOREIGN KEY (child_id) REFERENCES public.children(id)
 );
@@ -57,12 +73,33 @@ CREATE TABLE public.personal_goals (
   CONSTRAINT personal_goals_pkey PRIMARY KEY (id),
   CONSTRAINT personal_goals_user_id_fkey FOREIGN KEY (user_id) REFERENCES public.users(id)
 );
+CREATE TABLE public.stripe_prices (
+  currency text NOT NULL,
+  unit_amount bigint NOT NULL CHECK (unit_amount > 0),
+  interval text NOT NULL,
+  price_id text NOT NULL UNIQUE,
+  created_at timestamp with time zone DEFAULT now(),
+  CONSTRAINT stripe_prices_pkey PRIMARY KEY (currency, unit_amount, interval)
+);
+CREATE TABLE public.stripe_webhook_events (
+  event_id text NOT NULL,
+  type text NOT NULL,
+  payload text NOT NULL,
+  status text NOT NULL DEFAULT 'PENDING' CHECK (status IN ('PENDING', 'PROCESSING', 'DONE', 'DEAD')),
+  attempts integer NOT NULL DEFAULT 0,
+  next_attempt_at timestamp with time zone NOT NULL DEFAULT now(),
+  last_error text,
+  received_at timestamp with time zone DEFAULT now(),
+  processed_at timestamp with time zone,
+  CONSTRAINT stripe_webhook_events_pkey PRIMARY KEY (event_id)
+);
 CREATE TABLE public.transactions (
   id uuid NOT NULL DEFAULT uuid_generate_v4(),
   child_id uuid NOT NULL,
   amount numeric NOT NULL,
   date timestamp with time zone DEFAULT now(),
   type USER-DEFINED NOT NULL,
+  external_ref text,
   CONSTRAINT transactions_pkey PRIMARY KEY (id)
 );
 CREATE TABLE public.users (
@@ -73,5 +110,15 @@ CREATE TABLE public.users (
   role USER-DEFINED NOT NULL DEFAULT 'child'::user_role,
   created_at timestamp with time zone DEFAULT now(),
   password text DEFAULT 'pass'::text,
+  stripe_customer_id text UNIQUE,
   CONSTRAINT users_pkey PRIMARY KEY (id)
-);
\ No newline at end of file
+);
+CREATE INDEX transactions_child_id_date_id_idx
+  ON public.transactions (child_id, date DESC, id DESC) INCLUDE (amount, type);
+CREATE INDEX stripe_webhook_events_due_idx
+  ON public.stripe_webhook_events (next_attempt_at) WHERE status IN ('PENDING', 'PROCESSING');
+CREATE UNIQUE INDEX transactions_child_id_external_ref_key
+  ON public.transactions (child_id, external_ref) WHERE external_ref IS NOT NULL;
+CREATE INDEX children_parent_id_idx ON public.children (parent_id);
+CREATE INDEX goals_child_id_idx ON public.goals (child_id);
+CREATE INDEX personal_goals_user_id_idx ON public.personal_goals (user_id);